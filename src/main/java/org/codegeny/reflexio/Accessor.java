@@ -0,0 +1,48 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Type;
+
+/**
+ * A fast accessor (getter, setter or constructor) on a member, paired with the generic type of the member expanded
+ * against a reference class (see {@link Accessors}).
+ *
+ * @param <F> The functional interface implemented by the accessor.
+ * @author Xavier DURY
+ */
+public final class Accessor<F> {
+
+    private final Member member;
+    private final Type type;
+    private final F function;
+
+    Accessor(Member member, Type type, F function) {
+        this.member = member;
+        this.type = type;
+        this.function = function;
+    }
+
+    public Member getMember() {
+        return member;
+    }
+
+    /**
+     * @return The expanded type of the member (the value type for getters and setters, the declaring class for
+     * constructors).
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The accessor itself.
+     */
+    public F get() {
+        return function;
+    }
+
+    @Override
+    public String toString() {
+        return "Accessor[" + member + ": " + type.getTypeName() + "]";
+    }
+}
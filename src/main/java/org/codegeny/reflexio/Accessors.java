@@ -0,0 +1,94 @@
+package org.codegeny.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fast accessors on members, to be used in place of {@link java.lang.reflect.Field#get(Object)} or
+ * {@link Method#invoke(Object, Object...)}. Instance methods are bound through
+ * {@link java.lang.invoke.LambdaMetafactory} (into the same kind of class <code>invokedynamic</code> creates for a
+ * method reference) and other members through {@link MethodHandle}s. Accessors are created once per member and
+ * reference class, and each one carries the generic type of its member expanded against the reference class.
+ *
+ * <pre>
+ * Accessor&lt;Function&lt;Object, Object&gt;&gt; getter = Accessors.getter(Page.class.getMethod("getContent"), CustomerPage.class);
+ * getter.getType(); // List&lt;Customer&gt;
+ * getter.get().apply(page);
+ * </pre>
+ * <p>
+ * Checked exceptions thrown by the members are propagated as is (as method references do).
+ *
+ * @author Xavier DURY
+ */
+public final class Accessors {
+
+    private static final Cache<List<Object>, Accessor<?>> ACCESSORS = Caches.newCache("accessors");
+
+    private Accessors() {
+        throw new InternalError();
+    }
+
+    /**
+     * Get a getter for a field or a no-arg method.
+     *
+     * @param member    The field or method.
+     * @param reference The reference class against which the type of the member is expanded.
+     * @return The getter.
+     * @throws IllegalArgumentException If the member cannot be accessed or is not a getter.
+     */
+    @SuppressWarnings("unchecked")
+    public static Accessor<Function<Object, Object>> getter(Member member, Class<?> reference) {
+        return (Accessor<Function<Object, Object>>) ACCESSORS.get(Arrays.asList("getter", member, reference), key -> new Accessor<>(member, Types.expand(member, reference), MemberVisitor.accept(GetterFactory.INSTANCE, member)));
+    }
+
+    /**
+     * Get a setter for a field or a one-arg method.
+     *
+     * @param member    The field or method.
+     * @param reference The reference class against which the type of the member (or of the method parameter) is
+     *                  expanded.
+     * @return The setter.
+     * @throws IllegalArgumentException If the member cannot be accessed or is not a setter.
+     */
+    @SuppressWarnings("unchecked")
+    public static Accessor<BiConsumer<Object, Object>> setter(Member member, Class<?> reference) {
+        return (Accessor<BiConsumer<Object, Object>>) ACCESSORS.get(Arrays.asList("setter", member, reference), key -> {
+            BiConsumer<Object, Object> setter = MemberVisitor.accept(SetterFactory.INSTANCE, member);
+            Type type = member instanceof Method ? Types.expand(((Method) member).getGenericParameterTypes()[0], reference) : Types.expand(member, reference);
+            return new Accessor<>(member, type, setter);
+        });
+    }
+
+    /**
+     * Get an instantiator for a constructor, taking the constructor arguments as an array.
+     *
+     * @param constructor The constructor.
+     * @param <T>         The type of the instances.
+     * @return The instantiator.
+     * @throws IllegalArgumentException If the constructor cannot be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Accessor<Function<Object[], T>> constructor(Constructor<T> constructor) {
+        return (Accessor<Function<Object[], T>>) ACCESSORS.get(Arrays.asList("constructor", constructor), key -> {
+            MethodHandle handle = MethodHandleSupport.unreflect(MethodHandleSupport.lookup(constructor), constructor, l -> l.unreflectConstructor(constructor))
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            Function<Object[], T> instantiator = arguments -> {
+                try {
+                    return (T) handle.invokeExact(arguments);
+                } catch (Throwable throwable) {
+                    throw MethodHandleSupport.rethrow(throwable);
+                }
+            };
+            return new Accessor<>(constructor, constructor.getDeclaringClass(), instantiator);
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Elements whose annotations are inherited by an annotated element: the declaring class, interfaces, package,
+ * superclass, return/field/parameter type... Returned arrays may contain <code>null</code>s (a class without package
+ * or superclass for example).
+ *
+ * @author Xavier DURY
+ */
+enum AnnotatedElementSuccessors implements AnnotatedElementVisitor<AnnotatedElement[]> {
+
+    INSTANCE;
+
+    private static final AnnotatedElement[] NONE = new AnnotatedElement[0];
+
+    @Override
+    public <T> AnnotatedElement[] visit(Class<T> klass) {
+        ClassMetadata metadata = ClassMetadata.of(klass);
+        Class<?>[] interfaces = metadata.getInterfaces();
+        AnnotatedElement[] successors = new AnnotatedElement[interfaces.length + 2];
+        System.arraycopy(interfaces, 0, successors, 0, interfaces.length);
+        successors[interfaces.length] = klass.getPackage();
+        successors[interfaces.length + 1] = metadata.getSuperclass();
+        return successors;
+    }
+
+    @Override
+    public <T> AnnotatedElement[] visit(Constructor<T> constructor) {
+        return new AnnotatedElement[]{constructor.getDeclaringClass()};
+    }
+
+    @Override
+    public AnnotatedElement[] visit(Method method) {
+        return new AnnotatedElement[]{method.getDeclaringClass(), method.getReturnType()};
+    }
+
+    @Override
+    public AnnotatedElement[] visit(Field field) {
+        return new AnnotatedElement[]{field.getDeclaringClass(), field.getType()};
+    }
+
+    @Override
+    public AnnotatedElement[] visit(Parameter parameter) {
+        return new AnnotatedElement[]{parameter.getDeclaringExecutable(), parameter.getType()};
+    }
+
+    @Override
+    public AnnotatedElement[] visit(Package pakkage) {
+        return NONE;
+    }
+}
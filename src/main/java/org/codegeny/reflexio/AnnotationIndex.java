@@ -0,0 +1,193 @@
+package org.codegeny.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index answering presence questions (<em>is this annotation present on that element, its declaring class, interfaces,
+ * package...?</em>) for a fixed set of annotation types.
+ * <p>
+ * Each registered annotation type is given a dense id and each {@link AnnotatedElement} gets a (cached) bitset of the
+ * registered annotations present in the same closure as the one walked by {@link Types#collect(AnnotatedElement, Class)}.
+ * Queries are then a few bitwise operations.
+ *
+ * <pre>
+ * AnnotationIndex index = AnnotationIndex.of(Transactional.class, Secured.class, Logged.class);
+ * AnnotationIndex.Mask interceptors = index.mask(Transactional.class, Secured.class);
+ *
+ * index.anyOf(method, interceptors);
+ * </pre>
+ *
+ * @author Xavier DURY
+ */
+public final class AnnotationIndex {
+
+    /**
+     * Create an index for the given annotation types.
+     *
+     * @param annotationTypes The annotation types.
+     * @return A new index.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static AnnotationIndex of(Class<? extends Annotation>... annotationTypes) {
+        return new AnnotationIndex(annotationTypes.clone());
+    }
+
+    private final Map<Class<?>, Integer> ids = new IdentityHashMap<>();
+    private final Class<?>[] annotationTypes;
+    private final Cache<AnnotatedElement, long[]> bits = Caches.newCache("annotationIndex");
+    /**
+     * Created once so that cache hits don't allocate anything.
+     */
+    private final Function<AnnotatedElement, long[]> computer = this::compute;
+
+    private AnnotationIndex(Class<?>[] annotationTypes) {
+        this.annotationTypes = annotationTypes;
+        for (Class<?> annotationType : annotationTypes) {
+            ids.putIfAbsent(annotationType, ids.size());
+        }
+    }
+
+    /**
+     * Create a mask to be used with {@link #anyOf(AnnotatedElement, Mask)} and {@link #allOf(AnnotatedElement, Mask)}.
+     * Masks should be created once and reused.
+     *
+     * @param annotationTypes The annotation types (which must all be registered in this index).
+     * @return The mask.
+     */
+    @SafeVarargs
+    public final Mask mask(Class<? extends Annotation>... annotationTypes) {
+        long[] words = new long[words()];
+        for (Class<? extends Annotation> annotationType : annotationTypes) {
+            int id = id(annotationType);
+            words[id >>> 6] |= 1L << id;
+        }
+        return new Mask(this, words);
+    }
+
+    /**
+     * Check if an annotation is present on the given element or any element of its closure.
+     *
+     * @param element        The annotated element.
+     * @param annotationType The annotation type (which must be registered in this index).
+     * @return True if present.
+     */
+    public boolean isPresent(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+        int id = id(annotationType);
+        return (bits(element)[id >>> 6] & 1L << id) != 0;
+    }
+
+    /**
+     * Check if any of the annotations of the mask is present on the given element or any element of its closure.
+     *
+     * @param element The annotated element.
+     * @param mask    The mask.
+     * @return True if any is present.
+     */
+    public boolean anyOf(AnnotatedElement element, Mask mask) {
+        long[] words = bits(element);
+        long[] masks = check(mask).words;
+        for (int i = 0; i < masks.length; i++) {
+            if ((words[i] & masks[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if all the annotations of the mask are present on the given element or any element of its closure.
+     *
+     * @param element The annotated element.
+     * @param mask    The mask.
+     * @return True if all are present.
+     */
+    public boolean allOf(AnnotatedElement element, Mask mask) {
+        long[] words = bits(element);
+        long[] masks = check(mask).words;
+        for (int i = 0; i < masks.length; i++) {
+            if ((words[i] & masks[i]) != masks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Mask check(Mask mask) {
+        if (mask.index != this) {
+            throw new IllegalArgumentException("Mask was created by another index");
+        }
+        return mask;
+    }
+
+    private int id(Class<? extends Annotation> annotationType) {
+        Integer id = ids.get(annotationType);
+        if (id == null) {
+            throw new IllegalArgumentException(annotationType + " is not registered in this index");
+        }
+        return id;
+    }
+
+    private int words() {
+        return (ids.size() + 63) >>> 6;
+    }
+
+    private long[] bits(AnnotatedElement element) {
+        return bits.get(element, computer);
+    }
+
+    /**
+     * The closure of an element is the element itself plus the closure of its successors, so the (cached) bitsets of
+     * the successors are reused. The successor graph is acyclic (members lead to classes and classes only lead to their
+     * supertypes and package).
+     */
+    private long[] compute(AnnotatedElement element) {
+        long[] words = new long[words()];
+        for (Annotation annotation : element.getAnnotations()) {
+            set(words, annotation);
+            for (Annotation contained : MetaAnnotations.contained(annotation)) {
+                set(words, contained);
+            }
+        }
+        for (AnnotatedElement next : AnnotatedElementVisitor.accept(AnnotatedElementSuccessors.INSTANCE, element)) {
+            if (next != null) {
+                long[] successor = bits(next);
+                for (int i = 0; i < words.length; i++) {
+                    words[i] |= successor[i];
+                }
+            }
+        }
+        return words;
+    }
+
+    private void set(long[] words, Annotation annotation) {
+        Integer id = ids.get(annotation.annotationType());
+        if (id != null) {
+            words[id >>> 6] |= 1L << id;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationIndex" + Arrays.toString(annotationTypes);
+    }
+
+    /**
+     * A set of annotation types of an index, to be used for any-of/all-of queries.
+     */
+    public static final class Mask {
+
+        private final AnnotationIndex index;
+        private final long[] words;
+
+        private Mask(AnnotationIndex index, long[] words) {
+            this.index = index;
+            this.words = words;
+        }
+    }
+}
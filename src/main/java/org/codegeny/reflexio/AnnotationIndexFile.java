@@ -0,0 +1,394 @@
+package org.codegeny.reflexio;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Persistent annotation index, written at build time from a {@link ClassHierarchyIndex} and memory-mapped at runtime.
+ * For each annotation type, the file records the classes on which {@link Types#collect(AnnotatedElement, Class)} would
+ * find it (on the class itself, its package or any of its supertypes) and the members directly annotated with it.
+ * Member queries combine both (the member itself, its declaring class and its type), so the same closure as
+ * {@link Types#collect(AnnotatedElement, Class)} is covered without loading anything but the queried element.
+ * <p>
+ * Elements whose class is not in the index (and parameters) fall back to a live {@link Types#collect(AnnotatedElement,
+ * Class)}. Supertypes which were not part of the indexed roots (the JDK for example) are considered unannotated, so
+ * indexing the whole classpath gives exact results.
+ *
+ * <pre>
+ * // build time
+ * AnnotationIndexFile.write(ClassHierarchyIndex.scan(jar), indexFile);
+ *
+ * // runtime
+ * AnnotationIndexFile index = AnnotationIndexFile.open(indexFile);
+ * for (String className : index.getClassNames(Component.class.getName())) { ... }
+ * index.isPresent(method, Transactional.class);
+ * </pre>
+ * <p>
+ * Layout (big-endian): magic, version, string/class/annotation counts, the strings (UTF-8, sorted so that they can be
+ * binary searched without decoding), the sorted ids of the indexed classes then, for each annotation type, its name id,
+ * the sorted ids of its classes and the sorted (class id, member key id) pairs of its members.
+ *
+ * @author Xavier DURY
+ */
+public final class AnnotationIndexFile {
+
+    private static final int MAGIC = 0x52464958; // RFIX
+    public static final int VERSION = 1;
+
+    /**
+     * Write an index file. Annotations found in the <code>value</code> array of another one are only indexed if they
+     * are repeatable with that container (see {@link ClassHierarchyIndex#getAnnotationTypeNames(String)}).
+     *
+     * @param index The hierarchy index to take the annotations from.
+     * @param file  The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(ClassHierarchyIndex index, Path file) throws IOException {
+        Map<String, Set<String>> closures = new HashMap<>();
+        Map<String, Set<String>> classesByAnnotation = new TreeMap<>();
+        Map<String, Set<String[]>> membersByAnnotation = new TreeMap<>();
+        Set<String> strings = new TreeSet<>(AnnotationIndexFile::compareUtf8);
+        for (String className : index.getClassNames()) {
+            strings.add(className);
+            for (String annotationTypeName : closure(index, className, closures)) {
+                classesByAnnotation.computeIfAbsent(annotationTypeName, k -> new TreeSet<>(AnnotationIndexFile::compareUtf8)).add(className);
+            }
+            for (Map.Entry<String, List<String>> member : index.getMemberAnnotationTypeNames(className).entrySet()) {
+                strings.add(member.getKey());
+                for (String annotationTypeName : member.getValue()) {
+                    membersByAnnotation.computeIfAbsent(annotationTypeName, k -> new LinkedHashSet<>()).add(new String[]{className, member.getKey()});
+                }
+            }
+        }
+        strings.addAll(classesByAnnotation.keySet());
+        strings.addAll(membersByAnnotation.keySet());
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (String string : strings) {
+            ids.put(string, ids.size());
+        }
+        Set<String> annotationTypeNames = new TreeSet<>(classesByAnnotation.keySet());
+        annotationTypeNames.addAll(membersByAnnotation.keySet());
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(strings.size());
+            output.writeInt(index.size());
+            output.writeInt(annotationTypeNames.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            for (int id : sortedIds(index.getClassNames(), ids)) {
+                output.writeInt(id);
+            }
+            for (String annotationTypeName : annotationTypeNames) {
+                output.writeInt(ids.get(annotationTypeName));
+                int[] classIds = sortedIds(classesByAnnotation.getOrDefault(annotationTypeName, Collections.emptySet()), ids);
+                output.writeInt(classIds.length);
+                for (int id : classIds) {
+                    output.writeInt(id);
+                }
+                List<int[]> memberIds = new ArrayList<>();
+                for (String[] member : membersByAnnotation.getOrDefault(annotationTypeName, Collections.emptySet())) {
+                    memberIds.add(new int[]{ids.get(member[0]), ids.get(member[1])});
+                }
+                memberIds.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+                output.writeInt(memberIds.size());
+                for (int[] member : memberIds) {
+                    output.writeInt(member[0]);
+                    output.writeInt(member[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open (memory-map) an index file.
+     *
+     * @param file The index file.
+     * @return The index.
+     * @throws IOException If the file cannot be read, is not an index file or was written by another version.
+     */
+    public static AnnotationIndexFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new AnnotationIndexFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static Set<String> closure(ClassHierarchyIndex index, String className, Map<String, Set<String>> closures) {
+        Set<String> closure = closures.get(className);
+        if (closure == null) {
+            closure = new LinkedHashSet<>(index.getAnnotationTypeNames(className));
+            int dot = className.lastIndexOf('.');
+            if (!className.endsWith(".package-info")) {
+                closure.addAll(index.getAnnotationTypeNames(dot < 0 ? "package-info" : className.substring(0, dot + 1).concat("package-info")));
+            }
+            ClassDescriptor descriptor = index.describe(className);
+            if (descriptor != null) {
+                if (descriptor.getSuperclass() != null) {
+                    closure.addAll(closure(index, symbolicName(descriptor.getSuperclass()), closures));
+                }
+                for (Type anInterface : descriptor.interfaces()) {
+                    closure.addAll(closure(index, symbolicName(anInterface), closures));
+                }
+            }
+            closures.put(className, closure);
+        }
+        return closure;
+    }
+
+    private static String symbolicName(Type type) {
+        return type instanceof ClassName ? ((ClassName) type).getName() : symbolicName(((ParameterizedType) type).getRawType());
+    }
+
+    private static int[] sortedIds(Set<String> strings, Map<String, Integer> ids) {
+        return strings.stream().mapToInt(ids::get).sorted().toArray();
+    }
+
+    /**
+     * Order of the UTF-8 encodings (which is the code point order).
+     */
+    private static int compareUtf8(String left, String right) {
+        return compare(left.getBytes(StandardCharsets.UTF_8), right.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int compare(byte[] left, byte[] right) {
+        for (int i = 0, n = Math.min(left.length, right.length); i < n; i++) {
+            int c = Integer.compare(left[i] & 0xFF, right[i] & 0xFF);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    private final ByteBuffer buffer;
+    private final int[] stringOffsets;
+    private final int classesOffset;
+    private final int classCount;
+    private final Map<String, Integer> annotationOffsets = new HashMap<>();
+
+    private AnnotationIndexFile(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < 20 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an annotation index file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported annotation index version " + buffer.getInt(4) + " (expected " + VERSION + ")");
+        }
+        stringOffsets = new int[buffer.getInt(8)];
+        classCount = buffer.getInt(12);
+        int annotationCount = buffer.getInt(16);
+        int offset = 20;
+        for (int i = 0; i < stringOffsets.length; i++) {
+            stringOffsets[i] = offset;
+            offset += 4 + buffer.getInt(offset);
+        }
+        classesOffset = offset;
+        offset += 4 * classCount;
+        for (int i = 0; i < annotationCount; i++) {
+            annotationOffsets.put(string(buffer.getInt(offset)), offset);
+            offset += 8 + 4 * buffer.getInt(offset + 4);
+            offset += 4 + 8 * buffer.getInt(offset);
+        }
+    }
+
+    /**
+     * @param className The binary name of a class.
+     * @return True if this class is in the index.
+     */
+    public boolean contains(String className) {
+        int id = id(className);
+        return id >= 0 && binarySearch(classesOffset, classCount, id) >= 0;
+    }
+
+    /**
+     * Get the classes on which an annotation is present (on the class itself, its package or any of its supertypes).
+     *
+     * @param annotationTypeName The annotation type name.
+     * @return The binary names of the classes.
+     */
+    public List<String> getClassNames(String annotationTypeName) {
+        Integer offset = annotationOffsets.get(annotationTypeName);
+        if (offset == null) {
+            return Collections.emptyList();
+        }
+        int count = buffer.getInt(offset + 4);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(string(buffer.getInt(offset + 8 + 4 * i)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Check if an annotation is present on the given element or any element of its closure (see
+     * {@link Types#collect(AnnotatedElement, Class)}).
+     *
+     * @param element        The annotated element.
+     * @param annotationType The annotation type.
+     * @return True if present.
+     */
+    public boolean isPresent(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+        if (element instanceof Class<?> && contains(((Class<?>) element).getName())) {
+            return isClassPresent(((Class<?>) element).getName(), annotationType.getName());
+        }
+        if (element instanceof Package && contains(((Package) element).getName().concat(".package-info"))) {
+            return isClassPresent(((Package) element).getName().concat(".package-info"), annotationType.getName());
+        }
+        if ((element instanceof Field || element instanceof Executable) && contains(((Member) element).getDeclaringClass().getName())) {
+            Member member = (Member) element;
+            if (isMemberPresent(member.getDeclaringClass().getName(), key(member), annotationType.getName())) {
+                return true;
+            }
+            for (AnnotatedElement next : AnnotatedElementVisitor.accept(AnnotatedElementSuccessors.INSTANCE, element)) {
+                if (next != null && isPresent(next, annotationType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return !Types.collect(element, annotationType).isEmpty();
+    }
+
+    private boolean isClassPresent(String className, String annotationTypeName) {
+        Integer offset = annotationOffsets.get(annotationTypeName);
+        return offset != null && binarySearch(offset + 8, buffer.getInt(offset + 4), id(className)) >= 0;
+    }
+
+    private boolean isMemberPresent(String className, String key, String annotationTypeName) {
+        Integer offset = annotationOffsets.get(annotationTypeName);
+        if (offset == null) {
+            return false;
+        }
+        int classId = id(className);
+        int keyId = id(key);
+        if (keyId < 0) {
+            return false;
+        }
+        int membersOffset = offset + 8 + 4 * buffer.getInt(offset + 4);
+        int low = 0;
+        int high = buffer.getInt(membersOffset) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = membersOffset + 4 + 8 * middle;
+            int c = Integer.compare(buffer.getInt(position), classId);
+            if (c == 0) {
+                c = Integer.compare(buffer.getInt(position + 4), keyId);
+            }
+            if (c < 0) {
+                low = middle + 1;
+            } else if (c > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same keys as {@link ClassFileReader}: fields by name, methods and constructors by name and descriptor.
+     */
+    private static String key(Member member) {
+        if (member instanceof Field) {
+            return member.getName();
+        }
+        StringBuilder builder = new StringBuilder(member instanceof Constructor<?> ? "<init>" : member.getName()).append('(');
+        for (Class<?> parameterType : ((Executable) member).getParameterTypes()) {
+            builder.append(Signatures.toTypeSignature(parameterType));
+        }
+        return builder.append(')').append(Signatures.toTypeSignature(member instanceof Method ? ((Method) member).getReturnType() : void.class)).toString();
+    }
+
+    private int binarySearch(int offset, int count, int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int c = Integer.compare(buffer.getInt(offset + 4 * middle), id);
+            if (c < 0) {
+                low = middle + 1;
+            } else if (c > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the id of a string by binary searching the sorted string table (comparing encoded bytes in place).
+     */
+    private int id(String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = stringOffsets.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int c = compareAt(stringOffsets[middle], bytes);
+            if (c < 0) {
+                low = middle + 1;
+            } else if (c > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compareAt(int offset, byte[] bytes) {
+        int length = buffer.getInt(offset);
+        for (int i = 0, n = Math.min(length, bytes.length); i < n; i++) {
+            int c = Integer.compare(buffer.get(offset + 4 + i) & 0xFF, bytes[i] & 0xFF);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(length, bytes.length);
+    }
+
+    private String string(int id) {
+        int offset = stringOffsets[id];
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + 4 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationIndexFile[" + classCount + " classes, " + annotationOffsets.size() + " annotation types]";
+    }
+}
@@ -0,0 +1,81 @@
+package org.codegeny.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Lazy counterpart of {@link CollectAnnotationsElementVisitor}: annotations are produced in the same order but the
+ * element graph is only expanded as they are consumed.
+ *
+ * @param <A> The annotation type.
+ * @author Xavier DURY
+ */
+final class AnnotationSpliterator<A extends Annotation> extends Spliterators.AbstractSpliterator<A> {
+
+    private final Set<AnnotatedElement> visited = new HashSet<>();
+    private final Deque<Iterator<AnnotatedElement>> stack = new ArrayDeque<>();
+    private final Class<A> annotationType;
+    private AnnotatedElement pending;
+    private A[] annotations;
+    private int index;
+
+    AnnotationSpliterator(AnnotatedElement element, Class<A> annotationType) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.annotationType = annotationType;
+        this.stack.push(Arrays.asList(element).iterator());
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super A> action) {
+        while (annotations == null || index == annotations.length) {
+            AnnotatedElement element = nextElement();
+            if (element == null) {
+                return false;
+            }
+            annotations = annotations(element);
+            index = 0;
+        }
+        action.accept(annotations[index++]);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private A[] annotations(AnnotatedElement element) {
+        // same as CollectAnnotationsElementVisitor
+        if (element.isAnnotationPresent(annotationType)) {
+            A[] annotations = (A[]) Array.newInstance(annotationType, 1);
+            annotations[0] = element.getAnnotation(annotationType);
+            return annotations;
+        }
+        return element.getAnnotationsByType(annotationType);
+    }
+
+    private AnnotatedElement nextElement() {
+        if (pending != null) {
+            stack.push(Arrays.asList(AnnotatedElementVisitor.accept(AnnotatedElementSuccessors.INSTANCE, pending)).iterator());
+            pending = null;
+        }
+        while (!stack.isEmpty()) {
+            Iterator<AnnotatedElement> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+            } else {
+                AnnotatedElement element = iterator.next();
+                if (element != null && visited.add(element)) {
+                    return pending = element;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -18,16 +18,17 @@ final class ArgumentTypesResolver implements TypeVisitor<Type[]> {
 
     @Override
     public <T> Type[] visitClass(Class<T> klass) {
+        ClassMetadata metadata = ClassMetadata.of(klass);
         if (reference.equals(klass)) {
-            // May return Class[] instead of Type[], so copy it as a Type[] to avoid
-            // problems in visit(ParameterizedType)
-            return Arrays.copyOf(klass.getTypeParameters(), reference.getTypeParameters().length, Type[].class);
+            // Copy the shared type parameters as a Type[], the result is modified in visit(ParameterizedType)
+            TypeVariable<?>[] typeParameters = metadata.getTypeParameters();
+            return Arrays.copyOf(typeParameters, typeParameters.length, Type[].class);
         }
-        if (klass.getSuperclass() != null && reference.isAssignableFrom(klass.getSuperclass())) {
-            return TypeVisitor.accept(this, klass.getGenericSuperclass());
+        if (metadata.getSuperclass() != null && reference.isAssignableFrom(metadata.getSuperclass())) {
+            return TypeVisitor.accept(this, metadata.getGenericSuperclass());
         }
-        Class<?>[] interfaces = klass.getInterfaces();
-        Type[] genericInterfaces = klass.getGenericInterfaces();
+        Class<?>[] interfaces = metadata.getInterfaces();
+        Type[] genericInterfaces = metadata.getGenericInterfaces();
         for (int i = 0; i < interfaces.length; i++) {
             if (reference.isAssignableFrom(interfaces[i])) {
                 return TypeVisitor.accept(this, genericInterfaces[i]);
@@ -39,15 +40,17 @@ final class ArgumentTypesResolver implements TypeVisitor<Type[]> {
     @Override
     public Type[] visitParameterizedType(ParameterizedType parameterizedType) {
         Class<?> rawType = (Class<?>) parameterizedType.getRawType(); // always a Class
-        TypeVariable<?>[] typeVariables = rawType.getTypeParameters();
+        ClassMetadata metadata = ClassMetadata.of(rawType);
         Type[] types = TypeVisitor.accept(this, rawType);
+        Type[] arguments = null;
         for (int i = 0; i < types.length; i++) {
             if (types[i] instanceof TypeVariable<?>) {
-                TypeVariable<?> typeVariable = (TypeVariable<?>) types[i];
-                for (int j = 0; j < typeVariables.length; j++) {
-                    if (typeVariables[j].getName().equals(typeVariable.getName())) {
-                        types[i] = parameterizedType.getActualTypeArguments()[j];
+                int j = metadata.indexOfTypeParameter(((TypeVariable<?>) types[i]).getName());
+                if (j >= 0) {
+                    if (arguments == null) {
+                        arguments = parameterizedType.getActualTypeArguments();
                     }
+                    types[i] = arguments[j];
                 }
             }
         }
@@ -56,7 +59,7 @@ final class ArgumentTypesResolver implements TypeVisitor<Type[]> {
 
     @Override
     public <D extends GenericDeclaration> Type[] visitTypeVariable(TypeVariable<D> typeVariable) {
-        for (Type bound : typeVariable.getBounds()) {
+        for (Type bound : ClassMetadata.bounds(typeVariable)) {
             if (Types.isAssignable(reference, bound)) {
                 return TypeVisitor.accept(this, bound);
             }
@@ -0,0 +1,113 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Capture and bounds checks shared by {@link AssignabilityTypeVisitor} and {@link SymbolicAssignabilityTypeVisitor},
+ * which only differ by their type variable representation (and how their bounds are obtained) and by their
+ * assignability check (given as a predicate testing if its second argument is assignable to its first one).
+ *
+ * @author Xavier DURY
+ */
+final class Assignability {
+
+    /**
+     * Capture a type in a type variable (on the left side) if it has not been captured yet and the type is within its
+     * bounds, otherwise check that the type is the one already captured.
+     *
+     * @param captures     The captures.
+     * @param variable     The type variable.
+     * @param bounds       The bounds of the type variable.
+     * @param type         The type.
+     * @param isAssignable The assignability check.
+     * @param <V>          The type variable representation.
+     * @return True if the type is (or already was) captured.
+     */
+    static <V> boolean capture(Map<V, Type> captures, V variable, Type[] bounds, Type type, BiPredicate<Type, Type> isAssignable) {
+        Type captured = captures.get(variable);
+        if (captured != null) {
+            return type.equals(captured);
+        }
+        captures.put(variable, type);
+        return allAssignable(bounds, type, isAssignable);
+    }
+
+    /**
+     * Check if a type (on the left side) is assignable from a type variable (on the right side), that is if it is the
+     * type already captured in the type variable or if it is assignable from all its bounds.
+     *
+     * @param captures     The captures.
+     * @param variable     The type variable.
+     * @param bounds       The bounds of the type variable.
+     * @param type         The type.
+     * @param isAssignable The assignability check.
+     * @param <V>          The type variable representation.
+     * @return True if assignable.
+     */
+    static <V> boolean isAssignableFromBounds(Map<V, Type> captures, V variable, Type[] bounds, Type type, BiPredicate<Type, Type> isAssignable) {
+        Type captured = captures.get(variable);
+        return captured != null ? type.equals(captured) : allAssignable(type, bounds, isAssignable);
+    }
+
+    /**
+     * Check if a type (on the left side) is within the bounds of a wildcard type (on the right side).
+     *
+     * @param type         The type.
+     * @param wildcardType The wildcard type.
+     * @param isAssignable The assignability check.
+     * @return True if the type is within the bounds.
+     */
+    static boolean isWithin(Type type, WildcardType wildcardType, BiPredicate<Type, Type> isAssignable) {
+        return allAssignable(wildcardType.getLowerBounds(), type, isAssignable)
+                && allAssignable(type, wildcardType.getUpperBounds(), isAssignable);
+    }
+
+    /**
+     * Check if the bounds of a wildcard type (on the left side) contain the given bounds (of a type on the right side).
+     *
+     * @param wildcardType The wildcard type.
+     * @param lowerBounds  The lower bounds.
+     * @param upperBounds  The upper bounds.
+     * @param isAssignable The assignability check.
+     * @return True if all the lower bounds are assignable to the lower bounds of the wildcard type and all the upper
+     * bounds of the wildcard type are assignable to the upper bounds.
+     */
+    static boolean contains(WildcardType wildcardType, Type[] lowerBounds, Type[] upperBounds, BiPredicate<Type, Type> isAssignable) {
+        for (Type bound : wildcardType.getLowerBounds()) {
+            if (!allAssignable(lowerBounds, bound, isAssignable)) {
+                return false;
+            }
+        }
+        for (Type bound : wildcardType.getUpperBounds()) {
+            if (!allAssignable(bound, upperBounds, isAssignable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allAssignable(Type[] lefts, Type right, BiPredicate<Type, Type> isAssignable) {
+        for (Type left : lefts) {
+            if (!isAssignable.test(left, right)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allAssignable(Type left, Type[] rights, BiPredicate<Type, Type> isAssignable) {
+        for (Type right : rights) {
+            if (!isAssignable.test(left, right)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Assignability() {
+        throw new InternalError();
+    }
+}
@@ -0,0 +1,215 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Assignability of every type of a collection (left, for example injection points) from every type of another
+ * collection (right, for example bean types), computed in bulk on a fork/join pool.
+ *
+ * <pre>
+ * AssignabilityMatrix matrix = AssignabilityMatrix.of(injectionPointTypes, beanTypes);
+ * for (int i = 0; i &lt; matrix.getRows(); i++) {
+ *     List&lt;Type&gt; candidates = matrix.getCandidates(i);
+ * }
+ * </pre>
+ * <p>
+ * Each cell holds the same result as {@link Types#isAssignable(Type, Type) Types.isAssignable(left, right)}. Pairs of
+ * classes and parameterized types whose raw classes are not assignable are rejected without any generic check, the
+ * others are checked without going through the assignability cache (which would otherwise receive every pair). The
+ * matrix itself is stored as one bit per pair.
+ *
+ * @author Xavier DURY
+ */
+public final class AssignabilityMatrix {
+
+    /**
+     * Maximum number of pairs checked by a single task.
+     */
+    private static final int THRESHOLD = 4096;
+
+    /**
+     * Compute a matrix on the common fork/join pool.
+     *
+     * @param lefts  The left types (rows).
+     * @param rights The right types (columns).
+     * @return The matrix.
+     */
+    public static AssignabilityMatrix of(Collection<? extends Type> lefts, Collection<? extends Type> rights) {
+        return of(lefts, rights, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute a matrix.
+     *
+     * @param lefts  The left types (rows).
+     * @param rights The right types (columns).
+     * @param pool   The pool.
+     * @return The matrix.
+     */
+    public static AssignabilityMatrix of(Collection<? extends Type> lefts, Collection<? extends Type> rights, ForkJoinPool pool) {
+        AssignabilityMatrix matrix = new AssignabilityMatrix(new ArrayList<>(lefts), new ArrayList<>(rights));
+        if (!matrix.lefts.isEmpty() && !matrix.rights.isEmpty()) {
+            pool.invoke(matrix.new Task(0, matrix.lefts.size(), 0, matrix.words));
+        }
+        return matrix;
+    }
+
+    private final List<Type> lefts;
+    private final List<Type> rights;
+    private final Class<?>[] leftRaws;
+    private final Class<?>[] rightRaws;
+    private final int words;
+    private final long[] bits;
+
+    private AssignabilityMatrix(List<Type> lefts, List<Type> rights) {
+        this.lefts = lefts;
+        this.rights = rights;
+        this.leftRaws = raws(lefts);
+        this.rightRaws = raws(rights);
+        this.words = (rights.size() + 63) >>> 6;
+        this.bits = new long[lefts.size() * words];
+    }
+
+    /**
+     * Raw classes of the types which can be pruned on them (classes and parameterized types), <code>null</code> for
+     * the others.
+     */
+    private static Class<?>[] raws(List<Type> types) {
+        Map<Type, Class<?>> raws = new HashMap<>();
+        Class<?>[] result = new Class<?>[types.size()];
+        for (int i = 0; i < result.length; i++) {
+            Type type = types.get(i);
+            if (type instanceof Class<?> || type instanceof ParameterizedType) {
+                result[i] = raws.computeIfAbsent(type, Types::raw);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rows x column ranges, split on word boundaries so that no two tasks write the same word.
+     */
+    private final class Task extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromRow;
+        private final int toRow;
+        private final int fromWord;
+        private final int toWord;
+
+        Task(int fromRow, int toRow, int fromWord, int toWord) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = toRow - fromRow;
+            int columns = Math.min(toWord << 6, rights.size()) - (fromWord << 6);
+            if ((long) rows * columns <= THRESHOLD || rows == 1 && toWord - fromWord == 1) {
+                for (int row = fromRow; row < toRow; row++) {
+                    computeRow(row, fromWord << 6, Math.min(toWord << 6, rights.size()));
+                }
+            } else if (rows >= toWord - fromWord << 6 || toWord - fromWord == 1) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new Task(fromRow, middle, fromWord, toWord), new Task(middle, toRow, fromWord, toWord));
+            } else {
+                int middle = (fromWord + toWord) >>> 1;
+                invokeAll(new Task(fromRow, toRow, fromWord, middle), new Task(fromRow, toRow, middle, toWord));
+            }
+        }
+    }
+
+    private void computeRow(int row, int fromColumn, int toColumn) {
+        Type left = lefts.get(row);
+        Class<?> leftRaw = leftRaws[row];
+        for (int column = fromColumn; column < toColumn; column++) {
+            Class<?> rightRaw = rightRaws[column];
+            boolean assignable;
+            if (leftRaw != null && rightRaw != null) {
+                // same shortcut as AssignabilityTypeVisitor on raw classes
+                assignable = leftRaw.isAssignableFrom(rightRaw) && (left instanceof Class<?> || isAssignable(left, rights.get(column)));
+            } else {
+                assignable = isAssignable(left, rights.get(column));
+            }
+            if (assignable) {
+                bits[row * words + (column >>> 6)] |= 1L << column;
+            }
+        }
+    }
+
+    /**
+     * {@link Types#isAssignable(Type, Type)} without its cache.
+     */
+    private static boolean isAssignable(Type left, Type right) {
+        Map<TypeVariable<?>, Type> captures = new HashMap<>();
+        return Types.isAssignable(left, right, captures) && captures.isEmpty();
+    }
+
+    /**
+     * @return The number of rows (left types).
+     */
+    public int getRows() {
+        return lefts.size();
+    }
+
+    /**
+     * @return The number of columns (right types).
+     */
+    public int getColumns() {
+        return rights.size();
+    }
+
+    /**
+     * Check if the right type of a column is assignable to the left type of a row.
+     *
+     * @param row    The row.
+     * @param column The column.
+     * @return True if assignable.
+     * @throws IndexOutOfBoundsException If the row or the column is out of bounds.
+     */
+    public boolean isAssignable(int row, int column) {
+        if (row < 0 || row >= lefts.size() || column < 0 || column >= rights.size()) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + column + ")");
+        }
+        return (bits[row * words + (column >>> 6)] & 1L << column) != 0;
+    }
+
+    /**
+     * Get the right types assignable to the left type of a row.
+     *
+     * @param row The row.
+     * @return The candidates (in the order of the right types).
+     * @throws IndexOutOfBoundsException If the row is out of bounds.
+     */
+    public List<Type> getCandidates(int row) {
+        if (row < 0 || row >= lefts.size()) {
+            throw new IndexOutOfBoundsException(Integer.toString(row));
+        }
+        List<Type> candidates = new ArrayList<>();
+        for (int word = 0; word < words; word++) {
+            for (long value = bits[row * words + word]; value != 0; value &= value - 1) {
+                candidates.add(rights.get(word << 6 | Long.numberOfTrailingZeros(value)));
+            }
+        }
+        return Collections.unmodifiableList(candidates);
+    }
+
+    @Override
+    public String toString() {
+        return "AssignabilityMatrix[" + lefts.size() + " x " + rights.size() + "]";
+    }
+}
@@ -7,6 +7,7 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Map;
+import java.util.function.BiPredicate;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -14,6 +15,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
     private final Type right;
     private final Map<TypeVariable<?>, Type> captures;
+    private final BiPredicate<Type, Type> assignability = this::isAssignable;
 
     AssignabilityTypeVisitor(Type right, Map<TypeVariable<?>, Type> captures) {
         this.right = right;
@@ -69,11 +71,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public <D extends GenericDeclaration> Boolean visitTypeVariable(TypeVariable<D> right) {
-            Type captured = captures.get(right);
-            if (captured != null) {
-                return left.equals(captured);
-            }
-            return Stream.of(right.getBounds()).allMatch(t -> TypeVisitor.accept(this, t));
+            return Assignability.isAssignableFromBounds(captures, right, ClassMetadata.bounds(right), left, (l, b) -> TypeVisitor.accept(this, b));
         }
 
         @Override
@@ -83,8 +81,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public Boolean visitWildcardType(WildcardType right) {
-            return Stream.of(right.getLowerBounds()).allMatch(b -> isAssignable(b, left))
-                    && Stream.of(right.getUpperBounds()).allMatch(b -> isAssignable(left, b));
+            return Assignability.isWithin(left, right, assignability);
         }
     }
 
@@ -125,7 +122,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public <D extends GenericDeclaration> Boolean visitTypeVariable(TypeVariable<D> right) {
-            return Stream.of(right.getBounds()).allMatch(b -> isAssignable(left, b));
+            return Stream.of(ClassMetadata.bounds(right)).allMatch(b -> isAssignable(left, b));
         }
 
         @Override
@@ -135,8 +132,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public Boolean visitWildcardType(WildcardType right) {
-            return Stream.of(right.getLowerBounds()).allMatch(b -> isAssignable(b, left))
-                    && Stream.of(right.getUpperBounds()).allMatch(b -> isAssignable(left, b));
+            return Assignability.isWithin(left, right, assignability);
         }
     }
 
@@ -184,8 +180,7 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public <T> Boolean visitClass(Class<T> right) {
-            return Stream.of(left.getLowerBounds()).allMatch(b -> isAssignable(right, b))
-                    && Stream.of(left.getUpperBounds()).allMatch(b -> isAssignable(b, right));
+            return Assignability.contains(left, new Type[]{right}, new Type[]{right}, assignability);
         }
 
         @Override
@@ -195,14 +190,13 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public Boolean visitWildcardType(WildcardType right) {
-            return Stream.of(left.getLowerBounds()).allMatch(b -> Stream.of(right.getLowerBounds()).allMatch(c -> isAssignable(c, b)))
-                    && Stream.of(left.getUpperBounds()).allMatch(b -> Stream.of(right.getUpperBounds()).allMatch(c -> isAssignable(b, c)));
+            return Assignability.contains(left, right.getLowerBounds(), right.getUpperBounds(), assignability);
         }
 
         @Override
         public <D extends GenericDeclaration> Boolean visitTypeVariable(TypeVariable<D> right) {
-            return Stream.of(left.getLowerBounds()).allMatch(b -> Stream.of(right.getBounds()).allMatch(c -> isAssignable(b, c)))
-                    && Stream.of(left.getUpperBounds()).allMatch(b -> Stream.of(right.getBounds()).allMatch(c -> isAssignable(c, b)));
+            return Stream.of(left.getLowerBounds()).allMatch(b -> Stream.of(ClassMetadata.bounds(right)).allMatch(c -> isAssignable(b, c)))
+                    && Stream.of(left.getUpperBounds()).allMatch(b -> Stream.of(ClassMetadata.bounds(right)).allMatch(c -> isAssignable(c, b)));
         }
     }
 
@@ -216,17 +210,12 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public <T> Boolean visitClass(Class<T> right) {
-            Type captured = captures.get(left);
-            if (captured != null) {
-                return right.equals(captured);
-            }
-            captures.put(left, right);
-            return Stream.of(left.getBounds()).allMatch(b -> isAssignable(b, right));
+            return capture(right);
         }
 
         @Override
         public Boolean visitGenericArrayType(GenericArrayType right) {
-            return false;
+            return capture(right);
         }
 
         @Override
@@ -236,14 +225,18 @@ class AssignabilityTypeVisitor implements TypeVisitor<Boolean> {
 
         @Override
         public Boolean visitParameterizedType(ParameterizedType right) {
-            return false;
+            return capture(right);
+        }
+
+        private boolean capture(Type right) {
+            return Assignability.capture(captures, left, ClassMetadata.bounds(left), right, assignability);
         }
 
         @Override
         public <D extends GenericDeclaration> Boolean visitTypeVariable(TypeVariable<D> right) {
             return left.getName().equals(right.getName())
                     && left.getGenericDeclaration().equals(right.getGenericDeclaration())
-                    || Stream.of(right.getBounds()).allMatch(t -> TypeVisitor.accept(this, t));
+                    || Stream.of(ClassMetadata.bounds(right)).allMatch(t -> TypeVisitor.accept(this, t));
         }
     }
 }
@@ -0,0 +1,55 @@
+package org.codegeny.reflexio;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * SPI for the caches used by reflexio (resolution, assignability, expansion, annotations, parsing...).
+ * <p>
+ * Keys are built by reflexio from {@link java.lang.reflect.Type}s, {@link java.lang.reflect.AnnotatedElement}s,
+ * {@link ClassLoader}s, {@link String}s and {@link java.util.List}s of those. Implementations can use
+ * {@link Caches#references(Object, ClassLoader)} to find which keys belong to a given {@link ClassLoader}.
+ * <p>
+ * Implementations must be thread-safe and must not hold any lock while computing a value as the computing function
+ * may (recursively) use other caches or even the same cache.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Xavier DURY
+ * @see Caches
+ * @see CacheFactory
+ */
+public interface Cache<K, V> {
+
+    /**
+     * Get the value associated to the given key or compute (and possibly store) it if there is none. If the computing
+     * function returns <code>null</code>, nothing must be stored.
+     *
+     * @param key      The key.
+     * @param function The function used to compute the value.
+     * @return The value.
+     */
+    V get(K key, Function<? super K, ? extends V> function);
+
+    /**
+     * Remove all the entries which reference the given {@link ClassLoader} (or any of its descendants).
+     *
+     * @param classLoader The class loader.
+     */
+    void invalidate(ClassLoader classLoader);
+
+    /**
+     * Remove all the entries matching the given predicate. The default implementation removes all the entries, which
+     * is correct but defeats {@link Caches#invalidate(Class[]) incremental invalidation}.
+     *
+     * @param predicate The predicate on keys and values.
+     */
+    default void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        invalidateAll();
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,94 @@
+package org.codegeny.reflexio;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Records, per thread, the classes a cached value is derived from while it is being computed: the classes of its key,
+ * the classes whose {@link ClassMetadata} was read and (transitively) the dependencies of the cached values it was
+ * computed from (whether they were computed or found in their cache). This is what allows {@link Caches#invalidate(Class[])}
+ * to only evict the entries derived from a redefined class (its subclasses resolutions, for example).
+ * <p>
+ * Tracking is disabled by default (see {@link Caches#setDependencyTracking(boolean)}) so that reading metadata and
+ * hitting caches does not cost any {@link ThreadLocal} lookup.
+ *
+ * @author Xavier DURY
+ */
+final class CacheDependencies {
+
+    private static final ThreadLocal<Set<Class<?>>> CURRENT = new ThreadLocal<>();
+    private static volatile boolean enabled;
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        CacheDependencies.enabled = enabled;
+    }
+
+    /**
+     * Compute a value while recording its dependencies.
+     *
+     * @param dependencies The set where dependencies are recorded.
+     * @param supplier     The computation.
+     * @param <T>          The value type.
+     * @return The value.
+     */
+    static <T> T track(Set<Class<?>> dependencies, Supplier<T> supplier) {
+        Set<Class<?>> previous = CURRENT.get();
+        CURRENT.set(dependencies);
+        try {
+            return supplier.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Record a dependency of the value being computed (if any).
+     *
+     * @param klass The class.
+     */
+    static void record(Class<?> klass) {
+        if (!enabled) {
+            return;
+        }
+        Set<Class<?>> current = CURRENT.get();
+        if (current != null) {
+            current.add(klass);
+        }
+    }
+
+    /**
+     * Record dependencies of the value being computed (if any).
+     *
+     * @param classes The classes.
+     */
+    static void recordAll(Class<?>[] classes) {
+        if (!enabled) {
+            return;
+        }
+        Set<Class<?>> current = CURRENT.get();
+        if (current != null) {
+            Collections.addAll(current, classes);
+        }
+    }
+
+    static Set<Class<?>> newSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    static Set<Class<?>> newSet(Collection<Class<?>> classes) {
+        Set<Class<?>> result = newSet();
+        result.addAll(classes);
+        return result;
+    }
+
+    private CacheDependencies() {
+        throw new InternalError();
+    }
+}
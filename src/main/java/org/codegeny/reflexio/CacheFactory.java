@@ -0,0 +1,20 @@
+package org.codegeny.reflexio;
+
+/**
+ * Factory for {@link Cache}s. A custom factory can be installed with {@link Caches#configure(CacheFactory)}.
+ *
+ * @author Xavier DURY
+ * @see Caches
+ */
+public interface CacheFactory {
+
+    /**
+     * Create a new cache.
+     *
+     * @param name The name of the cache (for example <code>"resolveTypeArguments"</code>).
+     * @param <K>  The key type.
+     * @param <V>  The value type.
+     * @return A new cache.
+     */
+    <K, V> Cache<K, V> newCache(String name);
+}
@@ -0,0 +1,389 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Helper to find which {@link ClassLoader}s are referenced by a cache key.
+ *
+ * @author Xavier DURY
+ */
+final class CacheKeys {
+
+    /**
+     * Anchor for keys which do not reference any class or class loader.
+     */
+    static final Object NONE = new Object();
+
+    /**
+     * Find the <em>anchor</em> of the given key, that is the class (or the class loader if the key does not contain
+     * any class from that loader) whose class loader is a descendant of all the other class loaders referenced by the
+     * key. Storing an entry alongside its anchor can never pin a class loader which would not already be pinned by
+     * the anchor itself.
+     *
+     * @param key The key.
+     * @return The anchor ({@link Class}, {@link ClassLoader} or {@link #NONE}) or <code>null</code> if the key cannot
+     * be anchored (unrelated class loaders or unsupported key component) and should not be cached.
+     */
+    static Object anchor(Object key) {
+        if (key instanceof String) {
+            return NONE;
+        }
+        Anchor anchor = new Anchor();
+        return anchor.visit(key) ? anchor.anchor : null;
+    }
+
+    /**
+     * Find, without allocating anything, a class referenced by the top-level components of the given key: the one
+     * whose class loader is the deepest among the classes directly found in the key (nested type arguments and
+     * wildcards are not inspected). When the class loader of this <em>home</em> class is the one of the
+     * {@link #anchor(Object) anchor}, an entry can be stored alongside the home class and found again without walking
+     * the whole key.
+     *
+     * @param key The key.
+     * @return The home class or <code>null</code> if none was found.
+     */
+    static Class<?> home(Object key) {
+        if (key instanceof Pair<?, ?>) {
+            return deepest(home(((Pair<?, ?>) key).first), home(((Pair<?, ?>) key).second));
+        }
+        if (key instanceof List<?> && key instanceof RandomAccess) {
+            List<?> list = (List<?>) key;
+            Class<?> home = null;
+            for (int i = 0; i < list.size(); i++) {
+                home = deepest(home, home(list.get(i)));
+            }
+            return home;
+        }
+        if (key instanceof Class<?>) {
+            Class<?> klass = (Class<?>) key;
+            while (klass.isArray()) {
+                klass = klass.getComponentType();
+            }
+            return klass;
+        }
+        if (key instanceof ParameterizedType) {
+            return home(((ParameterizedType) key).getRawType());
+        }
+        if (key instanceof GenericArrayType) {
+            return home(((GenericArrayType) key).getGenericComponentType());
+        }
+        if (key instanceof TypeVariable<?>) {
+            GenericDeclaration declaration = ((TypeVariable<?>) key).getGenericDeclaration();
+            return home(declaration instanceof Member ? ((Member) declaration).getDeclaringClass() : declaration);
+        }
+        if (key instanceof Member) {
+            return ((Member) key).getDeclaringClass();
+        }
+        if (key instanceof Parameter) {
+            return ((Parameter) key).getDeclaringExecutable().getDeclaringClass();
+        }
+        if (key instanceof Identity) {
+            return home(((Identity) key).part);
+        }
+        return null;
+    }
+
+    private static Class<?> deepest(Class<?> left, Class<?> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null || left.getClassLoader() == right.getClassLoader()) {
+            return left;
+        }
+        return isAncestor(left.getClassLoader(), right.getClassLoader()) ? right : left;
+    }
+
+    /**
+     * Check if the given key references the given class loader (or any of its descendants).
+     *
+     * @param key         The key.
+     * @param classLoader The class loader.
+     * @return True if the key references the class loader.
+     */
+    static boolean references(Object key, ClassLoader classLoader) {
+        References references = new References(classLoader);
+        return !references.visit(key) || references.found;
+    }
+
+    /**
+     * Collect the classes referenced by the given key (component types for arrays, declaring classes for members and
+     * type variables).
+     *
+     * @param key     The key.
+     * @param classes The collection to which classes are added.
+     */
+    static void classes(Object key, Collection<Class<?>> classes) {
+        new Classes(classes).visit(key);
+    }
+
+    /**
+     * Check if the given class loader is the same or an ancestor of the other one (the bootstrap class loader being
+     * <code>null</code>).
+     *
+     * @param ancestor    The (possible) ancestor.
+     * @param classLoader The class loader.
+     * @return True if ancestor is the same or an ancestor of the class loader.
+     */
+    static boolean isAncestor(ClassLoader ancestor, ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wrap a key component so that it is compared by identity (the wrapped component is still walked to find the
+     * anchor or the classes of the key).
+     *
+     * @param part The key component.
+     * @return The wrapped component.
+     */
+    static Object identity(Object part) {
+        return new Identity(part);
+    }
+
+    /**
+     * Key made of 2 components (cheaper than a list: its hash is computed once and it can be unpacked by non-capturing
+     * functions).
+     *
+     * @param first  The first component.
+     * @param second The second component.
+     * @param <A>    The type of the first component.
+     * @param <B>    The type of the second component.
+     * @return The key.
+     */
+    static <A, B> Pair<A, B> pair(A first, B second) {
+        return new Pair<>(first, second);
+    }
+
+    static final class Pair<A, B> {
+
+        final A first;
+        final B second;
+        private final int hash;
+
+        Pair(A first, B second) {
+            this.first = first;
+            this.second = second;
+            this.hash = 31 * Objects.hashCode(first) + Objects.hashCode(second);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Pair<?, ?>)) {
+                return false;
+            }
+            Pair<?, ?> that = (Pair<?, ?>) object;
+            return hash == that.hash && Objects.equals(first, that.first) && Objects.equals(second, that.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + first + ", " + second + ")";
+        }
+    }
+
+    private static final class Identity {
+
+        final Object part;
+
+        Identity(Object part) {
+            this.part = part;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Identity && ((Identity) object).part == part;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(part);
+        }
+    }
+
+    static ClassLoader classLoader(Object anchor) {
+        return anchor instanceof Class<?> ? ((Class<?>) anchor).getClassLoader() : (ClassLoader) anchor;
+    }
+
+    private CacheKeys() {
+        throw new InternalError();
+    }
+
+    /**
+     * Walks a key and reports the classes and class loaders it references.
+     */
+    private abstract static class Walker {
+
+        abstract boolean visitClass(Class<?> klass);
+
+        abstract boolean visitClassLoader(ClassLoader classLoader);
+
+        boolean visit(Object part) {
+            if (part instanceof Class<?>) {
+                Class<?> klass = (Class<?>) part;
+                while (klass.isArray()) {
+                    klass = klass.getComponentType();
+                }
+                return visitClass(klass);
+            }
+            if (part instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) part;
+                return visit(parameterizedType.getRawType())
+                        && visit(parameterizedType.getOwnerType())
+                        && visitAll(parameterizedType.getActualTypeArguments());
+            }
+            if (part instanceof GenericArrayType) {
+                return visit(((GenericArrayType) part).getGenericComponentType());
+            }
+            if (part instanceof WildcardType) {
+                WildcardType wildcardType = (WildcardType) part;
+                return visitAll(wildcardType.getLowerBounds()) && visitAll(wildcardType.getUpperBounds());
+            }
+            if (part instanceof TypeVariable<?>) {
+                GenericDeclaration declaration = ((TypeVariable<?>) part).getGenericDeclaration();
+                return visit(declaration instanceof Member ? ((Member) declaration).getDeclaringClass() : declaration);
+            }
+            if (part instanceof Member) {
+                return visit(((Member) part).getDeclaringClass());
+            }
+            if (part instanceof Parameter) {
+                return visit(((Parameter) part).getDeclaringExecutable());
+            }
+            if (part instanceof ClassLoader) {
+                return visitClassLoader((ClassLoader) part);
+            }
+            if (part instanceof Identity) {
+                return visit(((Identity) part).part);
+            }
+            if (part instanceof Pair<?, ?>) {
+                return visit(((Pair<?, ?>) part).first) && visit(((Pair<?, ?>) part).second);
+            }
+            if (part instanceof Collection<?>) {
+                for (Object element : (Collection<?>) part) {
+                    if (!visit(element)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (part instanceof Object[]) {
+                return visitAll((Object[]) part);
+            }
+            // Packages (and anything else which may hold a class loader) are not supported
+            return part == null || part instanceof String || part instanceof Number || part instanceof Boolean || part instanceof Enum<?>;
+        }
+
+        private boolean visitAll(Object[] parts) {
+            for (Object part : parts) {
+                if (!visit(part)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Anchor extends Walker {
+
+        Object anchor = NONE;
+
+        @Override
+        boolean visitClass(Class<?> klass) {
+            return candidate(klass, klass.getClassLoader());
+        }
+
+        @Override
+        boolean visitClassLoader(ClassLoader classLoader) {
+            // the bootstrap class loader is an ancestor of all the others
+            return classLoader == null || candidate(classLoader, classLoader);
+        }
+
+        private boolean candidate(Object candidate, ClassLoader classLoader) {
+            if (anchor == NONE) {
+                anchor = candidate;
+                return true;
+            }
+            ClassLoader current = classLoader(anchor);
+            if (current == classLoader) {
+                // prefer a class over a class loader
+                if (!(anchor instanceof Class<?>)) {
+                    anchor = candidate;
+                }
+                return true;
+            }
+            if (isAncestor(classLoader, current)) {
+                return true;
+            }
+            if (isAncestor(current, classLoader)) {
+                anchor = candidate;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Classes extends Walker {
+
+        private final Collection<Class<?>> classes;
+
+        Classes(Collection<Class<?>> classes) {
+            this.classes = classes;
+        }
+
+        @Override
+        boolean visitClass(Class<?> klass) {
+            classes.add(klass);
+            return true;
+        }
+
+        @Override
+        boolean visitClassLoader(ClassLoader classLoader) {
+            return true;
+        }
+    }
+
+    private static final class References extends Walker {
+
+        private final ClassLoader classLoader;
+        boolean found;
+
+        References(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        boolean visitClass(Class<?> klass) {
+            return visitClassLoader(klass.getClassLoader());
+        }
+
+        @Override
+        boolean visitClassLoader(ClassLoader classLoader) {
+            found |= isAncestor(this.classLoader, classLoader);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package org.codegeny.reflexio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Configuration of the caches used by reflexio.
+ * <p>
+ * By default, all caches are {@link #unbounded()}. The caching policy can be changed at any time with
+ * {@link #configure(CacheFactory)} (which drops all the cached entries). Built-in policies are:
+ * <ul>
+ * <li>{@link #unbounded()}: entries are stored alongside the classes they are about (via {@link ClassValue}), they are
+ * never evicted but never pin a class loader either (entries only about JDK classes are held by the cache itself so
+ * that they don't pin reflexio's own class loader).</li>
+ * <li>{@link #lru(int)}: each cache keeps at most the given number of entries. Entries are strongly referenced, use
+ * {@link #invalidate(ClassLoader)} when a class loader is discarded.</li>
+ * <li>{@link #weak()}: class loaders (and classes) are weakly referenced and entries are softly referenced.</li>
+ * <li>{@link #disabled()}: nothing is cached.</li>
+ * </ul>
+ * <p>
+ * When {@link #setDependencyTracking(boolean) dependency tracking} is enabled, each cached value remembers the
+ * classes it was derived from (the classes of its key, the hierarchies it walked and the dependencies of the other
+ * cached values it used) so that {@link #invalidate(Class[])} only evicts the entries affected by redefined or
+ * reloaded classes. Tracking is disabled by default as it costs a {@link ThreadLocal} lookup on every cache hit.
+ *
+ * @author Xavier DURY
+ */
+public final class Caches {
+
+    private static final Set<ManagedCache<?, ?>> CACHES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static volatile CacheFactory factory = unbounded();
+
+    /**
+     * Unbounded policy backed by {@link ClassValue}s.
+     *
+     * @return The cache factory.
+     */
+    public static CacheFactory unbounded() {
+        return new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                return new ClassValueCache<>();
+            }
+        };
+    }
+
+    /**
+     * Bounded policy evicting the least recently used entries.
+     *
+     * @param maximumSize The maximum number of entries per cache.
+     * @return The cache factory.
+     */
+    public static CacheFactory lru(int maximumSize) {
+        return new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                return new LruCache<>(maximumSize);
+            }
+        };
+    }
+
+    /**
+     * Policy with weakly referenced classes and class loaders and softly referenced entries.
+     *
+     * @return The cache factory.
+     */
+    public static CacheFactory weak() {
+        return new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                return new WeakCache<>();
+            }
+        };
+    }
+
+    /**
+     * Policy which does not cache anything.
+     *
+     * @return The cache factory.
+     */
+    public static CacheFactory disabled() {
+        return new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                return new Cache<K, V>() {
+
+                    @Override
+                    public V get(K key, Function<? super K, ? extends V> function) {
+                        return function.apply(key);
+                    }
+
+                    @Override
+                    public void invalidate(ClassLoader classLoader) {
+                    }
+
+                    @Override
+                    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+                    }
+
+                    @Override
+                    public void invalidateAll() {
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Replace the caches used by reflexio with new ones created by the given factory. All previously cached entries
+     * are dropped.
+     *
+     * @param factory The cache factory.
+     */
+    public static synchronized void configure(CacheFactory factory) {
+        Caches.factory = Objects.requireNonNull(factory);
+        for (ManagedCache<?, ?> cache : snapshot()) {
+            cache.reset(factory);
+        }
+        ClassNameCache.invalidateAll();
+    }
+
+    /**
+     * Remove all the cached entries which reference the given class loader (or any of its descendants). This should be
+     * called when a class loader is discarded (an application is undeployed, for example).
+     *
+     * @param classLoader The class loader.
+     */
+    public static void invalidate(ClassLoader classLoader) {
+        for (ManagedCache<?, ?> cache : snapshot()) {
+            cache.invalidate(classLoader);
+        }
+        ClassNameCache.invalidate(classLoader);
+    }
+
+    /**
+     * Remove the cached entries derived from the given classes, that is the entries about these classes and the
+     * entries about their subclasses, the members they declare or inherit... This should be called when classes are
+     * redefined (hot swap) or reloaded (in which case the previous versions should be passed).
+     * <p>
+     * Unrelated entries only stay cached when {@link #setDependencyTracking(boolean) dependency tracking} is enabled,
+     * otherwise all the entries are evicted. Entries which are being computed concurrently may still be cached from the
+     * previous definition.
+     * <p>
+     * The per-class metadata, supertype filters and {@link TypeLiteral} captures of the given classes are dropped as
+     * well. Those of their subclasses are kept: they only depend on the shape of the hierarchy which a redefinition
+     * cannot change (and a reloaded class gets its own).
+     *
+     * @param classes The redefined classes.
+     */
+    public static void invalidate(Class<?>... classes) {
+        Set<Class<?>> invalidated = CacheDependencies.newSet(Arrays.asList(classes));
+        for (Class<?> klass : invalidated) {
+            ClassMetadata.invalidate(klass);
+            SupertypeFilter.invalidate(klass);
+            TypeLiteral.invalidate(klass);
+        }
+        boolean tracked = CacheDependencies.isEnabled();
+        for (ManagedCache<?, ?> cache : snapshot()) {
+            if (tracked) {
+                cache.invalidate(invalidated);
+            } else {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached entries.
+     */
+    public static void invalidateAll() {
+        for (ManagedCache<?, ?> cache : snapshot()) {
+            cache.invalidateAll();
+        }
+        ClassNameCache.invalidateAll();
+    }
+
+    /**
+     * Enable or disable dependency tracking (disabled by default), which allows {@link #invalidate(Class[])} to only
+     * evict the entries derived from the given classes. Changing this setting drops all the cached entries (entries
+     * cached without tracking have no known dependencies).
+     *
+     * @param enabled True to enable tracking.
+     */
+    public static synchronized void setDependencyTracking(boolean enabled) {
+        if (CacheDependencies.isEnabled() != enabled) {
+            CacheDependencies.setEnabled(enabled);
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Set how long a class name which could not be loaded (by {@link Types#loadClass(String, ClassLoader)} or
+     * {@link Types#parseType(String, ClassLoader)}) is remembered as missing for a given class loader. The default is
+     * 10 seconds. Missing classes are remembered whatever the {@link #configure(CacheFactory) policy} (which only
+     * applies to the classes and types found).
+     *
+     * @param duration The duration (0 to disable caching of missing classes).
+     * @param unit     The unit of the duration.
+     */
+    public static void setClassNotFoundTimeToLive(long duration, TimeUnit unit) {
+        ClassNameCache.setMissTimeToLive(duration, unit);
+    }
+
+    /**
+     * Check if a cache key references the given class loader (or any of its descendants). This method is meant to
+     * help implementing {@link Cache#invalidate(ClassLoader)}.
+     *
+     * @param key         The cache key.
+     * @param classLoader The class loader.
+     * @return True if the key references the class loader.
+     */
+    public static boolean references(Object key, ClassLoader classLoader) {
+        return CacheKeys.references(key, classLoader);
+    }
+
+    /**
+     * Create a new cache managed by the current configuration.
+     *
+     * @param name The name of the cache.
+     * @param <K>  The key type.
+     * @param <V>  The value type.
+     * @return A new cache.
+     */
+    static synchronized <K, V> Cache<K, V> newCache(String name) {
+        ManagedCache<K, V> cache = new ManagedCache<>(name, factory);
+        CACHES.add(cache);
+        return cache;
+    }
+
+    private static Collection<ManagedCache<?, ?>> snapshot() {
+        synchronized (CACHES) {
+            return new ArrayList<>(CACHES);
+        }
+    }
+
+    private Caches() {
+        throw new InternalError();
+    }
+
+    /**
+     * A cached value with the classes it was derived from.
+     */
+    private static final class Tracked<V> {
+
+        static final Class<?>[] NO_DEPENDENCIES = new Class<?>[0];
+
+        final V value;
+        final Class<?>[] dependencies;
+
+        Tracked(V value, Class<?>[] dependencies) {
+            this.value = value;
+            this.dependencies = dependencies;
+        }
+
+        boolean dependsOn(Set<Class<?>> classes) {
+            for (Class<?> dependency : dependencies) {
+                if (classes.contains(dependency)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cache delegating to the cache created by the current factory and tracking the dependencies of its values.
+     */
+    private static final class ManagedCache<K, V> implements Cache<K, V> {
+
+        private static final Function<Object, Object> ABSENT = key -> null;
+
+        private final String name;
+        private volatile Cache<K, Tracked<V>> delegate;
+
+        ManagedCache(String name, CacheFactory factory) {
+            this.name = name;
+            this.delegate = Objects.requireNonNull(factory.newCache(name));
+        }
+
+        void reset(CacheFactory factory) {
+            Cache<K, Tracked<V>> previous = delegate;
+            delegate = Objects.requireNonNull(factory.newCache(name));
+            previous.invalidateAll();
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> function) {
+            Cache<K, Tracked<V>> delegate = this.delegate;
+            // look for a hit without allocating the computing function
+            Tracked<V> tracked = delegate.get(key, absent());
+            if (tracked == null) {
+                tracked = compute(delegate, key, function);
+            }
+            if (tracked == null) {
+                return null;
+            }
+            CacheDependencies.recordAll(tracked.dependencies);
+            return tracked.value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, T> Function<K, T> absent() {
+            return (Function<K, T>) ABSENT;
+        }
+
+        private Tracked<V> compute(Cache<K, Tracked<V>> delegate, K key, Function<? super K, ? extends V> function) {
+            if (!CacheDependencies.isEnabled()) {
+                return delegate.get(key, k -> {
+                    V value = function.apply(k);
+                    return value == null ? null : new Tracked<>(value, Tracked.NO_DEPENDENCIES);
+                });
+            }
+            return delegate.get(key, k -> {
+                Set<Class<?>> dependencies = CacheDependencies.newSet();
+                V value = CacheDependencies.track(dependencies, () -> function.apply(k));
+                CacheKeys.classes(k, dependencies);
+                return value == null ? null : new Tracked<>(value, dependencies.toArray(new Class<?>[0]));
+            });
+        }
+
+        @Override
+        public void invalidate(ClassLoader classLoader) {
+            delegate.invalidate(classLoader);
+        }
+
+        void invalidate(Set<Class<?>> classes) {
+            delegate.invalidateIf((key, tracked) -> tracked.dependsOn(classes));
+        }
+
+        @Override
+        public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+            delegate.invalidateIf((key, tracked) -> predicate.test(key, tracked.value));
+        }
+
+        @Override
+        public void invalidateAll() {
+            delegate.invalidateAll();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Symbolic description of a class: its type parameters (with their bounds), generic superclass and generic interfaces.
+ * All types are symbolic (see {@link SymbolicTypes}). The arrays given to the constructor are not copied and must not
+ * be modified afterwards.
+ *
+ * @author Xavier DURY
+ * @see ClassMetadataProvider
+ */
+public final class ClassDescriptor {
+
+    private static final Type[] OBJECT_BOUNDS = {ClassName.OBJECT};
+
+    private final String name;
+    private final boolean isInterface;
+    private final TypeVariableName[] typeParameters;
+    private final Type[][] bounds;
+    private final Type superclass;
+    private final Type[] interfaces;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * @param name           The binary name of the class.
+     * @param isInterface    True if the class is an interface.
+     * @param typeParameters The type parameters.
+     * @param bounds         The bounds of each type parameter (an empty array means <code>java.lang.Object</code>).
+     * @param superclass     The generic superclass (<code>null</code> for interfaces and <code>java.lang.Object</code>).
+     * @param interfaces     The generic interfaces.
+     */
+    public ClassDescriptor(String name, boolean isInterface, TypeVariableName[] typeParameters, Type[][] bounds, Type superclass, Type[] interfaces) {
+        if (typeParameters.length != bounds.length) {
+            throw new IllegalArgumentException("There must be as many bounds as type parameters");
+        }
+        this.name = Objects.requireNonNull(name);
+        this.isInterface = isInterface;
+        this.typeParameters = typeParameters;
+        this.bounds = bounds;
+        this.superclass = superclass;
+        this.interfaces = Objects.requireNonNull(interfaces);
+        for (int i = 0; i < typeParameters.length; i++) {
+            indexes.put(typeParameters[i].getName(), i);
+        }
+    }
+
+    /**
+     * Descriptor for a non-generic class.
+     *
+     * @param name        The binary name of the class.
+     * @param isInterface True if the class is an interface.
+     * @param superclass  The superclass (<code>null</code> for interfaces and <code>java.lang.Object</code>).
+     * @param interfaces  The interfaces.
+     */
+    public ClassDescriptor(String name, boolean isInterface, Type superclass, Type... interfaces) {
+        this(name, isInterface, new TypeVariableName[0], new Type[0][], superclass, interfaces);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isInterface() {
+        return isInterface;
+    }
+
+    public TypeVariableName[] getTypeParameters() {
+        return typeParameters.clone();
+    }
+
+    public Type getSuperclass() {
+        return superclass;
+    }
+
+    public Type[] getInterfaces() {
+        return interfaces.clone();
+    }
+
+    TypeVariableName[] typeParameters() {
+        return typeParameters;
+    }
+
+    Type[] interfaces() {
+        return interfaces;
+    }
+
+    Type[] bounds(String typeParameter) {
+        Integer index = indexes.get(typeParameter);
+        return index == null || bounds[index].length == 0 ? OBJECT_BOUNDS : bounds[index];
+    }
+
+    int indexOfTypeParameter(String name) {
+        return indexes.getOrDefault(name, -1);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,409 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal class file reader (JVMS 4) which only extracts what the symbolic type model needs: the class name, superclass,
+ * interfaces, <code>Signature</code> and <code>RuntimeVisibleAnnotations</code> attributes (of the class and its
+ * members), <code>InnerClasses</code> and <code>EnclosingMethod</code> attributes (to find which class or method
+ * declares the type variables used by nested classes). Everything else (code, constant values, debug
+ * attributes...) is skipped without being decoded. Only the
+ * constant pool entries which are actually used are decoded.
+ *
+ * @author Xavier DURY
+ */
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_STATIC = 0x0008;
+
+    /**
+     * What was read from a class file.
+     */
+    static final class ClassFile {
+
+        final ClassDescriptor descriptor;
+        final Annotations annotations;
+        final Map<String, Annotations> memberAnnotations;
+        final String repeatableContainerName;
+
+        ClassFile(ClassDescriptor descriptor, Annotations annotations, Map<String, Annotations> memberAnnotations, String repeatableContainerName) {
+            this.descriptor = descriptor;
+            this.annotations = annotations;
+            this.memberAnnotations = memberAnnotations;
+            this.repeatableContainerName = repeatableContainerName;
+        }
+    }
+
+    /**
+     * The annotation types of a <code>RuntimeVisibleAnnotations</code> attribute and, by annotation type, the types
+     * of the annotations found in its <code>value</code> array. The latter are only present if the annotation is their
+     * repeatable container, which can't be told from this class file alone.
+     */
+    static final class Annotations {
+
+        static final Annotations NONE = new Annotations(Collections.emptyList(), Collections.emptyMap());
+
+        final List<String> typeNames;
+        final Map<String, List<String>> containedTypeNames;
+
+        Annotations(List<String> typeNames, Map<String, List<String>> containedTypeNames) {
+            this.typeNames = typeNames;
+            this.containedTypeNames = containedTypeNames;
+        }
+    }
+
+    /**
+     * Read a class file. The buffer position is left unspecified.
+     *
+     * @param buffer The class file content (from its position to its limit).
+     * @return The class file.
+     * @throws IllegalArgumentException If the content is not a valid class file.
+     */
+    static ClassFile read(ByteBuffer buffer) {
+        try {
+            return new ClassFileReader(buffer.slice()).read();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed class file", e);
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private int[] offsets;
+    private String[] strings;
+    private final Map<String, String> owners = new HashMap<>();
+    private String name;
+    private String outerName;
+    private String enclosingClassName;
+    private String enclosingMethodName;
+    private String repeatableContainerName;
+
+    private ClassFileReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    private ClassFile read() {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        buffer.position(buffer.position() + 4); // minor_version, major_version
+        readConstantPool();
+
+        int accessFlags = u2();
+        name = className(u2());
+        int superIndex = u2();
+        String superName = superIndex == 0 ? null : className(superIndex);
+        Type[] interfaces = new Type[u2()];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = SymbolicTypes.className(className(u2()));
+        }
+
+        Map<String, Annotations> memberAnnotations = new LinkedHashMap<>();
+        readMembers(memberAnnotations, false);
+        readMembers(memberAnnotations, true);
+
+        String signature = null;
+        Annotations annotations = Annotations.NONE;
+        for (int i = u2(); i > 0; i--) {
+            String attributeName = utf8(u2());
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            switch (attributeName) {
+                case "Signature":
+                    signature = utf8(u2());
+                    break;
+                case "RuntimeVisibleAnnotations":
+                    annotations = readAnnotations();
+                    break;
+                case "InnerClasses":
+                    readInnerClasses();
+                    break;
+                case "EnclosingMethod":
+                    readEnclosingMethod();
+                    break;
+                default:
+            }
+            buffer.position(end);
+        }
+
+        boolean isInterface = (accessFlags & ACC_INTERFACE) != 0;
+        ClassDescriptor descriptor;
+        if (signature == null) {
+            descriptor = new ClassDescriptor(name, isInterface, isInterface || superName == null ? null : SymbolicTypes.className(superName), interfaces);
+        } else {
+            SignatureParser.ClassSignature classSignature = new SignatureParser(signature, new SymbolicResolver()).parseClassSignature();
+            TypeVariableName[] typeParameters = new TypeVariableName[classSignature.typeParameters.length];
+            for (int i = 0; i < typeParameters.length; i++) {
+                typeParameters[i] = SymbolicTypes.typeVariable(classSignature.typeParameters[i], name);
+            }
+            descriptor = new ClassDescriptor(name, isInterface, typeParameters, classSignature.bounds, isInterface || superName == null ? null : classSignature.superclass, classSignature.interfaces);
+        }
+        return new ClassFile(descriptor, annotations, memberAnnotations, repeatableContainerName);
+    }
+
+    private void readConstantPool() {
+        int count = u2();
+        offsets = new int[count];
+        strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            offsets[i] = buffer.position();
+            int tag = buffer.get();
+            switch (tag) {
+                case 1: { // Utf8
+                    int length = u2();
+                    buffer.position(buffer.position() + length);
+                    break;
+                }
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    buffer.position(buffer.position() + 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    buffer.position(buffer.position() + 8);
+                    i++;
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    buffer.position(buffer.position() + 2);
+                    break;
+                case 15: // MethodHandle
+                    buffer.position(buffer.position() + 3);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    /**
+     * Fields are keyed by their name, methods by their name and descriptor (<code>name(Ljava/lang/String;)V</code>).
+     */
+    private void readMembers(Map<String, Annotations> memberAnnotations, boolean methods) {
+        for (int i = u2(); i > 0; i--) {
+            buffer.position(buffer.position() + 2); // access_flags
+            int nameIndex = u2();
+            int descriptorIndex = u2();
+            for (int j = u2(); j > 0; j--) {
+                int attributeNameIndex = u2();
+                int length = buffer.getInt();
+                int end = buffer.position() + length;
+                if (utf8(attributeNameIndex).equals("RuntimeVisibleAnnotations")) {
+                    String key = methods ? utf8(nameIndex).concat(utf8(descriptorIndex)) : utf8(nameIndex);
+                    memberAnnotations.put(key, readAnnotations());
+                }
+                buffer.position(end);
+            }
+        }
+    }
+
+    /**
+     * Annotations found in the <code>value</code> array of an annotation (the contents of a repeatable container) are
+     * recorded apart, other nested annotations are skipped. The container of a repeatable annotation type (the value of
+     * its <code>@Repeatable</code>) is recorded as well.
+     */
+    private Annotations readAnnotations() {
+        List<String> typeNames = new ArrayList<>();
+        Map<String, List<String>> containedTypeNames = new LinkedHashMap<>();
+        for (int i = u2(); i > 0; i--) {
+            String typeName = binaryName(utf8(u2()));
+            if (!typeNames.contains(typeName)) {
+                typeNames.add(typeName);
+            }
+            for (int j = u2(); j > 0; j--) {
+                boolean value = utf8(u2()).equals("value");
+                char tag = (char) buffer.get();
+                if (value && tag == '[') {
+                    for (int k = u2(); k > 0; k--) {
+                        if (buffer.get() == '@') {
+                            List<String> contained = containedTypeNames.computeIfAbsent(typeName, key -> new ArrayList<>());
+                            String containedTypeName = binaryName(utf8(u2(buffer.position())));
+                            if (!contained.contains(containedTypeName)) {
+                                contained.add(containedTypeName);
+                            }
+                            skipAnnotation();
+                        } else {
+                            buffer.position(buffer.position() - 1);
+                            skipElementValue();
+                        }
+                    }
+                } else if (value && tag == 'c' && typeName.equals("java.lang.annotation.Repeatable")) {
+                    repeatableContainerName = binaryName(utf8(u2()));
+                } else {
+                    buffer.position(buffer.position() - 1);
+                    skipElementValue();
+                }
+            }
+        }
+        return typeNames.isEmpty() ? Annotations.NONE : new Annotations(Collections.unmodifiableList(typeNames), Collections.unmodifiableMap(containedTypeNames));
+    }
+
+    private void skipAnnotation() {
+        buffer.position(buffer.position() + 2); // type_index
+        for (int i = u2(); i > 0; i--) {
+            buffer.position(buffer.position() + 2); // element_name_index
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        char tag = (char) buffer.get();
+        switch (tag) {
+            case 'e':
+                buffer.position(buffer.position() + 4);
+                break;
+            case '@':
+                skipAnnotation();
+                break;
+            case '[':
+                for (int i = u2(); i > 0; i--) {
+                    skipElementValue();
+                }
+                break;
+            default: // constants and classes
+                buffer.position(buffer.position() + 2);
+        }
+    }
+
+    private void readInnerClasses() {
+        for (int i = u2(); i > 0; i--) {
+            int innerIndex = u2();
+            int outerIndex = u2();
+            buffer.position(buffer.position() + 2); // inner_name_index
+            int flags = u2();
+            if (outerIndex != 0) {
+                String inner = className(innerIndex);
+                String outer = className(outerIndex);
+                owners.put(inner, outer);
+                if (inner.equals(name) && (flags & ACC_STATIC) == 0) {
+                    outerName = outer;
+                }
+            }
+        }
+    }
+
+    /**
+     * Local and anonymous classes: the enclosing method is keyed by its name and descriptor (and is absent when the
+     * class is declared in an initializer).
+     */
+    private void readEnclosingMethod() {
+        enclosingClassName = className(u2());
+        int methodIndex = u2();
+        if (methodIndex != 0) {
+            int offset = offsets[methodIndex];
+            enclosingMethodName = utf8(u2(offset + 1)).concat(utf8(u2(offset + 3)));
+        }
+    }
+
+    private String className(int index) {
+        return utf8(u2(offsets[index] + 1)).replace('/', '.');
+    }
+
+    private static String binaryName(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    private int u2() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private int u2(int position) {
+        return buffer.getShort(position) & 0xFFFF;
+    }
+
+    /**
+     * Decode a (modified UTF-8) constant, ASCII being the fast path.
+     */
+    private String utf8(int index) {
+        String result = strings[index];
+        if (result == null) {
+            int offset = offsets[index];
+            int length = u2(offset + 1);
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + 3 + i);
+            }
+            strings[index] = result = decode(bytes);
+        }
+        return result;
+    }
+
+    private static String decode(byte[] bytes) {
+        int i = 0;
+        while (i < bytes.length && bytes[i] >= 0) {
+            i++;
+        }
+        if (i == bytes.length) {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[bytes.length];
+        int length = 0;
+        for (i = 0; i < bytes.length; ) {
+            int b = bytes[i++] & 0xFF;
+            if (b < 0x80) {
+                chars[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[length++] = (char) ((b & 0x1F) << 6 | bytes[i++] & 0x3F);
+            } else {
+                chars[length++] = (char) ((b & 0x0F) << 12 | (bytes[i++] & 0x3F) << 6 | bytes[i++] & 0x3F);
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Type variables which are not declared by the class itself are assumed to be declared by the enclosing class for
+     * inner classes and by the enclosing method for local and anonymous classes (by the enclosing class when declared
+     * in an initializer). Type variables of an enclosing class used in the methods of a local class can then be
+     * mistaken for type variables of the enclosing method: which one is used can't be told from the class file of the
+     * local class alone.
+     */
+    private final class SymbolicResolver implements SignatureParser.Resolver {
+
+        @Override
+        public Type resolveClass(String binaryName) {
+            return SymbolicTypes.className(binaryName);
+        }
+
+        @Override
+        public Type resolveOwner(String binaryName) {
+            String owner = owners.get(binaryName);
+            return owner == null ? null : SymbolicTypes.className(owner);
+        }
+
+        @Override
+        public Type resolveTypeVariable(String variableName, boolean declared) {
+            if (declared) {
+                return SymbolicTypes.typeVariable(variableName, name);
+            }
+            if (outerName == null && enclosingClassName != null) {
+                return SymbolicTypes.typeVariable(variableName, enclosingClassName, enclosingMethodName);
+            }
+            return SymbolicTypes.typeVariable(variableName, outerName);
+        }
+
+        @Override
+        public Type newWildcardType(Type[] lowerBounds, Type[] upperBounds) {
+            return SymbolicTypes.newWildcardType(lowerBounds, upperBounds);
+        }
+    }
+}
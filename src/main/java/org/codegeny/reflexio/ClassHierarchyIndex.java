@@ -0,0 +1,284 @@
+package org.codegeny.reflexio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Repeatable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * {@link ClassMetadataProvider} built by reading class files from directories and jars, without loading any class.
+ * Only the hierarchy (<code>Signature</code>, superclass and interfaces) and the annotation type names are kept, which
+ * is enough to run {@link SymbolicTypes} queries over a whole classpath.
+ *
+ * <pre>
+ * ClassHierarchyIndex index = ClassHierarchyIndex.scan(Paths.get("target/classes"), Paths.get("lib/foo.jar"));
+ * SymbolicTypes types = new SymbolicTypes(index);
+ * types.resolveTypeArguments(SymbolicTypes.className("com.acme.MyConverter"), "com.acme.Converter");
+ * </pre>
+ * <p>
+ * Class files are parsed in parallel. Large class files from directories are memory-mapped, small ones (the vast
+ * majority) are read in a single call as mapping a file costs more than reading a few kilobytes. Like on a classpath,
+ * the first root declaring a class wins. Entries which are not valid class files are skipped and reported by
+ * {@link #getFailures()}.
+ *
+ * @author Xavier DURY
+ */
+public final class ClassHierarchyIndex implements ClassMetadataProvider {
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final long MAPPING_THRESHOLD = 16 * 1024;
+
+    /**
+     * Scan directories and jars.
+     *
+     * @param roots The directories and jars.
+     * @return The index.
+     * @throws UncheckedIOException If a root cannot be read.
+     */
+    public static ClassHierarchyIndex scan(Path... roots) {
+        return scan(Arrays.asList(roots));
+    }
+
+    /**
+     * Scan directories and jars.
+     *
+     * @param roots The directories and jars (in classpath order).
+     * @return The index.
+     * @throws UncheckedIOException If a root cannot be read.
+     */
+    public static ClassHierarchyIndex scan(Collection<Path> roots) {
+        Map<String, ClassFileReader.ClassFile> classes = new HashMap<>();
+        ConcurrentMap<String, IllegalArgumentException> failures = new ConcurrentHashMap<>();
+        for (Path root : roots) {
+            ConcurrentMap<String, ClassFileReader.ClassFile> scanned = new ConcurrentHashMap<>();
+            try {
+                if (Files.isDirectory(root)) {
+                    scanDirectory(root, scanned, failures);
+                } else if (Files.isRegularFile(root)) {
+                    scanJar(root, scanned, failures);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            scanned.forEach(classes::putIfAbsent);
+        }
+        return new ClassHierarchyIndex(classes, new TreeMap<>(failures));
+    }
+
+    /**
+     * Index class files which are already in memory.
+     *
+     * @param classFiles The class file contents.
+     * @return The index.
+     * @throws IllegalArgumentException If one of the buffers is not a valid class file.
+     */
+    public static ClassHierarchyIndex of(Collection<ByteBuffer> classFiles) {
+        Map<String, ClassFileReader.ClassFile> classes = new HashMap<>();
+        for (ByteBuffer classFile : classFiles) {
+            ClassFileReader.ClassFile read = ClassFileReader.read(classFile);
+            classes.putIfAbsent(read.descriptor.getName(), read);
+        }
+        return new ClassHierarchyIndex(classes, Collections.emptyMap());
+    }
+
+    private static void scanDirectory(Path root, ConcurrentMap<String, ClassFileReader.ClassFile> scanned, ConcurrentMap<String, IllegalArgumentException> failures) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(path -> isClassFile(root.relativize(path).toString().replace('\\', '/'))).collect(Collectors.toList());
+        }
+        files.parallelStream().forEach(file -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                ByteBuffer buffer;
+                if (size > MAPPING_THRESHOLD) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                } else {
+                    buffer = ByteBuffer.allocate((int) size);
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // keep reading
+                    }
+                    buffer.flip();
+                }
+                add(buffer, scanned, file.toString(), failures);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void scanJar(Path jar, ConcurrentMap<String, ClassFileReader.ClassFile> scanned, ConcurrentMap<String, IllegalArgumentException> failures) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            zipFile.stream().parallel().filter(entry -> !entry.isDirectory() && isClassFile(entry.getName())).forEach(entry -> {
+                try (InputStream input = zipFile.getInputStream(entry)) {
+                    add(ByteBuffer.wrap(readFully(input, entry)), scanned, jar + "!/" + entry.getName(), failures);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static byte[] readFully(InputStream input, ZipEntry entry) throws IOException {
+        byte[] bytes = new byte[entry.getSize() >= 0 ? (int) entry.getSize() : 8192];
+        int length = 0;
+        int read;
+        while ((read = input.read(bytes, length, bytes.length - length)) >= 0) {
+            length += read;
+            if (length == bytes.length) {
+                int next = input.read();
+                if (next < 0) {
+                    break;
+                }
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                bytes[length++] = (byte) next;
+            }
+        }
+        return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Multi-release versions and module descriptors are skipped. Package descriptors are kept (as
+     * <code>package-info</code> classes) for their annotations.
+     */
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_SUFFIX)
+                && !name.startsWith("META-INF/")
+                && !name.endsWith("module-info.class");
+    }
+
+    private static void add(ByteBuffer buffer, ConcurrentMap<String, ClassFileReader.ClassFile> scanned, String location, ConcurrentMap<String, IllegalArgumentException> failures) {
+        ClassFileReader.ClassFile classFile;
+        try {
+            classFile = ClassFileReader.read(buffer);
+        } catch (IllegalArgumentException e) {
+            failures.put(location, e);
+            return;
+        }
+        scanned.putIfAbsent(classFile.descriptor.getName(), classFile);
+    }
+
+    private final Map<String, ClassFileReader.ClassFile> classes;
+    private final Map<String, IllegalArgumentException> failures;
+    private final ConcurrentMap<String, Optional<String>> liveRepeatableContainerNames = new ConcurrentHashMap<>();
+
+    private ClassHierarchyIndex(Map<String, ClassFileReader.ClassFile> classes, Map<String, IllegalArgumentException> failures) {
+        this.classes = classes;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    @Override
+    public ClassDescriptor describe(String className) {
+        ClassFileReader.ClassFile classFile = classes.get(className);
+        return classFile == null ? null : classFile.descriptor;
+    }
+
+    /**
+     * @return The binary names of all the indexed classes.
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(classes.keySet());
+    }
+
+    /**
+     * Get the names of the annotation types present on a class (as in its <code>RuntimeVisibleAnnotations</code>
+     * attribute, so not inherited ones) including repeatable annotations found in their container. Like
+     * {@link Types#collect(java.lang.reflect.AnnotatedElement, Class)}, an annotation in the <code>value</code> array of
+     * another one is only included if its type is {@link Repeatable} with the latter as container. That is read from
+     * the annotation type's class file when it is indexed, otherwise the annotation type is loaded (from the context
+     * class loader) and assumed not repeatable if it can't be. Package annotations are found on the
+     * <code>package-info</code> class of the package.
+     *
+     * @param className The binary name of the class.
+     * @return The annotation type names (empty if the class is unknown).
+     */
+    public List<String> getAnnotationTypeNames(String className) {
+        ClassFileReader.ClassFile classFile = classes.get(className);
+        return classFile == null ? Collections.emptyList() : present(classFile.annotations);
+    }
+
+    /**
+     * Fields are keyed by their name, methods and constructors by their name and descriptor. Contained annotations are
+     * included as in {@link #getAnnotationTypeNames(String)}.
+     */
+    Map<String, List<String>> getMemberAnnotationTypeNames(String className) {
+        ClassFileReader.ClassFile classFile = classes.get(className);
+        if (classFile == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        classFile.memberAnnotations.forEach((key, annotations) -> result.put(key, present(annotations)));
+        return result;
+    }
+
+    private List<String> present(ClassFileReader.Annotations annotations) {
+        if (annotations.containedTypeNames.isEmpty()) {
+            return annotations.typeNames;
+        }
+        List<String> result = new ArrayList<>(annotations.typeNames);
+        annotations.containedTypeNames.forEach((containerName, containedTypeNames) -> {
+            for (String containedTypeName : containedTypeNames) {
+                if (!result.contains(containedTypeName) && containerName.equals(repeatableContainerName(containedTypeName))) {
+                    result.add(containedTypeName);
+                }
+            }
+        });
+        return Collections.unmodifiableList(result);
+    }
+
+    private String repeatableContainerName(String annotationTypeName) {
+        ClassFileReader.ClassFile classFile = classes.get(annotationTypeName);
+        if (classFile != null) {
+            return classFile.repeatableContainerName;
+        }
+        return liveRepeatableContainerNames.computeIfAbsent(annotationTypeName, ClassHierarchyIndex::loadRepeatableContainerName).orElse(null);
+    }
+
+    private static Optional<String> loadRepeatableContainerName(String annotationTypeName) {
+        try {
+            Repeatable repeatable = Types.loadClass(annotationTypeName).getAnnotation(Repeatable.class);
+            return Optional.ofNullable(repeatable).map(r -> r.value().getName());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get the entries which were skipped while scanning because they are not valid class files.
+     *
+     * @return The reason of each failure by location (file path or <code>jar!/entry</code>), sorted by location.
+     */
+    public Map<String, IllegalArgumentException> getFailures() {
+        return failures;
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassHierarchyIndex[" + classes.size() + " classes]";
+    }
+}
@@ -0,0 +1,158 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Snapshot of the generic metadata of a class. The JDK clones the arrays returned by
+ * {@link Class#getTypeParameters()}, {@link Class#getGenericInterfaces()}, {@link Class#getInterfaces()} and
+ * {@link TypeVariable#getBounds()} on each call, this class keeps a single copy of them per class.
+ * <p>
+ * All the arrays exposed by this class are shared and <strong>must not be modified</strong>.
+ *
+ * @author Xavier DURY
+ */
+final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> klass;
+    private final Class<?> superclass;
+    private final Type genericSuperclass;
+    private final Class<?>[] interfaces;
+    private final Type[] genericInterfaces;
+    private final TypeVariableMetadata typeParameters;
+    private final ConcurrentMap<Executable, TypeVariableMetadata> executables = new ConcurrentHashMap<>();
+
+    private ClassMetadata(Class<?> klass) {
+        this.klass = klass;
+        this.superclass = klass.getSuperclass();
+        this.genericSuperclass = klass.getGenericSuperclass();
+        this.interfaces = klass.getInterfaces();
+        this.genericInterfaces = klass.getGenericInterfaces();
+        this.typeParameters = new TypeVariableMetadata(klass.getTypeParameters());
+    }
+
+    /**
+     * Get the metadata of the given class.
+     *
+     * @param klass The class.
+     * @return The (cached) metadata.
+     */
+    static ClassMetadata of(Class<?> klass) {
+        CacheDependencies.record(klass);
+        return METADATA.get(klass);
+    }
+
+    /**
+     * Drop the metadata of the given class (after it has been redefined).
+     *
+     * @param klass The class.
+     */
+    static void invalidate(Class<?> klass) {
+        METADATA.remove(klass);
+    }
+
+    /**
+     * Get the type parameters metadata of the given generic declaration (class, method or constructor).
+     *
+     * @param declaration The generic declaration.
+     * @return The (cached) type parameters metadata.
+     */
+    static TypeVariableMetadata of(GenericDeclaration declaration) {
+        if (declaration instanceof Class<?>) {
+            return of((Class<?>) declaration).typeParameters;
+        }
+        if (declaration instanceof Executable) {
+            Executable executable = (Executable) declaration;
+            return of(executable.getDeclaringClass()).executables.computeIfAbsent(executable, e -> new TypeVariableMetadata(e.getTypeParameters()));
+        }
+        return new TypeVariableMetadata(declaration.getTypeParameters());
+    }
+
+    /**
+     * Get the (shared) bounds of a type variable.
+     *
+     * @param typeVariable The type variable.
+     * @return The bounds.
+     */
+    static Type[] bounds(TypeVariable<?> typeVariable) {
+        TypeVariableMetadata metadata = of(typeVariable.getGenericDeclaration());
+        int index = metadata.indexOf(typeVariable.getName());
+        return index < 0 ? typeVariable.getBounds() : metadata.bounds(index);
+    }
+
+    Class<?> getType() {
+        return klass;
+    }
+
+    Class<?> getSuperclass() {
+        return superclass;
+    }
+
+    Type getGenericSuperclass() {
+        return genericSuperclass;
+    }
+
+    Class<?>[] getInterfaces() {
+        return interfaces;
+    }
+
+    Type[] getGenericInterfaces() {
+        return genericInterfaces;
+    }
+
+    TypeVariable<?>[] getTypeParameters() {
+        return typeParameters.getTypeParameters();
+    }
+
+    int indexOfTypeParameter(String name) {
+        return typeParameters.indexOf(name);
+    }
+
+    /**
+     * Type parameters of a generic declaration with their bounds and a name -> index map.
+     */
+    static final class TypeVariableMetadata {
+
+        private final TypeVariable<?>[] typeParameters;
+        private final Type[][] bounds;
+        private final Map<String, Integer> indexes;
+
+        TypeVariableMetadata(TypeVariable<?>[] typeParameters) {
+            this.typeParameters = typeParameters;
+            this.bounds = new Type[typeParameters.length][];
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < typeParameters.length; i++) {
+                bounds[i] = typeParameters[i].getBounds();
+                indexes.put(typeParameters[i].getName(), i);
+            }
+            this.indexes = Collections.unmodifiableMap(indexes);
+        }
+
+        TypeVariable<?>[] getTypeParameters() {
+            return typeParameters;
+        }
+
+        Type[] bounds(int index) {
+            return bounds[index];
+        }
+
+        int indexOf(String name) {
+            return indexes.getOrDefault(name, -1);
+        }
+    }
+}
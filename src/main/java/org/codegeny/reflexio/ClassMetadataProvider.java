@@ -0,0 +1,37 @@
+package org.codegeny.reflexio;
+
+/**
+ * Provides symbolic {@link ClassDescriptor}s from class names, without requiring those classes to be loaded (from
+ * class files for example).
+ *
+ * @author Xavier DURY
+ * @see SymbolicTypes
+ */
+@FunctionalInterface
+public interface ClassMetadataProvider {
+
+    /**
+     * Describe a class.
+     *
+     * @param className The binary name of the class.
+     * @return The descriptor or <code>null</code> if the class is unknown.
+     */
+    ClassDescriptor describe(String className);
+
+    /**
+     * Provider which loads classes (through {@link Types#loadClass(String, ClassLoader)}) and describes them with
+     * reflection. Mostly useful to mix symbolic types with already loaded classes.
+     *
+     * @param classLoader The class loader.
+     * @return The provider.
+     */
+    static ClassMetadataProvider reflection(ClassLoader classLoader) {
+        return className -> {
+            try {
+                return SymbolicTypes.describe(Types.loadClass(className, classLoader));
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+/**
+ * Symbolic (not loaded) class or primitive type, identified by its binary name (as returned by {@link Class#getName()},
+ * for example <code>java.util.Map$Entry</code> or <code>int</code>). Arrays are represented with
+ * {@link java.lang.reflect.GenericArrayType}s.
+ *
+ * @author Xavier DURY
+ * @see SymbolicTypes
+ */
+public final class ClassName implements Type {
+
+    public static final ClassName OBJECT = new ClassName("java.lang.Object");
+
+    private final String name;
+
+    ClassName(String name) {
+        this.name = Objects.requireNonNull(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getTypeName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return super.equals(that) || that instanceof ClassName && name.equals(((ClassName) that).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
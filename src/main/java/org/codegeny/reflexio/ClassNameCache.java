@@ -0,0 +1,233 @@
+package org.codegeny.reflexio;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache of class name -&gt; {@link Class} and of parsed type names (see {@link Types#parseType(String, ClassLoader)}),
+ * per class loader. Each class loader gets its own {@link Caches#newCache(String) managed caches} (named
+ * <code>loadClass</code> and <code>parseType</code>, keyed by name) so they follow the configured policy: they are
+ * bounded by {@link Caches#lru(int)} (per class loader), bypassed by {@link Caches#disabled()}... Class loaders are
+ * weakly referenced (and looked up without locking) and nothing cached for a class loader references it back, so they
+ * are never pinned: classes are weakly referenced (a class cannot be unloaded while the class loader used to look it
+ * up is reachable anyway) and a parsed type which references classes not visible from reflexio is weakly referenced as
+ * well and kept alive alongside its {@link CacheKeys#anchor(Object) anchor} class (thanks to a {@link ClassValue}) for
+ * as long as its cache entry exists.
+ * <p>
+ * Classes which could not be found are not cached by the policy but remembered for a limited amount of time (as they
+ * may become available later on, see {@link Caches#setClassNotFoundTimeToLive(long, TimeUnit)}). Expired misses are
+ * dropped when they are read and at most {@value #MAXIMUM_MISSES} misses are kept per class loader (the oldest ones
+ * being evicted first), so looking up untrusted names cannot grow them forever.
+ *
+ * @author Xavier DURY
+ */
+final class ClassNameCache {
+
+    static final int MAXIMUM_MISSES = 1024;
+
+    private static final Function<Object, Object> ABSENT = key -> null;
+    private static final WeakIdentityMap<ClassLoader, Scope> SCOPES = new WeakIdentityMap<>();
+    private static final Scope BOOTSTRAP = new Scope();
+    private static final Set<Class<?>> RETAINING_CLASSES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ClassValue<Map<Parsed, Type>> RETAINED_TYPES = new ClassValue<Map<Parsed, Type>>() {
+
+        @Override
+        protected Map<Parsed, Type> computeValue(Class<?> type) {
+            RETAINING_CLASSES.add(type);
+            return Collections.synchronizedMap(new WeakHashMap<>());
+        }
+    };
+    private static volatile long missTimeToLive = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Load a class through the cache.
+     *
+     * @param name        The class name.
+     * @param classLoader The class loader (<code>null</code> for the bootstrap class loader).
+     * @return The class.
+     * @throws ClassNotFoundException If the class cannot be found (or could not be found recently).
+     */
+    static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
+        Scope scope = scope(classLoader);
+        Hit hit = scope.classes.get(name, absent());
+        Class<?> klass = hit == null ? null : hit.get();
+        if (klass != null) {
+            return klass;
+        }
+        Long time = scope.misses.get(name);
+        if (time != null) {
+            if (System.nanoTime() - time < missTimeToLive) {
+                throw new ClassNotFoundException(name);
+            }
+            scope.misses.remove(name, time);
+        }
+        try {
+            klass = classLoader == null ? Class.forName(name, false, null) : classLoader.loadClass(name);
+        } catch (ClassNotFoundException e) {
+            if (missTimeToLive > 0) {
+                scope.addMiss(name);
+            }
+            throw e;
+        }
+        Hit loaded = new Hit(klass);
+        scope.classes.get(name, key -> loaded);
+        return klass;
+    }
+
+    /**
+     * Parse a type name through the cache.
+     *
+     * @param typeName    The type name.
+     * @param classLoader The class loader (<code>null</code> for the bootstrap class loader).
+     * @param parser      The parser (only called on misses, with the type name and the class loader).
+     * @return The type.
+     */
+    static Type parseType(String typeName, ClassLoader classLoader, BiFunction<String, ClassLoader, Type> parser) {
+        Scope scope = scope(classLoader);
+        Type type = unwrap(scope.types.get(typeName, absent()));
+        if (type == null) {
+            // parsed outside of the cache so that the entry does not depend on the classes it references (their
+            // redefinition can't change which classes a name resolves to)
+            type = parser.apply(typeName, classLoader);
+            Object anchor = CacheKeys.anchor(type);
+            if (anchor instanceof Class<?>) {
+                Object entry = wrap(type, (Class<?>) anchor);
+                Type cached = unwrap(scope.types.get(typeName, key -> entry));
+                if (cached != null) {
+                    type = cached;
+                }
+            }
+        }
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Function<K, V> absent() {
+        return (Function<K, V>) ABSENT;
+    }
+
+    private static Object wrap(Type type, Class<?> anchor) {
+        if (CacheKeys.isAncestor(anchor.getClassLoader(), ClassNameCache.class.getClassLoader())) {
+            return type;
+        }
+        Parsed parsed = new Parsed(type);
+        if (type != anchor) {
+            RETAINED_TYPES.get(anchor).put(parsed, type);
+        }
+        return parsed;
+    }
+
+    private static Type unwrap(Object entry) {
+        return entry instanceof Parsed ? ((Parsed) entry).get() : (Type) entry;
+    }
+
+    private static Scope scope(ClassLoader classLoader) {
+        return classLoader == null ? BOOTSTRAP : SCOPES.computeIfAbsent(classLoader, key -> new Scope());
+    }
+
+    /**
+     * Forget the names (and parsed types) cached for the given class loader and its descendants.
+     *
+     * @param classLoader The class loader.
+     */
+    static void invalidate(ClassLoader classLoader) {
+        if (classLoader == null) {
+            invalidateAll();
+            return;
+        }
+        SCOPES.removeIf(key -> CacheKeys.isAncestor(classLoader, key));
+        release(klass -> CacheKeys.isAncestor(classLoader, klass.getClassLoader()));
+    }
+
+    /**
+     * Forget all the cached names (and parsed types).
+     */
+    static void invalidateAll() {
+        SCOPES.clear();
+        BOOTSTRAP.clear();
+        release(klass -> true);
+    }
+
+    private static void release(Predicate<Class<?>> predicate) {
+        List<Class<?>> classes;
+        synchronized (RETAINING_CLASSES) {
+            classes = new ArrayList<>(RETAINING_CLASSES);
+        }
+        for (Class<?> klass : classes) {
+            if (predicate.test(klass)) {
+                RETAINING_CLASSES.remove(klass);
+                RETAINED_TYPES.remove(klass);
+            }
+        }
+    }
+
+    /**
+     * Set how long a class which could not be found is remembered as missing.
+     *
+     * @param duration The duration (0 to disable negative caching).
+     * @param unit     The unit of the duration.
+     */
+    static void setMissTimeToLive(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        missTimeToLive = unit.toNanos(duration);
+    }
+
+    private ClassNameCache() {
+        throw new InternalError();
+    }
+
+    /**
+     * What is cached for a class loader.
+     */
+    private static final class Scope {
+
+        final Cache<String, Hit> classes = Caches.newCache("loadClass");
+        final Cache<String, Object> types = Caches.newCache("parseType");
+        final ConcurrentMap<String, Long> misses = new ConcurrentHashMap<>();
+
+        void addMiss(String name) {
+            if (misses.size() >= MAXIMUM_MISSES) {
+                long now = System.nanoTime();
+                misses.values().removeIf(time -> now - time >= missTimeToLive);
+                if (misses.size() >= MAXIMUM_MISSES) {
+                    misses.values().remove(Collections.min(misses.values(), (left, right) -> Long.compare(left - now, right - now)));
+                }
+            }
+            misses.put(name, System.nanoTime());
+        }
+
+        void clear() {
+            classes.invalidateAll();
+            types.invalidateAll();
+            misses.clear();
+        }
+    }
+
+    private static final class Hit extends WeakReference<Class<?>> {
+
+        Hit(Class<?> klass) {
+            super(klass);
+        }
+    }
+
+    private static final class Parsed extends WeakReference<Type> {
+
+        Parsed(Type type) {
+            super(type);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.codegeny.reflexio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Unbounded cache which stores its entries alongside the {@link CacheKeys#anchor(Object) anchor} class of their key
+ * thanks to a {@link ClassValue}. Entries live as long as their anchor class and never pin its class loader.
+ * Keys which are only anchored to a class loader are delegated to a {@link WeakCache}.
+ * <p>
+ * Entries anchored to a class whose class loader is a strict ancestor of reflexio's own class loader (JDK classes when
+ * reflexio is deployed in an application class loader) are not stored in a {@link ClassValue} (whose values would be
+ * referenced by these classes and would then pin reflexio's class loader) but in a map owned by this cache: they only
+ * reference classes which outlive reflexio anyway.
+ * <p>
+ * The anchor of a key is only computed on misses: when the {@link CacheKeys#home(Object) home} class of a key shares
+ * the class loader of its anchor, the entry is stored alongside the home class and is found again without walking the
+ * key nor allocating anything.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Xavier DURY
+ */
+final class ClassValueCache<K, V> implements Cache<K, V> {
+
+    private static final ClassLoader PARENT = parent(ClassValueCache.class.getClassLoader());
+
+    private final Set<Class<?>> anchors = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final ConcurrentMap<K, V> shared = new ConcurrentHashMap<>();
+    private final WeakCache<K, V> fallback = new WeakCache<>();
+    private final ClassValue<ConcurrentMap<K, V>> values = new ClassValue<ConcurrentMap<K, V>>() {
+
+        @Override
+        protected ConcurrentMap<K, V> computeValue(Class<?> type) {
+            anchors.add(type);
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static ClassLoader parent(ClassLoader classLoader) {
+        return classLoader == null ? null : classLoader.getParent();
+    }
+
+    private static boolean isShared(Class<?> anchor) {
+        // the bootstrap class loader is a strict ancestor unless reflexio itself is loaded by it
+        return anchor.getClassLoader() == null
+                ? ClassValueCache.class.getClassLoader() != null
+                : PARENT != null && CacheKeys.isAncestor(anchor.getClassLoader(), PARENT);
+    }
+
+    private ConcurrentMap<K, V> map(Class<?> anchor) {
+        return isShared(anchor) ? shared : values.get(anchor);
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> function) {
+        Class<?> home = CacheKeys.home(key);
+        if (home != null) {
+            V value = map(home).get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        Object anchor = CacheKeys.anchor(key);
+        if (anchor == null) {
+            return function.apply(key);
+        }
+        if (!(anchor instanceof Class<?>)) {
+            return fallback.get(key, anchor, function);
+        }
+        ConcurrentMap<K, V> map = home != null && home.getClassLoader() == ((Class<?>) anchor).getClassLoader() ? map(home) : map((Class<?>) anchor);
+        V value = map.get(key);
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) {
+                V previous = map.putIfAbsent(key, value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void invalidate(ClassLoader classLoader) {
+        for (Class<?> anchor : snapshot()) {
+            if (CacheKeys.isAncestor(classLoader, anchor.getClassLoader())) {
+                anchors.remove(anchor);
+                values.remove(anchor);
+            }
+        }
+        shared.keySet().removeIf(key -> CacheKeys.references(key, classLoader));
+        fallback.invalidate(classLoader);
+    }
+
+    @Override
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        for (Class<?> anchor : snapshot()) {
+            values.get(anchor).entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+        }
+        shared.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+        fallback.invalidateIf(predicate);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Class<?> anchor : snapshot()) {
+            anchors.remove(anchor);
+            values.remove(anchor);
+        }
+        shared.clear();
+        fallback.invalidateAll();
+    }
+
+    private Iterable<Class<?>> snapshot() {
+        synchronized (anchors) {
+            return new ArrayList<>(anchors);
+        }
+    }
+}
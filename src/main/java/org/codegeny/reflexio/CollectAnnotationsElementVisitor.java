@@ -10,58 +10,72 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 class CollectAnnotationsElementVisitor<A extends Annotation> implements AnnotatedElementVisitor<Set<A>> {
 
     private final Set<AnnotatedElement> visited = new HashSet<>();
     private final Set<A> set = new LinkedHashSet<>();
     private final Class<A> annotationType;
+    private final boolean meta;
 
     public CollectAnnotationsElementVisitor(Class<A> annotationType) {
+        this(annotationType, false);
+    }
+
+    /**
+     * @param annotationType The annotation type to collect.
+     * @param meta           If true, annotations present on the annotations of the visited elements (meta-annotations)
+     *                       are collected as well.
+     */
+    public CollectAnnotationsElementVisitor(Class<A> annotationType, boolean meta) {
         this.annotationType = annotationType;
+        this.meta = meta;
     }
 
-    private Set<A> add(AnnotatedElement element, Supplier<Stream<AnnotatedElement>> next) {
+    private Set<A> add(AnnotatedElement element) {
         if (visited.add(element)) {
             if (element.isAnnotationPresent(annotationType)) {
                 set.add(element.getAnnotation(annotationType));
             } else {
                 set.addAll(Arrays.asList(element.getAnnotationsByType(annotationType)));
             }
-            next.get().forEach(t -> AnnotatedElementVisitor.accept(this, t));
+            if (meta) {
+                MetaAnnotations.collect(element.getAnnotations(), annotationType, set);
+            }
+            for (AnnotatedElement next : AnnotatedElementVisitor.accept(AnnotatedElementSuccessors.INSTANCE, element)) {
+                AnnotatedElementVisitor.accept(this, next);
+            }
         }
         return set;
     }
 
     @Override
     public <T> Set<A> visit(Class<T> klass) {
-        return add(klass, () -> Stream.concat(Stream.of(klass.getInterfaces()), Stream.of(klass.getPackage(), klass.getSuperclass())));
+        return add(klass);
     }
 
     @Override
     public <T> Set<A> visit(Constructor<T> constructor) {
-        return add(constructor, () -> Stream.of(constructor.getDeclaringClass()));
+        return add(constructor);
     }
 
     @Override
     public Set<A> visit(Method method) {
-        return add(method, () -> Stream.of(method.getDeclaringClass(), method.getReturnType()));
+        return add(method);
     }
 
     @Override
     public Set<A> visit(Field field) {
-        return add(field, () -> Stream.of(field.getDeclaringClass(), field.getType()));
+        return add(field);
     }
 
     @Override
     public Set<A> visit(Parameter parameter) {
-        return add(parameter, () -> Stream.of(parameter.getDeclaringExecutable(), parameter.getType()));
+        return add(parameter);
     }
 
     @Override
     public Set<A> visit(Package pakkage) {
-        return add(pakkage, Stream::empty);
+        return add(pakkage);
     }
 }
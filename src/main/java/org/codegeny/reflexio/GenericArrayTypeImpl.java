@@ -7,6 +7,10 @@ import java.util.Objects;
 final class GenericArrayTypeImpl implements GenericArrayType {
 
     private final Type component;
+    /**
+     * Formatted lazily (as {@link TypeFormatter#QUALIFIED}) and cached, racy but idempotent.
+     */
+    private String typeName;
 
     GenericArrayTypeImpl(Type component) {
         this.component = Objects.requireNonNull(component);
@@ -33,6 +37,10 @@ final class GenericArrayTypeImpl implements GenericArrayType {
 
     @Override
     public String toString() {
-        return component.getTypeName().concat("[]");
+        String result = typeName;
+        if (result == null) {
+            typeName = result = TypeFormatter.QUALIFIED.format(this);
+        }
+        return result;
     }
 }
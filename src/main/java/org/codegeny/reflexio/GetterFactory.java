@@ -0,0 +1,54 @@
+package org.codegeny.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Creates getters (<code>instance -&gt; value</code>) for fields and no-arg methods. Instance methods are bound
+ * through {@link java.lang.invoke.LambdaMetafactory} when possible, everything else goes through a
+ * {@link MethodHandle}. Static members ignore the instance.
+ *
+ * @author Xavier DURY
+ */
+enum GetterFactory implements MemberVisitor<Function<Object, Object>> {
+
+    INSTANCE;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    @Override
+    public Function<Object, Object> visitField(Field field) {
+        MethodHandles.Lookup lookup = MethodHandleSupport.lookup(field);
+        return handle(MethodHandleSupport.unreflect(lookup, field, l -> l.unreflectGetter(field)), Modifier.isStatic(field.getModifiers()));
+    }
+
+    @Override
+    public Function<Object, Object> visitMethod(Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+            throw new IllegalArgumentException(method + " is not a getter");
+        }
+        MethodHandles.Lookup lookup = MethodHandleSupport.lookup(method);
+        MethodHandle handle = MethodHandleSupport.unreflect(lookup, method, l -> l.unreflect(method));
+        @SuppressWarnings("unchecked")
+        Function<Object, Object> lambda = MethodHandleSupport.lambda(lookup, method, Function.class, "apply", GETTER_TYPE, handle, handle.type().wrap());
+        return lambda != null ? lambda : handle(handle, Modifier.isStatic(method.getModifiers()));
+    }
+
+    private static Function<Object, Object> handle(MethodHandle handle, boolean isStatic) {
+        MethodHandle getter = isStatic
+                ? MethodHandles.dropArguments(handle.asType(MethodType.methodType(Object.class)), 0, Object.class)
+                : handle.asType(GETTER_TYPE);
+        return instance -> {
+            try {
+                return getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw MethodHandleSupport.rethrow(throwable);
+            }
+        };
+    }
+}
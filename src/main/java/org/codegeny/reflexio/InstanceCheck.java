@@ -0,0 +1,441 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Strategy to check if a runtime value is an instance of a generic type, that is its class is assignable to the raw
+ * type and the elements of its collections, maps and arrays are (recursively) instances of the corresponding type
+ * arguments.
+ *
+ * <pre>
+ * InstanceCheck.Result result = InstanceCheck.sampling(16).withBudget(1_000).check(payload, type);
+ * if (!result.isInstance()) {
+ *     throw new IllegalArgumentException(result.getPath() + " is not a " + result.getExpectedType());
+ * }
+ * </pre>
+ * <p>
+ * Strategies differ in the elements they check in each container:
+ * <ul>
+ * <li>{@link #full()}: all of them.</li>
+ * <li>{@link #firstN(int)}: the first ones.</li>
+ * <li>{@link #sampling(int)}: randomly chosen ones (random access lists and arrays are sampled in constant time,
+ * other collections and maps by stepping over their iterator, so without checking the skipped elements, and over at
+ * most 64 elements per checked element so that huge containers are not iterated to their end).</li>
+ * </ul>
+ * A {@link #withBudget(int) budget} bounds the total number of values checked (no container is iterated any further
+ * once it is spent), whatever the size and depth of the value. A check which did not look at all the elements reports itself as not {@link Result#isComplete() complete}.
+ * <p>
+ * Type arguments which cannot be checked at runtime (for example the one of a <code>Supplier&lt;String&gt;</code>)
+ * are ignored, <code>null</code> is an instance of any non-primitive type and values already being checked up the
+ * path (self-referencing collections) are not checked again.
+ *
+ * @author Xavier DURY
+ * @see Types#isInstance(Object, Type)
+ */
+public final class InstanceCheck {
+
+    /**
+     * Maximum number of elements stepped over per checked element when sampling containers which are not random
+     * access.
+     */
+    static final int MAX_STRIDE = 64;
+
+    private static final InstanceCheck FULL = new InstanceCheck(Integer.MAX_VALUE, false, null, Integer.MAX_VALUE);
+
+    /**
+     * Check all the elements.
+     *
+     * @return The strategy.
+     */
+    public static InstanceCheck full() {
+        return FULL;
+    }
+
+    /**
+     * Check the first elements of each container.
+     *
+     * @param elements The maximum number of elements to check per container.
+     * @return The strategy.
+     */
+    public static InstanceCheck firstN(int elements) {
+        return new InstanceCheck(positive(elements), false, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check random elements of each container.
+     *
+     * @param elements The maximum number of elements to check per container.
+     * @return The strategy.
+     */
+    public static InstanceCheck sampling(int elements) {
+        return new InstanceCheck(positive(elements), true, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check random elements of each container, with a reproducible sequence of random numbers.
+     *
+     * @param elements The maximum number of elements to check per container.
+     * @param seed     The seed.
+     * @return The strategy.
+     */
+    public static InstanceCheck sampling(int elements, long seed) {
+        return new InstanceCheck(positive(elements), true, seed, Integer.MAX_VALUE);
+    }
+
+    private static int positive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Must be positive");
+        }
+        return value;
+    }
+
+    private final int elements;
+    private final boolean random;
+    private final Long seed;
+    private final int budget;
+
+    private InstanceCheck(int elements, boolean random, Long seed, int budget) {
+        this.elements = elements;
+        this.random = random;
+        this.seed = seed;
+        this.budget = budget;
+    }
+
+    /**
+     * Bound the total number of values checked (the root value included).
+     *
+     * @param budget The maximum number of values to check.
+     * @return A new strategy.
+     */
+    public InstanceCheck withBudget(int budget) {
+        return new InstanceCheck(elements, random, seed, positive(budget));
+    }
+
+    /**
+     * Check a value.
+     *
+     * @param value The value.
+     * @param type  The type.
+     * @return The result.
+     */
+    public Result check(Object value, Type type) {
+        Checker checker = new Checker(seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+        return checker.check(value, type) ? checker.success() : checker.failure;
+    }
+
+    /**
+     * Outcome of a check.
+     */
+    public static final class Result {
+
+        private final String path;
+        private final Type expectedType;
+        private final Object value;
+        private final int checkedValues;
+        private final boolean complete;
+
+        Result(String path, Type expectedType, Object value, int checkedValues, boolean complete) {
+            this.path = path;
+            this.expectedType = expectedType;
+            this.value = value;
+            this.checkedValues = checkedValues;
+            this.complete = complete;
+        }
+
+        public boolean isInstance() {
+            return path == null;
+        }
+
+        /**
+         * @return The path to the first value which is not an instance of its expected type (<code>$</code> being the
+         * root value, <code>[3]</code> the fourth element of a collection or array, <code>[key]</code> the value of a
+         * map entry and <code>{key}</code> its key) or <code>null</code>.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return The expected type of the failing value or <code>null</code>.
+         */
+        public Type getExpectedType() {
+            return expectedType;
+        }
+
+        /**
+         * @return The failing value or <code>null</code>.
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * @return The number of checked values.
+         */
+        public int getCheckedValues() {
+            return checkedValues;
+        }
+
+        /**
+         * @return True if all the values were checked (the result of a successful check which is not complete is only
+         * an estimation).
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public String toString() {
+            return isInstance()
+                    ? "Result[instance, " + checkedValues + " values checked" + (complete ? "" : ", incomplete") + "]"
+                    : "Result[" + path + " is not a " + expectedType.getTypeName() + "]";
+        }
+    }
+
+    /**
+     * State of a single check.
+     */
+    private final class Checker implements TypeVisitor<Boolean> {
+
+        private final SplittableRandom randomGenerator;
+        private final Set<Object> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int checked;
+        private boolean complete = true;
+        private Result failure;
+        private Object value;
+
+        /**
+         * Path segments (an index, a map key or the key of a map value) built as a string on failure only.
+         */
+        private char[] kinds = new char[8];
+        private int[] indexes = new int[8];
+        private Object[] keys = new Object[8];
+        private int depth;
+
+        Checker(SplittableRandom randomGenerator) {
+            this.randomGenerator = randomGenerator;
+        }
+
+        Result success() {
+            return new Result(null, null, null, checked, complete);
+        }
+
+        /**
+         * @return True (and mark the check incomplete) if no more value can be checked.
+         */
+        private boolean exhausted() {
+            if (checked >= budget) {
+                complete = false;
+                return true;
+            }
+            return false;
+        }
+
+        boolean check(Object value, Type type) {
+            if (exhausted()) {
+                return true;
+            }
+            checked++;
+            Object previousValue = this.value;
+            this.value = value;
+            try {
+                if (value == null ? !(type instanceof Class<?> && ((Class<?>) type).isPrimitive()) : Boolean.TRUE.equals(TypeVisitor.accept(this, type))) {
+                    return true;
+                }
+                if (failure == null) {
+                    failure = new Result(path(), type, value, checked, complete);
+                }
+                return false;
+            } finally {
+                this.value = previousValue;
+            }
+        }
+
+        private boolean check(Object value, Type type, char kind, int index, Object key) {
+            if (depth == kinds.length) {
+                kinds = Arrays.copyOf(kinds, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+                keys = Arrays.copyOf(keys, depth * 2);
+            }
+            kinds[depth] = kind;
+            indexes[depth] = index;
+            keys[depth++] = key;
+            try {
+                return check(value, type);
+            } finally {
+                keys[--depth] = null;
+            }
+        }
+
+        private String path() {
+            StringBuilder builder = new StringBuilder("$");
+            for (int i = 0; i < depth; i++) {
+                switch (kinds[i]) {
+                    case '[':
+                        builder.append('[').append(indexes[i]).append(']');
+                        break;
+                    case '{':
+                        builder.append('{').append(keys[i]).append('}');
+                        break;
+                    default:
+                        builder.append('[').append(keys[i]).append(']');
+                }
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public <T> Boolean visitClass(Class<T> klass) {
+            return Types.primitiveToWrapper(klass).isInstance(value);
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType parameterizedType) {
+            Class<?> raw = Types.raw(parameterizedType);
+            if (!raw.isInstance(value)) {
+                return false;
+            }
+            if (!ancestors.add(value)) {
+                return true;
+            }
+            try {
+                if (value instanceof Map<?, ?> && Map.class.isAssignableFrom(raw)) {
+                    Type[] arguments = Types.resolveTypeArguments(parameterizedType, Map.class);
+                    return checkMap((Map<?, ?>) value, arguments[0], arguments[1]);
+                }
+                if (value instanceof Collection<?> && Iterable.class.isAssignableFrom(raw)) {
+                    return checkCollection((Collection<?>) value, Types.resolveTypeArguments(parameterizedType, Iterable.class)[0]);
+                }
+                return true;
+            } finally {
+                ancestors.remove(value);
+            }
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType genericArrayType) {
+            if (!Types.raw(genericArrayType).isInstance(value)) {
+                return false;
+            }
+            if (!ancestors.add(value)) {
+                return true;
+            }
+            try {
+                Object array = value;
+                int length = Array.getLength(array);
+                Type componentType = genericArrayType.getGenericComponentType();
+                int count = Math.min(length, elements);
+                complete &= count == length;
+                for (int i = 0; i < count && !exhausted(); i++) {
+                    int index = random && count < length ? randomGenerator.nextInt(length) : i;
+                    if (!check(Array.get(array, index), componentType, '[', index, null)) {
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                ancestors.remove(value);
+            }
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType wildcardType) {
+            return all(wildcardType.getUpperBounds());
+        }
+
+        @Override
+        public <D extends GenericDeclaration> Boolean visitTypeVariable(TypeVariable<D> typeVariable) {
+            return all(ClassMetadata.bounds(typeVariable));
+        }
+
+        /**
+         * The value is checked against each bound (without counting it again).
+         */
+        private boolean all(Type[] bounds) {
+            for (Type bound : bounds) {
+                if (!Boolean.TRUE.equals(TypeVisitor.accept(this, bound))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean checkCollection(Collection<?> collection, Type elementType) {
+            int size = collection.size();
+            int count = Math.min(size, elements);
+            complete &= count == size;
+            if (random && count < size && collection instanceof List<?> && collection instanceof RandomAccess) {
+                List<?> list = (List<?>) collection;
+                for (int i = 0; i < count && !exhausted(); i++) {
+                    int index = randomGenerator.nextInt(size);
+                    if (!check(list.get(index), elementType, '[', index, null)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            int index = 0;
+            int next = nextIndex(-1, size, count);
+            for (Iterator<?> iterator = collection.iterator(); iterator.hasNext() && next < size && !exhausted(); index++) {
+                Object element = iterator.next();
+                if (index == next) {
+                    if (!check(element, elementType, '[', index, null)) {
+                        return false;
+                    }
+                    next = nextIndex(index, size, count);
+                }
+            }
+            return true;
+        }
+
+        private boolean checkMap(Map<?, ?> map, Type keyType, Type valueType) {
+            int size = map.size();
+            int count = Math.min(size, elements);
+            complete &= count == size;
+            int index = 0;
+            int next = nextIndex(-1, size, count);
+            for (Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator(); iterator.hasNext() && next < size && !exhausted(); index++) {
+                Map.Entry<?, ?> entry = iterator.next();
+                if (index == next) {
+                    if (!check(entry.getKey(), keyType, '{', index, entry.getKey()) || !check(entry.getValue(), valueType, ']', index, entry.getKey())) {
+                        return false;
+                    }
+                    next = nextIndex(index, size, count);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Next index to check when iterating (or <code>size</code> to stop): the following one or, when sampling, a
+         * random one within the next of the <code>count</code> strides (of at most {@link #MAX_STRIDE} elements).
+         */
+        private int nextIndex(int current, int size, int count) {
+            if (count >= size) {
+                return current + 1;
+            }
+            if (!random) {
+                return current + 1 < count ? current + 1 : size;
+            }
+            int stride = Math.min(size / count, MAX_STRIDE);
+            int bucket = Math.floorDiv(current, stride) + 1;
+            return bucket < count ? bucket * stride + randomGenerator.nextInt(stride) : size;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.codegeny.reflexio;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Cache bounded to a maximum number of entries, evicting the least recently used ones first. Entries are strongly
+ * referenced, so {@link #invalidate(ClassLoader)} must be called when a class loader is discarded.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Xavier DURY
+ */
+final class LruCache<K, V> implements Cache<K, V> {
+
+    private final Map<K, V> values;
+
+    LruCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.values = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> function) {
+        V value;
+        synchronized (values) {
+            value = values.get(key);
+        }
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) {
+                synchronized (values) {
+                    V previous = values.putIfAbsent(key, value);
+                    if (previous != null) {
+                        value = previous;
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void invalidate(ClassLoader classLoader) {
+        synchronized (values) {
+            values.keySet().removeIf(key -> CacheKeys.references(key, classLoader));
+        }
+    }
+
+    @Override
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        synchronized (values) {
+            values.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (values) {
+            values.clear();
+        }
+    }
+}
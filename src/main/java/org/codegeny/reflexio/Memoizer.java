@@ -0,0 +1,300 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decorates side-effect free visitors ({@link TypeVisitor}, {@link MemberVisitor}, {@link GenericDeclarationVisitor}
+ * and {@link AnnotatedElementVisitor}) so that their results are memoized per visited element.
+ *
+ * <pre>
+ * TypeVisitor&lt;Schema&gt; generator = new Memoizer()
+ *         .policy(Caches.lru(10_000))
+ *         .types(self -&gt; new SchemaGenerator(self), type -&gt; Schema.reference(type));
+ *
+ * Schema schema = TypeVisitor.accept(generator, type);
+ * </pre>
+ * <p>
+ * The decorated visitor is created by a factory which receives the memoizing visitor: recursive visits must go through
+ * it (and not through <code>this</code>) to hit the cache. Elements are compared with {@link Object#equals(Object)}
+ * (so that equal types built by different means share their result) or by {@link #identity() identity}. Each decorated
+ * visitor gets its own cache created with the configured {@link CacheFactory policy} ({@link Caches#unbounded()} by
+ * default, elements which cannot be anchored to a class like {@link Package}s are not cached by it). Visitors can be
+ * used concurrently, the same element may then be visited more than once.
+ * <p>
+ * Cyclic structures (<code>T extends Comparable&lt;T&gt;</code>, a class annotated with itself...) are detected per
+ * thread: visiting an element which is already being visited returns the result of the cycle handler (which is not
+ * cached) or fails with an {@link IllegalStateException} if there is none. Results are not cached when
+ * <code>null</code>.
+ *
+ * @author Xavier DURY
+ */
+public final class Memoizer {
+
+    private CacheFactory policy = Caches.unbounded();
+    private boolean identity;
+
+    /**
+     * Compare visited elements by identity instead of equality.
+     *
+     * @return This memoizer.
+     */
+    public Memoizer identity() {
+        this.identity = true;
+        return this;
+    }
+
+    /**
+     * Set the cache policy (see {@link Caches#unbounded()}, {@link Caches#lru(int)}, {@link Caches#weak()}...).
+     *
+     * @param policy The cache factory.
+     * @return This memoizer.
+     */
+    public Memoizer policy(CacheFactory policy) {
+        this.policy = Objects.requireNonNull(policy);
+        return this;
+    }
+
+    /**
+     * Memoize a type visitor which does not recurse (or whose recursive visits don't need to be memoized).
+     *
+     * @param visitor The visitor.
+     * @param <R>     The result type.
+     * @return The memoizing visitor.
+     */
+    public <R> TypeVisitor<R> memoize(TypeVisitor<R> visitor) {
+        return types(self -> visitor, null);
+    }
+
+    /**
+     * Memoize a type visitor.
+     *
+     * @param factory The factory creating the visitor from the memoizing visitor (to be used for recursive visits).
+     * @param onCycle The cycle handler (or <code>null</code> to fail on cycles).
+     * @param <R>     The result type.
+     * @return The memoizing visitor.
+     */
+    public <R> TypeVisitor<R> types(Function<? super TypeVisitor<R>, ? extends TypeVisitor<R>> factory, Function<? super Type, ? extends R> onCycle) {
+        MemoizingTypeVisitor<R> visitor = new MemoizingTypeVisitor<>(new Memo<>(this, "types", onCycle));
+        visitor.delegate = Objects.requireNonNull(factory.apply(visitor));
+        return visitor;
+    }
+
+    /**
+     * Memoize a member visitor.
+     *
+     * @param factory The factory creating the visitor from the memoizing visitor (to be used for recursive visits).
+     * @param onCycle The cycle handler (or <code>null</code> to fail on cycles).
+     * @param <R>     The result type.
+     * @return The memoizing visitor.
+     */
+    public <R> MemberVisitor<R> members(Function<? super MemberVisitor<R>, ? extends MemberVisitor<R>> factory, Function<? super Member, ? extends R> onCycle) {
+        MemoizingMemberVisitor<R> visitor = new MemoizingMemberVisitor<>(new Memo<>(this, "members", onCycle));
+        visitor.delegate = Objects.requireNonNull(factory.apply(visitor));
+        return visitor;
+    }
+
+    /**
+     * Memoize a generic declaration visitor.
+     *
+     * @param factory The factory creating the visitor from the memoizing visitor (to be used for recursive visits).
+     * @param onCycle The cycle handler (or <code>null</code> to fail on cycles).
+     * @param <R>     The result type.
+     * @return The memoizing visitor.
+     */
+    public <R> GenericDeclarationVisitor<R> declarations(Function<? super GenericDeclarationVisitor<R>, ? extends GenericDeclarationVisitor<R>> factory, Function<? super GenericDeclaration, ? extends R> onCycle) {
+        MemoizingGenericDeclarationVisitor<R> visitor = new MemoizingGenericDeclarationVisitor<>(new Memo<>(this, "declarations", onCycle));
+        visitor.delegate = Objects.requireNonNull(factory.apply(visitor));
+        return visitor;
+    }
+
+    /**
+     * Memoize an annotated element visitor.
+     *
+     * @param factory The factory creating the visitor from the memoizing visitor (to be used for recursive visits).
+     * @param onCycle The cycle handler (or <code>null</code> to fail on cycles).
+     * @param <R>     The result type.
+     * @return The memoizing visitor.
+     */
+    public <R> AnnotatedElementVisitor<R> elements(Function<? super AnnotatedElementVisitor<R>, ? extends AnnotatedElementVisitor<R>> factory, Function<? super AnnotatedElement, ? extends R> onCycle) {
+        MemoizingAnnotatedElementVisitor<R> visitor = new MemoizingAnnotatedElementVisitor<>(new Memo<>(this, "elements", onCycle));
+        visitor.delegate = Objects.requireNonNull(factory.apply(visitor));
+        return visitor;
+    }
+
+    /**
+     * Cache and cycle detection shared by the 4 kinds of memoizing visitors.
+     */
+    private static final class Memo<E, R> {
+
+        private final Cache<Object, R> cache;
+        private final boolean identity;
+        private final Function<? super E, ? extends R> onCycle;
+        private final ThreadLocal<Set<Object>> visiting = ThreadLocal.withInitial(HashSet::new);
+
+        Memo(Memoizer memoizer, String name, Function<? super E, ? extends R> onCycle) {
+            this.cache = memoizer.policy.newCache("memoized-" + name);
+            this.identity = memoizer.identity;
+            this.onCycle = onCycle;
+        }
+
+        R get(E element, Supplier<? extends R> visit) {
+            Object key = identity ? CacheKeys.identity(element) : element;
+            Set<Object> visiting = this.visiting.get();
+            if (visiting.contains(key)) {
+                if (onCycle == null) {
+                    throw new IllegalStateException("Cycle detected while visiting " + element);
+                }
+                return onCycle.apply(element);
+            }
+            return cache.get(key, k -> {
+                visiting.add(k);
+                try {
+                    return visit.get();
+                } finally {
+                    visiting.remove(k);
+                }
+            });
+        }
+    }
+
+    private static final class MemoizingTypeVisitor<R> implements TypeVisitor<R> {
+
+        private final Memo<Type, R> memo;
+        TypeVisitor<R> delegate;
+
+        MemoizingTypeVisitor(Memo<Type, R> memo) {
+            this.memo = memo;
+        }
+
+        @Override
+        public <T> R visitClass(Class<T> klass) {
+            return memo.get(klass, () -> delegate.visitClass(klass));
+        }
+
+        @Override
+        public R visitParameterizedType(ParameterizedType parameterizedType) {
+            return memo.get(parameterizedType, () -> delegate.visitParameterizedType(parameterizedType));
+        }
+
+        @Override
+        public R visitGenericArrayType(GenericArrayType genericArrayType) {
+            return memo.get(genericArrayType, () -> delegate.visitGenericArrayType(genericArrayType));
+        }
+
+        @Override
+        public R visitWildcardType(WildcardType wildcardType) {
+            return memo.get(wildcardType, () -> delegate.visitWildcardType(wildcardType));
+        }
+
+        @Override
+        public <D extends GenericDeclaration> R visitTypeVariable(TypeVariable<D> typeVariable) {
+            return memo.get(typeVariable, () -> delegate.visitTypeVariable(typeVariable));
+        }
+    }
+
+    private static final class MemoizingMemberVisitor<R> implements MemberVisitor<R> {
+
+        private final Memo<Member, R> memo;
+        MemberVisitor<R> delegate;
+
+        MemoizingMemberVisitor(Memo<Member, R> memo) {
+            this.memo = memo;
+        }
+
+        @Override
+        public R visitField(Field field) {
+            return memo.get(field, () -> delegate.visitField(field));
+        }
+
+        @Override
+        public <T> R visitConstructor(Constructor<T> constructor) {
+            return memo.get(constructor, () -> delegate.visitConstructor(constructor));
+        }
+
+        @Override
+        public R visitMethod(Method method) {
+            return memo.get(method, () -> delegate.visitMethod(method));
+        }
+    }
+
+    private static final class MemoizingGenericDeclarationVisitor<R> implements GenericDeclarationVisitor<R> {
+
+        private final Memo<GenericDeclaration, R> memo;
+        GenericDeclarationVisitor<R> delegate;
+
+        MemoizingGenericDeclarationVisitor(Memo<GenericDeclaration, R> memo) {
+            this.memo = memo;
+        }
+
+        @Override
+        public <T> R visitClass(Class<T> klass) {
+            return memo.get(klass, () -> delegate.visitClass(klass));
+        }
+
+        @Override
+        public <T> R visitConstructor(Constructor<T> constructor) {
+            return memo.get(constructor, () -> delegate.visitConstructor(constructor));
+        }
+
+        @Override
+        public R visitMethod(Method method) {
+            return memo.get(method, () -> delegate.visitMethod(method));
+        }
+    }
+
+    private static final class MemoizingAnnotatedElementVisitor<R> implements AnnotatedElementVisitor<R> {
+
+        private final Memo<AnnotatedElement, R> memo;
+        AnnotatedElementVisitor<R> delegate;
+
+        MemoizingAnnotatedElementVisitor(Memo<AnnotatedElement, R> memo) {
+            this.memo = memo;
+        }
+
+        @Override
+        public <T> R visit(Class<T> klass) {
+            return memo.get(klass, () -> delegate.visit(klass));
+        }
+
+        @Override
+        public <T> R visit(Constructor<T> constructor) {
+            return memo.get(constructor, () -> delegate.visit(constructor));
+        }
+
+        @Override
+        public R visit(Method method) {
+            return memo.get(method, () -> delegate.visit(method));
+        }
+
+        @Override
+        public R visit(Field field) {
+            return memo.get(field, () -> delegate.visit(field));
+        }
+
+        @Override
+        public R visit(Parameter parameter) {
+            return memo.get(parameter, () -> delegate.visit(parameter));
+        }
+
+        @Override
+        public R visit(Package pakkage) {
+            return memo.get(pakkage, () -> delegate.visit(pakkage));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.codegeny.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Meta-annotations traversal: an annotation type (a <em>stereotype</em>) may itself be annotated with the annotation
+ * we are looking for, directly, through a repeatable container or through another stereotype.
+ *
+ * @author Xavier DURY
+ */
+final class MetaAnnotations {
+
+    private static final Cache<List<Class<?>>, Set<? extends Annotation>> META_ANNOTATIONS = Caches.newCache("metaAnnotations");
+
+    /**
+     * Find the annotations of the given type which are present on the given annotation type or (recursively) on its
+     * meta-annotations.
+     *
+     * @param annotationClass The annotation type to inspect.
+     * @param annotationType  The annotation type to find.
+     * @param <A>             The annotation type to find.
+     * @return An unmodifiable set of annotations.
+     */
+    @SuppressWarnings("unchecked")
+    static <A extends Annotation> Set<A> of(Class<? extends Annotation> annotationClass, Class<A> annotationType) {
+        return (Set<A>) META_ANNOTATIONS.get(Arrays.asList(annotationClass, annotationType), key -> {
+            Set<A> result = new LinkedHashSet<>();
+            collect(annotationClass, annotationType, result, new HashSet<>());
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    /**
+     * Add the meta-annotations of the given type found on all the given annotations (and on the annotations they
+     * contain if they are repeatable containers).
+     *
+     * @param annotations    The annotations.
+     * @param annotationType The annotation type to find.
+     * @param result         The collection to which meta-annotations are added.
+     * @param <A>            The annotation type to find.
+     */
+    static <A extends Annotation> void collect(Annotation[] annotations, Class<A> annotationType, Collection<A> result) {
+        for (Annotation annotation : annotations) {
+            result.addAll(of(annotation.annotationType(), annotationType));
+            for (Annotation contained : contained(annotation)) {
+                result.addAll(of(contained.annotationType(), annotationType));
+            }
+        }
+    }
+
+    private static <A extends Annotation> void collect(Class<? extends Annotation> annotationClass, Class<A> annotationType, Set<A> result, Set<Class<?>> visited) {
+        if (visited.add(annotationClass) && !isLanguageAnnotation(annotationClass)) {
+            result.addAll(Arrays.asList(annotationClass.getAnnotationsByType(annotationType)));
+            for (Annotation annotation : annotationClass.getAnnotations()) {
+                collect(annotation.annotationType(), annotationType, result, visited);
+                for (Annotation contained : contained(annotation)) {
+                    collect(contained.annotationType(), annotationType, result, visited);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the annotations contained in a repeatable container.
+     *
+     * @param annotation The (possible) container.
+     * @return The contained annotations (empty if the annotation is not a container).
+     */
+    static Annotation[] contained(Annotation annotation) {
+        try {
+            Method value = annotation.annotationType().getMethod("value");
+            Class<?> componentType = value.getReturnType().getComponentType();
+            if (componentType != null && componentType.isAnnotation()) {
+                Repeatable repeatable = componentType.getAnnotation(Repeatable.class);
+                if (repeatable != null && repeatable.value() == annotation.annotationType()) {
+                    if (!Modifier.isPublic(annotation.annotationType().getModifiers())) {
+                        value.setAccessible(true);
+                    }
+                    return (Annotation[]) value.invoke(annotation);
+                }
+            }
+        } catch (NoSuchMethodException ignored) {
+            // not a container
+        } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            throw new IllegalStateException("Cannot read the content of " + annotation, e);
+        }
+        return new Annotation[0];
+    }
+
+    private static boolean isLanguageAnnotation(Class<?> annotationClass) {
+        return annotationClass.getName().startsWith("java.lang.annotation.");
+    }
+
+    private MetaAnnotations() {
+        throw new InternalError();
+    }
+}
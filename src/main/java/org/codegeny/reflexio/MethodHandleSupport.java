@@ -0,0 +1,110 @@
+package org.codegeny.reflexio;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Helpers to obtain {@link MethodHandle}s on members and to bind them to functional interfaces.
+ *
+ * @author Xavier DURY
+ */
+final class MethodHandleSupport {
+
+    /**
+     * <code>MethodHandles.privateLookupIn(Class, Lookup)</code> (Java 9+) or <code>null</code>.
+     */
+    private static final Method PRIVATE_LOOKUP_IN;
+
+    @FunctionalInterface
+    interface Unreflector {
+
+        MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException;
+    }
+
+    /**
+     * Get a lookup with full access to the declaring class of the member: a private lookup on Java 9+ or our own lookup
+     * on Java 8 (the member is then made accessible and unreflected through it).
+     */
+    static MethodHandles.Lookup lookup(Member member) {
+        if (PRIVATE_LOOKUP_IN != null) {
+            try {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, member.getDeclaringClass(), MethodHandles.lookup());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not opened to us, public members only
+            }
+        }
+        return MethodHandles.lookup();
+    }
+
+    /**
+     * Unreflect a member, making it accessible first if the lookup cannot access it.
+     */
+    static MethodHandle unreflect(MethodHandles.Lookup lookup, Member member, Unreflector unreflector) {
+        try {
+            return unreflector.unreflect(lookup);
+        } catch (IllegalAccessException e) {
+            try {
+                ((AccessibleObject) member).setAccessible(true);
+                return unreflector.unreflect(lookup);
+            } catch (IllegalAccessException | RuntimeException f) {
+                IllegalArgumentException exception = new IllegalArgumentException("Cannot access " + member, f);
+                exception.addSuppressed(e);
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Spin a lambda (the same way <code>invokedynamic</code> does for method references) implementing a functional
+     * interface by calling the given direct method handle. Fall back to <code>null</code> if not possible (the lookup
+     * has no private access to the declaring class, the member is static...). {@link Error}s are propagated.
+     */
+    static <F> F lambda(MethodHandles.Lookup lookup, Member member, Class<F> functionalInterface, String name, MethodType erasedType, MethodHandle target, MethodType instantiatedType) {
+        if (Modifier.isStatic(member.getModifiers()) || (lookup.lookupModes() & MethodHandles.Lookup.PRIVATE) == 0 || lookup.lookupClass() != member.getDeclaringClass()) {
+            return null;
+        }
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functionalInterface), erasedType, target, instantiatedType);
+            return functionalInterface.cast(callSite.getTarget().invoke());
+        } catch (LambdaConversionException | ReflectiveOperationException | RuntimeException e) {
+            return null;
+        } catch (Throwable throwable) {
+            // errors (and anything unexpected) are not a reason to fall back
+            throw rethrow(throwable);
+        }
+    }
+
+    /**
+     * Rethrow a throwable without wrapping it (as a lambda spun by {@link #lambda} would do with checked exceptions).
+     */
+    static RuntimeException rethrow(Throwable throwable) {
+        throw MethodHandleSupport.<RuntimeException>sneaky(throwable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneaky(Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+
+    private MethodHandleSupport() {
+        throw new InternalError();
+    }
+
+    static {
+        Method privateLookupIn;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            privateLookupIn = null;
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+    }
+}
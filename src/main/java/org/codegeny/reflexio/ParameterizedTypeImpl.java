@@ -4,14 +4,16 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 final class ParameterizedTypeImpl implements ParameterizedType {
 
     private final Type rawType;
     private final Type ownerType;
     private final Type[] arguments;
+    /**
+     * Formatted lazily (as {@link TypeFormatter#QUALIFIED}) and cached, racy but idempotent.
+     */
+    private String typeName;
 
     ParameterizedTypeImpl(Type rawType, Type ownerType, Type... arguments) {
         this.rawType = Objects.requireNonNull(rawType);
@@ -54,6 +56,10 @@ final class ParameterizedTypeImpl implements ParameterizedType {
 
     @Override
     public String toString() {
-        return rawType.getTypeName().concat(Stream.of(getActualTypeArguments()).map(Type::getTypeName).collect(Collectors.joining(", ", "<", ">")));
+        String result = typeName;
+        if (result == null) {
+            typeName = result = TypeFormatter.QUALIFIED.format(this);
+        }
+        return result;
     }
 }
@@ -0,0 +1,358 @@
+package org.codegeny.reflexio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Warms the reflexio caches in the background (typically at startup, before the node receives traffic). For each
+ * class, the following are precomputed: the hierarchy indexes (the class metadata of the class and all its supertypes
+ * and the supertype filter of the class), the resolved type arguments of all its supertypes, the expanded types of the
+ * fields and methods of its class hierarchy, its bean properties and the annotations (of the configured types)
+ * collected on the class and its members.
+ *
+ * <pre>
+ * Prewarming prewarming = new Prewarmer()
+ *         .packages(classLoader, "com.acme.handlers", "com.acme.dto")
+ *         .annotations(Transactional.class, Secured.class)
+ *         .listener((completed, total) -&gt; log.debug("Prewarmed {}/{}", completed, total))
+ *         .start();
+ *
+ * prewarming.future().get(30, TimeUnit.SECONDS); // or keep serving
+ * </pre>
+ * <p>
+ * Classes are processed as independent tasks on the executor, which defaults to a virtual thread per task executor
+ * when available (Java 21+) and to the common fork/join pool otherwise. Classes which fail (linkage errors...) are
+ * recorded as failures and do not stop the others.
+ *
+ * @author Xavier DURY
+ */
+public final class Prewarmer {
+
+    /**
+     * Notified after each class.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param completed The number of processed classes (including failures).
+         * @param total     The total number of classes (which is only known once all sources have been listed).
+         */
+        void onProgress(int completed, int total);
+    }
+
+    private final List<Supplier<Collection<Class<?>>>> sources = new ArrayList<>();
+    private final List<Class<? extends Annotation>> annotationTypes = new ArrayList<>();
+    private Executor executor;
+    private ProgressListener listener = (completed, total) -> {
+    };
+
+    /**
+     * @param executor The executor running the tasks.
+     * @return This prewarmer.
+     */
+    public Prewarmer executor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * @param listener The progress listener (called from the executor threads).
+     * @return This prewarmer.
+     */
+    public Prewarmer listener(ProgressListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+        return this;
+    }
+
+    /**
+     * @param annotationTypes The annotation types to collect on classes and their members.
+     * @return This prewarmer.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final Prewarmer annotations(Class<? extends Annotation>... annotationTypes) {
+        Collections.addAll(this.annotationTypes, annotationTypes);
+        return this;
+    }
+
+    /**
+     * @param classes The classes to prewarm.
+     * @return This prewarmer.
+     */
+    public Prewarmer classes(Collection<Class<?>> classes) {
+        List<Class<?>> copy = new ArrayList<>(classes);
+        sources.add(() -> copy);
+        return this;
+    }
+
+    /**
+     * Prewarm all the classes of the given packages (and their subpackages), listed from the directories and jars of
+     * the class loader. Listing and loading happen in the background.
+     *
+     * @param classLoader The class loader.
+     * @param packages    The package names.
+     * @return This prewarmer.
+     */
+    public Prewarmer packages(ClassLoader classLoader, String... packages) {
+        List<String> copy = Arrays.asList(packages.clone());
+        sources.add(() -> copy.stream().flatMap(name -> listPackage(classLoader, name).stream()).map(name -> load(name, classLoader)).filter(Objects::nonNull).collect(Collectors.toList()));
+        return this;
+    }
+
+    /**
+     * Prewarm all the classes of a class hierarchy index (loaded from the given class loader in the background).
+     *
+     * @param index       The index.
+     * @param classLoader The class loader.
+     * @return This prewarmer.
+     */
+    public Prewarmer index(ClassHierarchyIndex index, ClassLoader classLoader) {
+        sources.add(() -> index.getClassNames().stream().filter(name -> !name.endsWith("package-info")).map(name -> load(name, classLoader)).filter(Objects::nonNull).collect(Collectors.toList()));
+        return this;
+    }
+
+    /**
+     * Start prewarming.
+     *
+     * @return The running prewarming.
+     */
+    public Prewarming start() {
+        boolean ownedExecutor = executor == null;
+        Executor actualExecutor = ownedExecutor ? defaultExecutor() : executor;
+        Prewarming prewarming = new Prewarming(listener);
+        List<Supplier<Collection<Class<?>>>> actualSources = new ArrayList<>(sources);
+        List<Class<? extends Annotation>> actualAnnotationTypes = new ArrayList<>(annotationTypes);
+        CompletableFuture.supplyAsync(() -> {
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            for (Supplier<Collection<Class<?>>> source : actualSources) {
+                classes.addAll(source.get());
+            }
+            prewarming.setTotal(classes.size());
+            return classes;
+        }, actualExecutor).thenCompose(classes -> CompletableFuture.allOf(classes.stream()
+                .map(klass -> CompletableFuture.runAsync(() -> prewarming.done(klass, () -> warm(klass, actualAnnotationTypes)), actualExecutor))
+                .toArray(CompletableFuture[]::new))
+        ).whenComplete((result, throwable) -> {
+            if (ownedExecutor) {
+                shutdown(actualExecutor);
+            }
+            prewarming.complete(throwable);
+        });
+        return prewarming;
+    }
+
+    private static void warm(Class<?> klass, List<Class<? extends Annotation>> annotationTypes) {
+        SupertypeFilter.warm(klass);
+        for (Class<?> supertype : SupertypeFilter.supertypes(klass)) {
+            Types.resolveTypeArguments(klass, supertype);
+            if (supertype == klass || !supertype.isInterface()) {
+                for (Field field : supertype.getDeclaredFields()) {
+                    Types.expand(field, klass);
+                }
+                for (Method method : supertype.getDeclaredMethods()) {
+                    Types.expand(method, klass);
+                }
+            }
+        }
+        Types.properties(klass);
+        for (Class<? extends Annotation> annotationType : annotationTypes) {
+            Types.collect(klass, annotationType);
+            for (AnnotatedElement member : members(klass)) {
+                Types.collect(member, annotationType);
+            }
+        }
+    }
+
+    private static List<AnnotatedElement> members(Class<?> klass) {
+        List<AnnotatedElement> result = new ArrayList<>();
+        Stream.<Member[]>of(klass.getDeclaredFields(), klass.getDeclaredMethods(), klass.getDeclaredConstructors()).forEach(members -> {
+            for (Member member : members) {
+                result.add((AnnotatedElement) member);
+            }
+        });
+        return result;
+    }
+
+    private static Class<?> load(String name, ClassLoader classLoader) {
+        try {
+            return Types.loadClass(name, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * List the class names of a package (and its subpackages) from the directories and jars of a class loader.
+     */
+    static Set<String> listPackage(ClassLoader classLoader, String packageName) {
+        String path = packageName.replace('.', '/');
+        Set<String> result = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(path);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if (url.getProtocol().equals("file")) {
+                    Path directory = Paths.get(url.toURI());
+                    try (Stream<Path> stream = Files.walk(directory)) {
+                        stream.map(file -> directory.relativize(file).toString().replace('\\', '/'))
+                                .filter(Prewarmer::isClassFile)
+                                .forEach(file -> result.add(className(path + "/" + file)));
+                    }
+                } else if (url.getProtocol().equals("jar")) {
+                    URLConnection connection = url.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = ((JarURLConnection) connection).getJarFile()) {
+                        jarFile.stream()
+                                .map(JarEntry::getName)
+                                .filter(name -> name.startsWith(path + "/") && isClassFile(name))
+                                .forEach(name -> result.add(className(name)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return result;
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(".class") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+
+    private static String className(String file) {
+        return file.substring(0, file.length() - ".class".length()).replace('/', '.');
+    }
+
+    /**
+     * <code>Executors.newVirtualThreadPerTaskExecutor()</code> on Java 21+ or the common fork/join pool.
+     */
+    private static Executor defaultExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    /**
+     * Release the threads of the default executor (tasks are all done when this is called).
+     */
+    private static void shutdown(Executor executor) {
+        if (executor instanceof ExecutorService && executor != ForkJoinPool.commonPool()) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * A running (or finished) prewarming.
+     */
+    public static final class Prewarming {
+
+        private final ProgressListener listener;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final ConcurrentMap<Class<?>, Throwable> failures = new ConcurrentHashMap<>();
+        private volatile int total = -1;
+
+        Prewarming(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * @return A future completed when all classes have been processed (even if some of them failed). Cancelling
+         * it does not stop the tasks.
+         */
+        public CompletableFuture<Void> future() {
+            return future;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * @return The number of processed classes (including failures).
+         */
+        public int getCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * @return The total number of classes or -1 if the sources are still being listed.
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The classes which could not be prewarmed and why.
+         */
+        public Map<Class<?>, Throwable> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        void setTotal(int total) {
+            this.total = total;
+        }
+
+        void done(Class<?> klass, Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException | LinkageError e) {
+                failures.put(klass, e);
+            }
+            listener.onProgress(completed.incrementAndGet(), total);
+        }
+
+        void complete(Throwable throwable) {
+            if (throwable == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Prewarming[" + completed.get() + "/" + total + ", " + failures.size() + " failures]";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.codegeny.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A bean property (getter, setter and field sharing the same name) with its generic type resolved against the type it
+ * was introspected from (see {@link Types#properties(Type)}).
+ *
+ * @author Xavier DURY
+ */
+public final class Property {
+
+    private final String name;
+    private final Type type;
+    private final Class<?> rawType;
+    private final Method getter;
+    private final Method setter;
+    private final Field field;
+    private final List<Annotation> annotations;
+
+    Property(String name, Type type, Method getter, Method setter, Field field, List<Annotation> annotations) {
+        this.name = name;
+        this.type = type;
+        this.rawType = Types.raw(type);
+        this.getter = getter;
+        this.setter = setter;
+        this.field = field;
+        this.annotations = annotations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The resolved generic type (from the getter, the setter or the field, in that order).
+     */
+    public Type getType() {
+        return type;
+    }
+
+    public Class<?> getRawType() {
+        return rawType;
+    }
+
+    /**
+     * @return The getter or <code>null</code> for a write-only property.
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * @return The setter or <code>null</code> for a read-only property.
+     */
+    public Method getSetter() {
+        return setter;
+    }
+
+    /**
+     * @return The field with the same name (whatever its visibility) or <code>null</code>.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return The annotations directly present on the getter, the setter and the field.
+     */
+    public List<Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Collect the annotations of the given type present on the getter, the setter, the field or any element of their
+     * closure (see {@link Types#collect(AnnotatedElement, Class)}).
+     *
+     * @param annotationType The annotation type.
+     * @param <A>            The annotation type.
+     * @return The annotations.
+     */
+    public <A extends Annotation> Set<A> collect(Class<A> annotationType) {
+        Set<A> result = new LinkedHashSet<>();
+        Stream.of(getter, setter, field).filter(element -> element != null).forEach(element -> result.addAll(Types.collect(element, annotationType)));
+        return Collections.unmodifiableSet(result);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + type.getTypeName();
+    }
+}
@@ -0,0 +1,127 @@
+package org.codegeny.reflexio;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Discovers the bean properties of a type. Getters are public non-static no-arg <code>getXxx()</code> methods (or
+ * <code>isXxx()</code> returning <code>boolean</code>), setters are public non-static one-arg <code>setXxx(...)</code>
+ * methods (the one matching the getter type when overloaded). Property types are first expanded against the raw class
+ * (see {@link TypeVariableExpander}) then the type parameters of the raw class are replaced by the actual type
+ * arguments when the type is parameterized.
+ *
+ * @author Xavier DURY
+ */
+final class PropertyIntrospector {
+
+    static Map<String, Property> introspect(Type type) {
+        Class<?> rawClass = Types.raw(type);
+        Map<String, Method> getters = new TreeMap<>();
+        Map<String, List<Method>> setters = new TreeMap<>();
+        for (Method method : rawClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String name = method.getName();
+            if (method.getParameterCount() == 0) {
+                if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+                    getters.put(decapitalize(name.substring(3)), method);
+                } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+                    getters.putIfAbsent(decapitalize(name.substring(2)), method);
+                }
+            } else if (method.getParameterCount() == 1 && name.startsWith("set") && name.length() > 3) {
+                setters.computeIfAbsent(decapitalize(name.substring(3)), k -> new ArrayList<>()).add(method);
+            }
+        }
+
+        TypeVariableReplacer replacer = replacer(type, rawClass);
+        Map<String, Property> properties = new LinkedHashMap<>();
+        Map<String, Method> names = new TreeMap<>(getters);
+        setters.keySet().forEach(name -> names.putIfAbsent(name, null));
+        for (Map.Entry<String, Method> entry : names.entrySet()) {
+            String name = entry.getKey();
+            Method getter = entry.getValue();
+            Method setter = setter(setters.getOrDefault(name, Collections.emptyList()), getter);
+            Field field = field(rawClass, name);
+            Type genericType = getter != null
+                    ? Types.expand(getter, rawClass)
+                    : Types.expand(setter.getGenericParameterTypes()[0], rawClass);
+            List<Annotation> annotations = new ArrayList<>();
+            if (getter != null) {
+                annotations.addAll(Arrays.asList(getter.getAnnotations()));
+            }
+            if (setter != null) {
+                annotations.addAll(Arrays.asList(setter.getAnnotations()));
+            }
+            if (field != null) {
+                annotations.addAll(Arrays.asList(field.getAnnotations()));
+            }
+            Type resolved = replacer == null ? genericType : TypeVisitor.accept(replacer, genericType);
+            properties.put(name, new Property(name, resolved, getter, setter, field, Collections.unmodifiableList(annotations)));
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static TypeVariableReplacer replacer(Type type, Class<?> rawClass) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        TypeVariable<?>[] typeParameters = ClassMetadata.of(rawClass).getTypeParameters();
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        Map<TypeVariable<?>, Type> replaces = new HashMap<>();
+        for (int i = 0; i < typeParameters.length; i++) {
+            replaces.put(typeParameters[i], arguments[i]);
+        }
+        return new TypeVariableReplacer(replaces);
+    }
+
+    private static Method setter(List<Method> candidates, Method getter) {
+        if (getter != null) {
+            for (Method candidate : candidates) {
+                if (candidate.getParameterTypes()[0] == getter.getReturnType()) {
+                    return candidate;
+                }
+            }
+        }
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    /**
+     * Same rule as <code>java.beans.Introspector.decapitalize</code> (<code>URL</code> stays <code>URL</code>), without
+     * depending on the <code>java.desktop</code> module.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Field field(Class<?> klass, String name) {
+        for (Class<?> current = klass; current != null && current != Object.class; current = ClassMetadata.of(current).getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private PropertyIntrospector() {
+        throw new InternalError();
+    }
+}
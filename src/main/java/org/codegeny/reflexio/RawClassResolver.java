@@ -32,6 +32,6 @@ enum RawClassResolver implements TypeVisitor<Class<?>> {
 
     @Override
     public <D extends GenericDeclaration> Class<?> visitTypeVariable(TypeVariable<D> typeVariable) {
-        return TypeVisitor.accept(this, typeVariable.getBounds()[0]);
+        return TypeVisitor.accept(this, ClassMetadata.bounds(typeVariable)[0]);
     }
 }
@@ -0,0 +1,54 @@
+package org.codegeny.reflexio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+
+/**
+ * Creates setters (<code>(instance, value) -&gt; {}</code>) for fields and one-arg methods (the result of fluent
+ * setters is discarded). Instance methods are bound through {@link java.lang.invoke.LambdaMetafactory} when possible,
+ * everything else goes through a {@link MethodHandle}. Static members ignore the instance.
+ *
+ * @author Xavier DURY
+ */
+enum SetterFactory implements MemberVisitor<BiConsumer<Object, Object>> {
+
+    INSTANCE;
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @Override
+    public BiConsumer<Object, Object> visitField(Field field) {
+        MethodHandles.Lookup lookup = MethodHandleSupport.lookup(field);
+        return handle(MethodHandleSupport.unreflect(lookup, field, l -> l.unreflectSetter(field)), Modifier.isStatic(field.getModifiers()));
+    }
+
+    @Override
+    public BiConsumer<Object, Object> visitMethod(Method method) {
+        if (method.getParameterCount() != 1) {
+            throw new IllegalArgumentException(method + " is not a setter");
+        }
+        MethodHandles.Lookup lookup = MethodHandleSupport.lookup(method);
+        MethodHandle handle = MethodHandleSupport.unreflect(lookup, method, l -> l.unreflect(method));
+        @SuppressWarnings("unchecked")
+        BiConsumer<Object, Object> lambda = MethodHandleSupport.lambda(lookup, method, BiConsumer.class, "accept", SETTER_TYPE, handle, handle.type().wrap().changeReturnType(void.class));
+        return lambda != null ? lambda : handle(handle, Modifier.isStatic(method.getModifiers()));
+    }
+
+    private static BiConsumer<Object, Object> handle(MethodHandle handle, boolean isStatic) {
+        MethodHandle setter = isStatic
+                ? MethodHandles.dropArguments(handle.asType(MethodType.methodType(void.class, Object.class)), 0, Object.class)
+                : handle.asType(SETTER_TYPE);
+        return (instance, value) -> {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable throwable) {
+                throw MethodHandleSupport.rethrow(throwable);
+            }
+        };
+    }
+}
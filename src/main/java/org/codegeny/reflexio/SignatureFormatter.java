@@ -0,0 +1,52 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+
+/**
+ * Formats class and method signatures (the reverse of {@link SignatureParser}), types being formatted by
+ * {@link TypeFormatter#SIGNATURE}.
+ *
+ * @author Xavier DURY
+ */
+final class SignatureFormatter {
+
+    private final StringBuilder builder = new StringBuilder();
+
+    SignatureFormatter type(Type type) {
+        TypeFormatter.SIGNATURE.format(type, builder);
+        return this;
+    }
+
+    SignatureFormatter append(char c) {
+        builder.append(c);
+        return this;
+    }
+
+    /**
+     * An interface first bound is preceded by an empty class bound.
+     */
+    SignatureFormatter typeParameters(TypeVariable<?>[] typeParameters) {
+        if (typeParameters.length > 0) {
+            builder.append('<');
+            for (TypeVariable<?> typeParameter : typeParameters) {
+                builder.append(typeParameter.getName());
+                Type[] bounds = ClassMetadata.bounds(typeParameter);
+                for (int i = 0; i < bounds.length; i++) {
+                    builder.append(':');
+                    if (i == 0 && !(bounds[0] instanceof TypeVariable<?>) && Types.raw(bounds[0]).isInterface()) {
+                        builder.append(':');
+                    }
+                    type(bounds[i]);
+                }
+            }
+            builder.append('>');
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+}
@@ -0,0 +1,365 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser for the JVM <code>Signature</code> attribute grammar (JVMS 4.7.9.1). Classes and type variables are created
+ * through a {@link Resolver} so the same parser can produce symbolic or reflective types.
+ *
+ * @author Xavier DURY
+ */
+final class SignatureParser {
+
+    private static final Type[] EMPTY_TYPE_ARRAY = new Type[0];
+
+    /**
+     * Creates the types referenced by a signature.
+     */
+    interface Resolver {
+
+        /**
+         * @param binaryName The binary name of a class or primitive type (<code>int</code>, <code>void</code>...).
+         * @return The class.
+         */
+        Type resolveClass(String binaryName);
+
+        /**
+         * Called for parameterized classes which are not explicitly nested in a parameterized owner.
+         *
+         * @param binaryName The binary name of the class.
+         * @return The declaring class or <code>null</code> if this is a top-level class.
+         */
+        Type resolveOwner(String binaryName);
+
+        /**
+         * @param name     The type variable name.
+         * @param declared True if the type variable is declared by the signature being parsed.
+         * @return The type variable.
+         */
+        Type resolveTypeVariable(String name, boolean declared);
+
+        default Type newWildcardType(Type[] lowerBounds, Type[] upperBounds) {
+            return Types.newWildcardType(lowerBounds, upperBounds);
+        }
+
+        default Type newGenericArrayType(Type componentType) {
+            return Types.newGenericArrayType(componentType);
+        }
+    }
+
+    /**
+     * Parsed class signature.
+     */
+    static final class ClassSignature {
+
+        final String[] typeParameters;
+        final Type[][] bounds;
+        final Type superclass;
+        final Type[] interfaces;
+
+        ClassSignature(String[] typeParameters, Type[][] bounds, Type superclass, Type[] interfaces) {
+            this.typeParameters = typeParameters;
+            this.bounds = bounds;
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+        }
+    }
+
+    /**
+     * Parsed method signature.
+     */
+    static final class MethodSignature {
+
+        final String[] typeParameters;
+        final Type[][] bounds;
+        final Type[] parameterTypes;
+        final Type returnType;
+        final Type[] exceptionTypes;
+
+        MethodSignature(String[] typeParameters, Type[][] bounds, Type[] parameterTypes, Type returnType, Type[] exceptionTypes) {
+            this.typeParameters = typeParameters;
+            this.bounds = bounds;
+            this.parameterTypes = parameterTypes;
+            this.returnType = returnType;
+            this.exceptionTypes = exceptionTypes;
+        }
+    }
+
+    private final String signature;
+    private final Resolver resolver;
+    private List<String> declared;
+    private int position;
+
+    SignatureParser(String signature, Resolver resolver) {
+        this.signature = signature;
+        this.resolver = resolver;
+    }
+
+    /**
+     * <pre>ClassSignature: [TypeParameters] SuperclassSignature {SuperinterfaceSignature}</pre>
+     */
+    ClassSignature parseClassSignature() {
+        List<String> names = new ArrayList<>();
+        List<Type[]> bounds = new ArrayList<>();
+        parseTypeParameters(names, bounds);
+        Type superclass = parseReferenceType();
+        List<Type> interfaces = new ArrayList<>();
+        while (position < signature.length()) {
+            interfaces.add(parseReferenceType());
+        }
+        return new ClassSignature(names.toArray(new String[0]), bounds.toArray(new Type[0][]), superclass, interfaces.toArray(EMPTY_TYPE_ARRAY));
+    }
+
+    /**
+     * <pre>MethodSignature: [TypeParameters] '(' {JavaTypeSignature} ')' Result {ThrowsSignature}</pre>
+     */
+    MethodSignature parseMethodSignature() {
+        List<String> names = new ArrayList<>();
+        List<Type[]> bounds = new ArrayList<>();
+        parseTypeParameters(names, bounds);
+        if (next() != '(') {
+            throw error();
+        }
+        List<Type> parameterTypes = new ArrayList<>();
+        while (peek() != ')') {
+            parameterTypes.add(parseType());
+        }
+        position++;
+        Type returnType = parseType();
+        List<Type> exceptionTypes = new ArrayList<>();
+        while (position < signature.length()) {
+            if (next() != '^') {
+                throw error();
+            }
+            exceptionTypes.add(parseReferenceType());
+        }
+        return new MethodSignature(names.toArray(new String[0]), bounds.toArray(new Type[0][]), parameterTypes.toArray(EMPTY_TYPE_ARRAY), returnType, exceptionTypes.toArray(EMPTY_TYPE_ARRAY));
+    }
+
+    /**
+     * <pre>JavaTypeSignature: ReferenceTypeSignature | BaseType</pre>
+     */
+    Type parseType() {
+        char c = peek();
+        switch (c) {
+            case 'L':
+            case 'T':
+            case '[':
+                return parseReferenceType();
+            default:
+                position++;
+                return resolver.resolveClass(primitive(c));
+        }
+    }
+
+    /**
+     * Parse the whole signature as a single type.
+     */
+    Type parseFieldSignature() {
+        Type type = parseType();
+        expectEnd();
+        return type;
+    }
+
+    /**
+     * <pre>TypeParameters: '&lt;' TypeParameter {TypeParameter} '&gt;'</pre>
+     * The names of all the type parameters are collected first (bounds may refer to type parameters declared later).
+     */
+    void parseTypeParameters(List<String> names, List<Type[]> bounds) {
+        if (peek() != '<') {
+            declared = names;
+            return;
+        }
+        int start = position;
+        position++;
+        while (peek() != '>') {
+            names.add(identifier(':'));
+            while (peek() == ':') {
+                position++;
+                if (peek() != ':') {
+                    skipReferenceType();
+                }
+            }
+        }
+        declared = names;
+        position = start + 1;
+        while (peek() != '>') {
+            identifier(':');
+            List<Type> typeBounds = new ArrayList<>();
+            while (peek() == ':') {
+                position++;
+                // the class bound may be empty when there are only interface bounds
+                if (peek() != ':' || !typeBounds.isEmpty()) {
+                    typeBounds.add(parseReferenceType());
+                }
+            }
+            bounds.add(typeBounds.toArray(EMPTY_TYPE_ARRAY));
+        }
+        position++;
+    }
+
+    private Type parseReferenceType() {
+        switch (next()) {
+            case 'L':
+                return parseClassType();
+            case 'T': {
+                String name = identifier(';');
+                position++;
+                return resolver.resolveTypeVariable(name, declared != null && declared.contains(name));
+            }
+            case '[':
+                return resolver.newGenericArrayType(parseType());
+            default:
+                throw error();
+        }
+    }
+
+    /**
+     * <pre>ClassTypeSignature: 'L' [PackageSpecifier] SimpleClassTypeSignature {'.' SimpleClassTypeSignature} ';'</pre>
+     * Owners are built the way core reflection does: the implicit owner of a parameterized class is its declaring
+     * class and nested classes of a parameterized owner are parameterized themselves.
+     */
+    private Type parseClassType() {
+        String binaryName = null;
+        Type type = null;
+        while (true) {
+            int start = position;
+            char c;
+            while ((c = peek()) != '<' && c != '.' && c != ';') {
+                position++;
+            }
+            String segment = signature.substring(start, position);
+            binaryName = binaryName == null ? segment.replace('/', '.') : binaryName + '$' + segment;
+            Type[] arguments = c == '<' ? parseTypeArguments() : EMPTY_TYPE_ARRAY;
+            if (type == null) {
+                type = arguments.length == 0 ? resolver.resolveClass(binaryName) : Types.newParameterizedType(resolver.resolveClass(binaryName), resolver.resolveOwner(binaryName), arguments);
+            } else if (arguments.length == 0 && !(type instanceof ParameterizedType)) {
+                type = resolver.resolveClass(binaryName);
+            } else {
+                type = Types.newParameterizedType(resolver.resolveClass(binaryName), type, arguments);
+            }
+            if (next() == ';') {
+                return type;
+            }
+        }
+    }
+
+    /**
+     * <pre>TypeArguments: '&lt;' TypeArgument {TypeArgument} '&gt;'</pre>
+     */
+    private Type[] parseTypeArguments() {
+        position++;
+        List<Type> arguments = new ArrayList<>();
+        while (peek() != '>') {
+            switch (peek()) {
+                case '*':
+                    position++;
+                    arguments.add(resolver.newWildcardType(EMPTY_TYPE_ARRAY, EMPTY_TYPE_ARRAY));
+                    break;
+                case '+':
+                    position++;
+                    arguments.add(resolver.newWildcardType(EMPTY_TYPE_ARRAY, new Type[]{parseReferenceType()}));
+                    break;
+                case '-':
+                    position++;
+                    arguments.add(resolver.newWildcardType(new Type[]{parseReferenceType()}, EMPTY_TYPE_ARRAY));
+                    break;
+                default:
+                    arguments.add(parseReferenceType());
+            }
+        }
+        position++;
+        return arguments.toArray(EMPTY_TYPE_ARRAY);
+    }
+
+    private void skipReferenceType() {
+        switch (next()) {
+            case 'L': {
+                int depth = 0;
+                char c;
+                while ((c = next()) != ';' || depth > 0) {
+                    if (c == '<') {
+                        depth++;
+                    } else if (c == '>') {
+                        depth--;
+                    }
+                }
+                break;
+            }
+            case 'T':
+                identifier(';');
+                position++;
+                break;
+            case '[':
+                if ("LT[".indexOf(peek()) >= 0) {
+                    skipReferenceType();
+                } else {
+                    position++;
+                }
+                break;
+            default:
+                throw error();
+        }
+    }
+
+    private String identifier(char terminator) {
+        int start = position;
+        int end = signature.indexOf(terminator, start);
+        if (end <= start) {
+            throw error();
+        }
+        position = end;
+        return signature.substring(start, end);
+    }
+
+    private static String primitive(char c) {
+        switch (c) {
+            case 'Z':
+                return "boolean";
+            case 'C':
+                return "char";
+            case 'B':
+                return "byte";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            case 'V':
+                return "void";
+            default:
+                throw new IllegalArgumentException("Unknown base type " + c);
+        }
+    }
+
+    private char peek() {
+        if (position >= signature.length()) {
+            throw error();
+        }
+        return signature.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expectEnd() {
+        if (position != signature.length()) {
+            throw error();
+        }
+    }
+
+    private IllegalArgumentException error() {
+        return new IllegalArgumentException(String.format("Invalid signature %s at position %d", signature, position));
+    }
+}
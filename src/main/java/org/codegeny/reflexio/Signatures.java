@@ -0,0 +1,272 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conversion between JVM generic signatures (as found in the <code>Signature</code> attribute of class files, for
+ * example <code>Ljava/util/Map&lt;TK;+Ljava/lang/Number;&gt;;</code>) and {@link Type}s.
+ * <p>
+ * Type variables are resolved against a {@link GenericDeclaration} and its enclosing declarations (enclosing method or
+ * constructor, then enclosing class) and classes are loaded (through {@link Types#loadClass(String, ClassLoader)}) from
+ * the class loader of that declaration. Parsed signatures are cached.
+ *
+ * <pre>
+ * Type type = Signatures.parseTypeSignature("Ljava/util/List&lt;+TT;&gt;;", MyClass.class);
+ * String signature = Signatures.toTypeSignature(type);
+ * </pre>
+ *
+ * @author Xavier DURY
+ */
+public final class Signatures {
+
+    private static final Cache<List<Object>, Type> TYPE_SIGNATURES = Caches.newCache("typeSignatures");
+    private static final Cache<List<Object>, ClassSignature> CLASS_SIGNATURES = Caches.newCache("classSignatures");
+    private static final Cache<List<Object>, MethodSignature> METHOD_SIGNATURES = Caches.newCache("methodSignatures");
+
+    private Signatures() {
+        throw new InternalError();
+    }
+
+    /**
+     * Parse a field (or any <code>JavaTypeSignature</code>) signature.
+     *
+     * @param signature   The signature (<code>Ljava/util/List&lt;TT;&gt;;</code>).
+     * @param declaration The declaration against which type variables are resolved.
+     * @return The type.
+     * @throws ClassNotFoundException   If a class cannot be found.
+     * @throws IllegalArgumentException If the signature is malformed or a type variable cannot be resolved.
+     */
+    public static Type parseTypeSignature(String signature, GenericDeclaration declaration) throws ClassNotFoundException {
+        try {
+            return TYPE_SIGNATURES.get(Arrays.asList(signature, declaration), key -> new SignatureParser(signature, new ReflectionResolver(declaration)).parseFieldSignature());
+        } catch (Types.UncheckedClassNotFoundException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse a class signature.
+     *
+     * @param signature The signature (<code>&lt;T:Ljava/lang/Object;&gt;Ljava/lang/Object;Ljava/util/List&lt;TT;&gt;;</code>).
+     * @param klass     The class declaring the signature (its type parameters must match the ones of the signature).
+     * @return The class signature.
+     * @throws ClassNotFoundException   If a class cannot be found.
+     * @throws IllegalArgumentException If the signature is malformed or a type variable cannot be resolved.
+     */
+    public static ClassSignature parseClassSignature(String signature, Class<?> klass) throws ClassNotFoundException {
+        try {
+            return CLASS_SIGNATURES.get(Arrays.asList(signature, klass), key -> {
+                SignatureParser.ClassSignature parsed = new SignatureParser(signature, new ReflectionResolver(klass)).parseClassSignature();
+                return new ClassSignature(typeParameters(parsed.typeParameters, klass), parsed.superclass, parsed.interfaces);
+            });
+        } catch (Types.UncheckedClassNotFoundException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse a method (or constructor) signature.
+     *
+     * @param signature  The signature (<code>&lt;T:Ljava/lang/Object;&gt;(TT;I)Ljava/util/List&lt;TT;&gt;;</code>).
+     * @param executable The method or constructor declaring the signature (its type parameters must match the ones of
+     *                   the signature).
+     * @return The method signature.
+     * @throws ClassNotFoundException   If a class cannot be found.
+     * @throws IllegalArgumentException If the signature is malformed or a type variable cannot be resolved.
+     */
+    public static MethodSignature parseMethodSignature(String signature, Executable executable) throws ClassNotFoundException {
+        try {
+            return METHOD_SIGNATURES.get(Arrays.asList(signature, executable), key -> {
+                SignatureParser.MethodSignature parsed = new SignatureParser(signature, new ReflectionResolver(executable)).parseMethodSignature();
+                return new MethodSignature(typeParameters(parsed.typeParameters, executable), parsed.parameterTypes, parsed.returnType, parsed.exceptionTypes);
+            });
+        } catch (Types.UncheckedClassNotFoundException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Format a type as a <code>JavaTypeSignature</code>.
+     *
+     * @param type The type.
+     * @return The signature.
+     */
+    public static String toTypeSignature(Type type) {
+        return TypeFormatter.SIGNATURE.format(type);
+    }
+
+    /**
+     * Format the class signature of a class.
+     *
+     * @param klass The class.
+     * @return The signature.
+     */
+    public static String toClassSignature(Class<?> klass) {
+        ClassMetadata metadata = ClassMetadata.of(klass);
+        SignatureFormatter formatter = new SignatureFormatter().typeParameters(metadata.getTypeParameters());
+        formatter.type(metadata.getGenericSuperclass() == null ? Object.class : metadata.getGenericSuperclass());
+        for (Type genericInterface : metadata.getGenericInterfaces()) {
+            formatter.type(genericInterface);
+        }
+        return formatter.toString();
+    }
+
+    /**
+     * Format the method signature of a method or constructor.
+     *
+     * @param executable The method or constructor.
+     * @return The signature.
+     */
+    public static String toMethodSignature(Executable executable) {
+        SignatureFormatter formatter = new SignatureFormatter().typeParameters(executable.getTypeParameters()).append('(');
+        for (Type parameterType : executable.getGenericParameterTypes()) {
+            formatter.type(parameterType);
+        }
+        formatter.append(')').type(executable instanceof Method ? ((Method) executable).getGenericReturnType() : void.class);
+        for (Type exceptionType : executable.getGenericExceptionTypes()) {
+            formatter.append('^').type(exceptionType);
+        }
+        return formatter.toString();
+    }
+
+    private static TypeVariable<?>[] typeParameters(String[] names, GenericDeclaration declaration) {
+        ClassMetadata.TypeVariableMetadata metadata = ClassMetadata.of(declaration);
+        TypeVariable<?>[] typeParameters = new TypeVariable<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            int index = metadata.indexOf(names[i]);
+            if (index < 0) {
+                throw new IllegalArgumentException(declaration + " does not declare type parameter " + names[i]);
+            }
+            typeParameters[i] = metadata.getTypeParameters()[index];
+        }
+        return typeParameters;
+    }
+
+    /**
+     * A parsed class signature.
+     */
+    public static final class ClassSignature {
+
+        private final TypeVariable<?>[] typeParameters;
+        private final Type superclass;
+        private final Type[] interfaces;
+
+        ClassSignature(TypeVariable<?>[] typeParameters, Type superclass, Type[] interfaces) {
+            this.typeParameters = typeParameters;
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+        }
+
+        public TypeVariable<?>[] getTypeParameters() {
+            return typeParameters.clone();
+        }
+
+        public Type getSuperclass() {
+            return superclass;
+        }
+
+        public Type[] getInterfaces() {
+            return interfaces.clone();
+        }
+    }
+
+    /**
+     * A parsed method signature.
+     */
+    public static final class MethodSignature {
+
+        private final TypeVariable<?>[] typeParameters;
+        private final Type[] parameterTypes;
+        private final Type returnType;
+        private final Type[] exceptionTypes;
+
+        MethodSignature(TypeVariable<?>[] typeParameters, Type[] parameterTypes, Type returnType, Type[] exceptionTypes) {
+            this.typeParameters = typeParameters;
+            this.parameterTypes = parameterTypes;
+            this.returnType = returnType;
+            this.exceptionTypes = exceptionTypes;
+        }
+
+        public TypeVariable<?>[] getTypeParameters() {
+            return typeParameters.clone();
+        }
+
+        public Type[] getParameterTypes() {
+            return parameterTypes.clone();
+        }
+
+        public Type getReturnType() {
+            return returnType;
+        }
+
+        public Type[] getExceptionTypes() {
+            return exceptionTypes.clone();
+        }
+    }
+
+    private static final class ReflectionResolver implements SignatureParser.Resolver {
+
+        private final GenericDeclaration declaration;
+        private final ClassLoader classLoader;
+
+        ReflectionResolver(GenericDeclaration declaration) {
+            this.declaration = declaration;
+            this.classLoader = declaringClass(declaration).getClassLoader();
+        }
+
+        @Override
+        public Type resolveClass(String binaryName) {
+            try {
+                return Types.loadClass(binaryName, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new Types.UncheckedClassNotFoundException(e);
+            }
+        }
+
+        @Override
+        public Type resolveOwner(String binaryName) {
+            return ((Class<?>) resolveClass(binaryName)).getDeclaringClass();
+        }
+
+        @Override
+        public Type resolveTypeVariable(String name, boolean declared) {
+            for (GenericDeclaration current = declaration; current != null; current = enclosing(current)) {
+                ClassMetadata.TypeVariableMetadata metadata = ClassMetadata.of(current);
+                int index = metadata.indexOf(name);
+                if (index >= 0) {
+                    return metadata.getTypeParameters()[index];
+                }
+            }
+            throw new IllegalArgumentException("Cannot resolve type variable " + name + " from " + declaration);
+        }
+
+        @Override
+        public Type newGenericArrayType(Type componentType) {
+            return Types.arrayType(componentType);
+        }
+
+        private static Class<?> declaringClass(GenericDeclaration declaration) {
+            return declaration instanceof Class<?> ? (Class<?>) declaration : ((Executable) declaration).getDeclaringClass();
+        }
+
+        private static GenericDeclaration enclosing(GenericDeclaration declaration) {
+            if (declaration instanceof Executable) {
+                return ((Executable) declaration).getDeclaringClass();
+            }
+            Class<?> klass = (Class<?>) declaration;
+            if (klass.getEnclosingMethod() != null) {
+                return klass.getEnclosingMethod();
+            }
+            if (klass.getEnclosingConstructor() != null) {
+                return klass.getEnclosingConstructor();
+            }
+            return klass.getEnclosingClass();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index from (raw) supertypes to the classes which extend or implement them, answering queries like "which
+ * classes implement <code>Converter&lt;?, String&gt;</code>" by only visiting the classes indexed under
+ * <code>Converter</code>.
+ *
+ * <pre>
+ * SubtypeIndex index = SubtypeIndex.of(registeredClasses);
+ * Set&lt;Class&lt;?&gt;&gt; converters = index.findImplementations(new TypeLiteral&lt;Converter&lt;?, String&gt;&gt;() {}.getType());
+ * </pre>
+ * <p>
+ * The type arguments of each supertype are resolved once (through {@link Types#resolveTypeArguments(Type, Class)})
+ * when the index is built. A class matches a parameterized query if its resolved supertype is assignable to the query
+ * (as per {@link Types#isAssignable(Type, Type)}) so wildcards and bounds are honored. Like for
+ * {@link Types#isAssignable(Type, Type)}, a class whose resolved arguments still contain type variables (for example
+ * <code>AbstractConverter&lt;T&gt; implements Converter&lt;T, String&gt;</code>) is matched through the bounds of
+ * these variables. Results are the same as checking each indexed class with {@link Types#isAssignable(Type, Type)}.
+ *
+ * @author Xavier DURY
+ */
+public final class SubtypeIndex {
+
+    /**
+     * Build an index.
+     *
+     * @param classes The classes to index (duplicates are ignored).
+     * @return The index.
+     */
+    public static SubtypeIndex of(Collection<? extends Class<?>> classes) {
+        Map<Class<?>, List<Subtype>> subtypes = new HashMap<>();
+        Set<Class<?>> distinct = new LinkedHashSet<>(classes);
+        for (Class<?> klass : distinct) {
+            for (Class<?> supertype : supertypes(klass)) {
+                Type resolved = ClassMetadata.of(supertype).getTypeParameters().length == 0 ? supertype : Types.findParameterizedType(klass, supertype);
+                subtypes.computeIfAbsent(supertype, k -> new ArrayList<>()).add(new Subtype(klass, resolved));
+            }
+        }
+        return new SubtypeIndex(subtypes, distinct.size());
+    }
+
+    /**
+     * The class itself, its superclasses and all its interfaces (each once).
+     */
+    private static Set<Class<?>> supertypes(Class<?> klass) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        List<Class<?>> queue = new ArrayList<>();
+        queue.add(klass);
+        for (int i = 0; i < queue.size(); i++) {
+            Class<?> current = queue.get(i);
+            if (result.add(current)) {
+                ClassMetadata metadata = ClassMetadata.of(current);
+                if (metadata.getSuperclass() != null) {
+                    queue.add(metadata.getSuperclass());
+                }
+                queue.addAll(Arrays.asList(metadata.getInterfaces()));
+            }
+        }
+        return result;
+    }
+
+    private static final class Subtype {
+
+        final Class<?> klass;
+        final Type supertype;
+
+        Subtype(Class<?> klass, Type supertype) {
+            this.klass = klass;
+            this.supertype = supertype;
+        }
+    }
+
+    private final Map<Class<?>, List<Subtype>> subtypes;
+    private final int size;
+
+    private SubtypeIndex(Map<Class<?>, List<Subtype>> subtypes, int size) {
+        this.subtypes = subtypes;
+        this.size = size;
+    }
+
+    /**
+     * Get the indexed classes which are subtypes of a raw type (including the type itself if it was indexed).
+     *
+     * @param supertype The raw type.
+     * @return The classes (in indexing order).
+     */
+    public Set<Class<?>> getSubtypes(Class<?> supertype) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Subtype subtype : subtypes.getOrDefault(supertype, Collections.emptyList())) {
+            result.add(subtype.klass);
+        }
+        return result;
+    }
+
+    /**
+     * Find the indexed classes which are subtypes of a type.
+     *
+     * @param type A class or a parameterized type whose arguments may be wildcards (<code>Converter&lt;?, String&gt;</code>,
+     *             <code>Handler&lt;? super OrderEvent&gt;</code>).
+     * @return The classes (in indexing order).
+     * @throws IllegalArgumentException If the type is neither a class nor a parameterized type.
+     */
+    public Set<Class<?>> findImplementations(Type type) {
+        if (type instanceof Class<?>) {
+            return getSubtypes((Class<?>) type);
+        }
+        if (!(type instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("Cannot find implementations of " + type);
+        }
+        Type[] patterns = ((ParameterizedType) type).getActualTypeArguments();
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Subtype subtype : subtypes.getOrDefault(Types.raw(type), Collections.emptyList())) {
+            if (subtype.supertype instanceof ParameterizedType && matches(patterns, ((ParameterizedType) subtype.supertype).getActualTypeArguments()) && Types.isAssignable(type, subtype.supertype)) {
+                result.add(subtype.klass);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cheap pre-filter on class arguments (compared like {@link Types#isAssignable(Type, Type)} does).
+     */
+    private static boolean matches(Type[] patterns, Type[] arguments) {
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i] instanceof Class<?> && arguments[i] instanceof Class<?> && !((Class<?>) patterns[i]).isAssignableFrom((Class<?>) arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of indexed classes.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "SubtypeIndex[" + size + " classes, " + subtypes.size() + " supertypes]";
+    }
+}
@@ -0,0 +1,127 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bloom filter of the supertypes (superclasses and interfaces) of a class, computed once per class, used to reject
+ * most non-assignable pairs of raw classes with a few bit operations before any generic (or cached) check.
+ * <p>
+ * Each supertype sets 2 of the 256 bits of the filter (derived from its identity hash code). A class whose 2 bits are
+ * not both set in the filter of another class is certainly not one of its supertypes, the opposite may be a false
+ * positive (a few percent for classes with tens of supertypes). Arrays and primitives are never rejected, they are
+ * left to {@link Class#isAssignableFrom(Class)}.
+ *
+ * @author Xavier DURY
+ */
+final class SupertypeFilter {
+
+    private static final int BITS = 256;
+
+    private static final ClassValue<long[]> FILTERS = new ClassValue<long[]>() {
+
+        @Override
+        protected long[] computeValue(Class<?> type) {
+            long[] filter = new long[BITS / 64];
+            for (Class<?> supertype : supertypes(type)) {
+                int hash = hash(supertype);
+                filter[(hash & BITS - 1) >>> 6] |= 1L << hash;
+                filter[(hash >>> 8 & BITS - 1) >>> 6] |= 1L << (hash >>> 8);
+            }
+            return filter;
+        }
+    };
+
+    /**
+     * The class itself and all its superclasses and interfaces, each visited once even if reachable through several
+     * paths (which would be exponential on diamond-shaped interface hierarchies).
+     */
+    static List<Class<?>> supertypes(Class<?> klass) {
+        Set<Class<?>> visited = new HashSet<>();
+        List<Class<?>> queue = new ArrayList<>();
+        visited.add(klass);
+        queue.add(klass);
+        for (int i = 0; i < queue.size(); i++) {
+            ClassMetadata metadata = ClassMetadata.of(queue.get(i));
+            if (metadata.getSuperclass() != null && visited.add(metadata.getSuperclass())) {
+                queue.add(metadata.getSuperclass());
+            }
+            for (Class<?> anInterface : metadata.getInterfaces()) {
+                if (visited.add(anInterface)) {
+                    queue.add(anInterface);
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Compute the filter of the given class (and the metadata of its supertypes) ahead of time.
+     *
+     * @param klass The class.
+     */
+    static void warm(Class<?> klass) {
+        FILTERS.get(klass);
+    }
+
+    /**
+     * Drop the filter of the given class (after it has been redefined).
+     *
+     * @param klass The class.
+     */
+    static void invalidate(Class<?> klass) {
+        FILTERS.remove(klass);
+    }
+
+    /**
+     * Check if the left class may be assignable from the right class.
+     *
+     * @param left  The left class.
+     * @param right The right class.
+     * @return False if the left class is certainly not assignable from the right class.
+     */
+    static boolean mayBeAssignable(Class<?> left, Class<?> right) {
+        if (left == right || left == Object.class || left.isArray() || right.isArray() || left.isPrimitive() || right.isPrimitive()) {
+            return true;
+        }
+        long[] filter = FILTERS.get(right);
+        int hash = hash(left);
+        return (filter[(hash & BITS - 1) >>> 6] & 1L << hash) != 0
+                && (filter[(hash >>> 8 & BITS - 1) >>> 6] & 1L << (hash >>> 8)) != 0;
+    }
+
+    /**
+     * Check if a type is certainly not assignable to another one because both are classes or parameterized types
+     * whose raw classes are not assignable (see {@link Types#isAssignable(Type, Type)}).
+     *
+     * @param left  The left type.
+     * @param right The right type.
+     * @return True if the right type is certainly not assignable to the left type.
+     */
+    static boolean rejects(Type left, Type right) {
+        Class<?> leftRaw = raw(left);
+        Class<?> rightRaw = raw(right);
+        return leftRaw != null && rightRaw != null && !mayBeAssignable(leftRaw, rightRaw);
+    }
+
+    private static Class<?> raw(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) type).getRawType();
+            return rawType instanceof Class<?> ? (Class<?>) rawType : null;
+        }
+        return type instanceof Class<?> ? (Class<?>) type : null;
+    }
+
+    private static int hash(Class<?> klass) {
+        int hash = System.identityHashCode(klass) * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    private SupertypeFilter() {
+        throw new InternalError();
+    }
+}
@@ -0,0 +1,85 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * Symbolic counterpart of {@link ArgumentTypesResolver}.
+ *
+ * @author Xavier DURY
+ */
+final class SymbolicArgumentTypesResolver implements SymbolicTypeVisitor<Type[]> {
+
+    private final SymbolicTypes types;
+    private final String reference;
+
+    SymbolicArgumentTypesResolver(SymbolicTypes types, String reference) {
+        this.types = types;
+        this.reference = reference;
+    }
+
+    @Override
+    public Type[] visitClassName(ClassName className) {
+        ClassDescriptor descriptor = types.descriptor(className.getName());
+        if (reference.equals(className.getName())) {
+            // Copy the type parameters as a Type[], the result is modified in visitParameterizedType
+            TypeVariableName[] typeParameters = descriptor.typeParameters();
+            return Arrays.copyOf(typeParameters, typeParameters.length, Type[].class);
+        }
+        Type superclass = descriptor.getSuperclass();
+        if (superclass != null && types.isRawAssignable(reference, types.raw(superclass))) {
+            return SymbolicTypeVisitor.accept(this, superclass);
+        }
+        for (Type anInterface : descriptor.interfaces()) {
+            if (types.isRawAssignable(reference, types.raw(anInterface))) {
+                return SymbolicTypeVisitor.accept(this, anInterface);
+            }
+        }
+        throw new IllegalArgumentException(String.format("%s is not assignable to %s", className, reference));
+    }
+
+    @Override
+    public Type[] visitParameterizedType(ParameterizedType parameterizedType) {
+        ClassName rawType = (ClassName) parameterizedType.getRawType(); // always a ClassName
+        ClassDescriptor descriptor = types.descriptor(rawType.getName());
+        Type[] result = SymbolicTypeVisitor.accept(this, rawType);
+        Type[] arguments = parameterizedType.getActualTypeArguments();
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] instanceof TypeVariableName) {
+                int j = descriptor.indexOfTypeParameter(((TypeVariableName) result[i]).getName());
+                if (j >= 0) {
+                    result[i] = arguments[j];
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Type[] visitTypeVariableName(TypeVariableName typeVariableName) {
+        for (Type bound : types.bounds(typeVariableName)) {
+            if (types.isAssignable(SymbolicTypes.className(reference), bound)) {
+                return SymbolicTypeVisitor.accept(this, bound);
+            }
+        }
+        throw new IllegalArgumentException(String.format("%s is not assignable to %s", typeVariableName, reference));
+    }
+
+    @Override
+    public Type[] visitGenericArrayType(GenericArrayType genericArrayType) {
+        throw new IllegalArgumentException(String.format("%s is not assignable to %s", genericArrayType, reference));
+    }
+
+    @Override
+    public Type[] visitWildcardType(WildcardType wildcardType) {
+        for (Type upperBound : wildcardType.getUpperBounds()) {
+            if (types.isAssignable(SymbolicTypes.className(reference), upperBound)) {
+                return SymbolicTypeVisitor.accept(this, upperBound);
+            }
+        }
+        throw new IllegalArgumentException(String.format("%s is not assignable to %s", wildcardType, reference));
+    }
+}
@@ -0,0 +1,247 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Symbolic counterpart of {@link AssignabilityTypeVisitor}.
+ *
+ * @author Xavier DURY
+ */
+class SymbolicAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+    private final SymbolicTypes types;
+    private final Type right;
+    private final Map<TypeVariableName, Type> captures;
+    private final BiPredicate<Type, Type> assignability = this::isAssignable;
+
+    SymbolicAssignabilityTypeVisitor(SymbolicTypes types, Type right, Map<TypeVariableName, Type> captures) {
+        this.types = types;
+        this.right = right;
+        this.captures = captures;
+    }
+
+    @Override
+    public Boolean visitClassName(ClassName left) {
+        return SymbolicTypeVisitor.accept(new ClassNameAssignabilityTypeVisitor(left), right);
+    }
+
+    @Override
+    public Boolean visitParameterizedType(ParameterizedType left) {
+        return SymbolicTypeVisitor.accept(new ParameterizedTypeAssignabilityTypeVisitor(left), right);
+    }
+
+    @Override
+    public Boolean visitGenericArrayType(GenericArrayType left) {
+        return SymbolicTypeVisitor.accept(new GenericArrayTypeAssignabilityTypeVisitor(left), right);
+    }
+
+    @Override
+    public Boolean visitWildcardType(WildcardType left) {
+        return SymbolicTypeVisitor.accept(new WildcardTypeAssignabilityTypeVisitor(left), right);
+    }
+
+    @Override
+    public Boolean visitTypeVariableName(TypeVariableName left) {
+        return SymbolicTypeVisitor.accept(new TypeVariableNameAssignabilityTypeVisitor(left), right);
+    }
+
+    private Boolean isAssignable(Type left, Type right) {
+        return types.isAssignable(left, right, captures);
+    }
+
+    private class ClassNameAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+        private final ClassName left;
+
+        ClassNameAssignabilityTypeVisitor(ClassName left) {
+            this.left = left;
+        }
+
+        @Override
+        public Boolean visitClassName(ClassName right) {
+            return types.isRawAssignable(left.getName(), right.getName());
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType right) {
+            return SymbolicTypeVisitor.accept(this, right.getRawType());
+        }
+
+        @Override
+        public Boolean visitTypeVariableName(TypeVariableName right) {
+            return Assignability.isAssignableFromBounds(captures, right, types.bounds(right), left, (l, b) -> SymbolicTypeVisitor.accept(this, b));
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType right) {
+            // arrays are never represented by a ClassName, so only the array supertypes are assignable
+            return SymbolicTypes.ARRAY_SUPERTYPES.contains(left.getName());
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType right) {
+            return Assignability.isWithin(left, right, assignability);
+        }
+    }
+
+    private class ParameterizedTypeAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+        private final ParameterizedType left;
+
+        ParameterizedTypeAssignabilityTypeVisitor(ParameterizedType left) {
+            this.left = left;
+        }
+
+        @Override
+        public Boolean visitClassName(ClassName right) {
+            String reference = types.raw(left);
+            return types.isRawAssignable(reference, right.getName()) && isAssignable(left, types.findParameterizedType(right, reference));
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType right) {
+
+            if (!isAssignable(left.getRawType(), right.getRawType())) {
+                return false;
+            }
+
+            Type[] rightArguments = SymbolicTypeVisitor.accept(new SymbolicArgumentTypesResolver(types, types.raw(left)), right);
+            Type[] leftArguments = left.getActualTypeArguments();
+
+            if (rightArguments.length != leftArguments.length) {
+                throw new InternalError();
+            }
+
+            return IntStream.range(0, rightArguments.length).allMatch(i -> isAssignable(leftArguments[i], rightArguments[i]));
+        }
+
+        @Override
+        public Boolean visitTypeVariableName(TypeVariableName right) {
+            return Stream.of(types.bounds(right)).allMatch(b -> isAssignable(left, b));
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType right) {
+            return Assignability.isWithin(left, right, assignability);
+        }
+    }
+
+    private class GenericArrayTypeAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+        private final GenericArrayType left;
+
+        GenericArrayTypeAssignabilityTypeVisitor(GenericArrayType left) {
+            this.left = left;
+        }
+
+        @Override
+        public Boolean visitClassName(ClassName right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType right) {
+            return isAssignable(left.getGenericComponentType(), right.getGenericComponentType());
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitTypeVariableName(TypeVariableName right) {
+            return false;
+        }
+    }
+
+    private class WildcardTypeAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+        private final WildcardType left;
+
+        WildcardTypeAssignabilityTypeVisitor(WildcardType left) {
+            this.left = left;
+        }
+
+        @Override
+        public Boolean visitClassName(ClassName right) {
+            return Assignability.contains(left, new Type[]{right}, new Type[]{right}, assignability);
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType right) {
+            return Assignability.contains(left, right.getLowerBounds(), right.getUpperBounds(), assignability);
+        }
+
+        @Override
+        public Boolean visitTypeVariableName(TypeVariableName right) {
+            return Stream.of(left.getLowerBounds()).allMatch(b -> Stream.of(types.bounds(right)).allMatch(c -> isAssignable(b, c)))
+                    && Stream.of(left.getUpperBounds()).allMatch(b -> Stream.of(types.bounds(right)).allMatch(c -> isAssignable(c, b)));
+        }
+    }
+
+    private class TypeVariableNameAssignabilityTypeVisitor implements SymbolicTypeVisitor<Boolean> {
+
+        private final TypeVariableName left;
+
+        TypeVariableNameAssignabilityTypeVisitor(TypeVariableName left) {
+            this.left = left;
+        }
+
+        @Override
+        public Boolean visitClassName(ClassName right) {
+            return capture(right);
+        }
+
+        @Override
+        public Boolean visitGenericArrayType(GenericArrayType right) {
+            return capture(right);
+        }
+
+        @Override
+        public Boolean visitWildcardType(WildcardType right) {
+            return false;
+        }
+
+        @Override
+        public Boolean visitParameterizedType(ParameterizedType right) {
+            return capture(right);
+        }
+
+        private boolean capture(Type right) {
+            return Assignability.capture(captures, left, types.bounds(left), right, assignability);
+        }
+
+        @Override
+        public Boolean visitTypeVariableName(TypeVariableName right) {
+            return left.equals(right) || Stream.of(types.bounds(right)).allMatch(t -> SymbolicTypeVisitor.accept(this, t));
+        }
+    }
+}
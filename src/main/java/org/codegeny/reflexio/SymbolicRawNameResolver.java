@@ -0,0 +1,44 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Symbolic counterpart of {@link RawClassResolver}.
+ *
+ * @author Xavier DURY
+ */
+final class SymbolicRawNameResolver implements SymbolicTypeVisitor<String> {
+
+    private final SymbolicTypes types;
+
+    SymbolicRawNameResolver(SymbolicTypes types) {
+        this.types = types;
+    }
+
+    @Override
+    public String visitClassName(ClassName className) {
+        return className.getName();
+    }
+
+    @Override
+    public String visitParameterizedType(ParameterizedType parameterizedType) {
+        return SymbolicTypeVisitor.accept(this, parameterizedType.getRawType());
+    }
+
+    @Override
+    public String visitGenericArrayType(GenericArrayType genericArrayType) {
+        return SymbolicTypes.arrayName(SymbolicTypeVisitor.accept(this, genericArrayType.getGenericComponentType()));
+    }
+
+    @Override
+    public String visitWildcardType(WildcardType wildcardType) {
+        return SymbolicTypeVisitor.accept(this, wildcardType.getUpperBounds()[0]);
+    }
+
+    @Override
+    public String visitTypeVariableName(TypeVariableName typeVariableName) {
+        return SymbolicTypeVisitor.accept(this, types.bounds(typeVariableName)[0]);
+    }
+}
@@ -0,0 +1,73 @@
+package org.codegeny.reflexio;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Converts reflective types to symbolic ones.
+ *
+ * @author Xavier DURY
+ */
+enum SymbolicTypeConverter implements TypeVisitor<Type> {
+
+    INSTANCE;
+
+    @Override
+    public <T> Type visitClass(Class<T> klass) {
+        return klass.isArray()
+                ? Types.newGenericArrayType(TypeVisitor.accept(this, klass.getComponentType()))
+                : SymbolicTypes.className(klass.getName());
+    }
+
+    @Override
+    public Type visitParameterizedType(ParameterizedType parameterizedType) {
+        return Types.newParameterizedType(
+                TypeVisitor.accept(this, parameterizedType.getRawType()),
+                TypeVisitor.accept(this, parameterizedType.getOwnerType()),
+                TypeVisitor.accept(this, Type[]::new, parameterizedType.getActualTypeArguments())
+        );
+    }
+
+    @Override
+    public Type visitGenericArrayType(GenericArrayType genericArrayType) {
+        return Types.newGenericArrayType(TypeVisitor.accept(this, genericArrayType.getGenericComponentType()));
+    }
+
+    @Override
+    public Type visitWildcardType(WildcardType wildcardType) {
+        return SymbolicTypes.newWildcardType(
+                TypeVisitor.accept(this, Type[]::new, wildcardType.getLowerBounds()),
+                TypeVisitor.accept(this, Type[]::new, wildcardType.getUpperBounds())
+        );
+    }
+
+    @Override
+    public <D extends GenericDeclaration> Type visitTypeVariable(TypeVariable<D> typeVariable) {
+        D declaration = typeVariable.getGenericDeclaration();
+        if (declaration instanceof Class<?>) {
+            return SymbolicTypes.typeVariable(typeVariable.getName(), ((Class<?>) declaration).getName());
+        }
+        if (declaration instanceof Executable) {
+            Executable executable = (Executable) declaration;
+            return SymbolicTypes.typeVariable(typeVariable.getName(), executable.getDeclaringClass().getName(), methodName(executable));
+        }
+        return SymbolicTypes.typeVariable(typeVariable.getName(), null);
+    }
+
+    /**
+     * The name and descriptor of a method or constructor, as found in the <code>EnclosingMethod</code> attribute of the
+     * class files of local classes.
+     */
+    private static String methodName(Executable executable) {
+        return executable instanceof Method
+                ? executable.getName().concat(MethodType.methodType(((Method) executable).getReturnType(), executable.getParameterTypes()).toMethodDescriptorString())
+                : "<init>".concat(MethodType.methodType(void.class, executable.getParameterTypes()).toMethodDescriptorString());
+    }
+}
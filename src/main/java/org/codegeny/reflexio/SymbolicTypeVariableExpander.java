@@ -0,0 +1,63 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Symbolic counterpart of {@link TypeVariableExpander}.
+ *
+ * @author Xavier DURY
+ */
+final class SymbolicTypeVariableExpander implements SymbolicTypeVisitor<Type> {
+
+    private final SymbolicTypes types;
+    private final String reference;
+
+    SymbolicTypeVariableExpander(SymbolicTypes types, String reference) {
+        this.types = types;
+        this.reference = reference;
+    }
+
+    @Override
+    public Type visitClassName(ClassName className) {
+        return className;
+    }
+
+    @Override
+    public Type visitParameterizedType(ParameterizedType parameterizedType) {
+        return Types.newParameterizedType(
+                SymbolicTypeVisitor.accept(this, parameterizedType.getRawType()),
+                SymbolicTypeVisitor.accept(this, parameterizedType.getOwnerType()),
+                SymbolicTypeVisitor.accept(this, Type[]::new, parameterizedType.getActualTypeArguments())
+        );
+    }
+
+    @Override
+    public Type visitWildcardType(WildcardType wildcardType) {
+        return SymbolicTypes.newWildcardType(
+                SymbolicTypeVisitor.accept(this, Type[]::new, wildcardType.getLowerBounds()),
+                SymbolicTypeVisitor.accept(this, Type[]::new, wildcardType.getUpperBounds())
+        );
+    }
+
+    @Override
+    public Type visitGenericArrayType(GenericArrayType genericArrayType) {
+        return Types.newGenericArrayType(SymbolicTypeVisitor.accept(this, genericArrayType.getGenericComponentType()));
+    }
+
+    @Override
+    public Type visitTypeVariableName(TypeVariableName typeVariableName) {
+        String declaringClassName = typeVariableName.getDeclaringClassName();
+        if (declaringClassName == null || typeVariableName.getDeclaringMethodName() != null) {
+            return typeVariableName;
+        }
+        int index = types.descriptor(declaringClassName).indexOfTypeParameter(typeVariableName.getName());
+        if (index < 0) {
+            return typeVariableName;
+        }
+        Type[] args = new SymbolicArgumentTypesResolver(types, declaringClassName).visitClassName(SymbolicTypes.className(reference));
+        return args[index].equals(typeVariableName) ? args[index] : SymbolicTypeVisitor.accept(this, args[index]);
+    }
+}
@@ -0,0 +1,65 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Visitor for symbolic {@link Type}s (made of {@link ClassName}s and {@link TypeVariableName}s instead of
+ * {@link Class}es and {@link java.lang.reflect.TypeVariable}s).
+ *
+ * @param <R> The result type of the visitor.
+ * @author Xavier DURY
+ * @see TypeVisitor
+ */
+public interface SymbolicTypeVisitor<R> {
+
+    default R visitClassName(ClassName className) {
+        throw new UnsupportedOperationException("Not defined for ClassName / " + getClass().getSimpleName());
+    }
+
+    default R visitParameterizedType(ParameterizedType parameterizedType) {
+        throw new UnsupportedOperationException("Not defined for ParameterizedType / " + getClass().getSimpleName());
+    }
+
+    default R visitGenericArrayType(GenericArrayType genericArrayType) {
+        throw new UnsupportedOperationException("Not defined for GenericArrayType / " + getClass().getSimpleName());
+    }
+
+    default R visitWildcardType(WildcardType wildcardType) {
+        throw new UnsupportedOperationException("Not defined for WildcardType / " + getClass().getSimpleName());
+    }
+
+    default R visitTypeVariableName(TypeVariableName typeVariableName) {
+        throw new UnsupportedOperationException("Not defined for TypeVariableName / " + getClass().getSimpleName());
+    }
+
+    static <R> R[] accept(SymbolicTypeVisitor<R> visitor, IntFunction<R[]> generator, Type... types) {
+        return Stream.of(types).map(type -> accept(visitor, type)).toArray(generator);
+    }
+
+    static <R> R accept(SymbolicTypeVisitor<R> visitor, Type type) {
+        if (type == null) {
+            return null;
+        }
+        if (type instanceof ClassName) {
+            return visitor.visitClassName((ClassName) type);
+        }
+        if (type instanceof ParameterizedType) {
+            return visitor.visitParameterizedType((ParameterizedType) type);
+        }
+        if (type instanceof GenericArrayType) {
+            return visitor.visitGenericArrayType((GenericArrayType) type);
+        }
+        if (type instanceof WildcardType) {
+            return visitor.visitWildcardType((WildcardType) type);
+        }
+        if (type instanceof TypeVariableName) {
+            return visitor.visitTypeVariableName((TypeVariableName) type);
+        }
+        throw new IllegalArgumentException("Unknown symbolic type");
+    }
+}
@@ -0,0 +1,285 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generic type analysis on a <em>symbolic</em> type model, that is without loading (or even having access to) the
+ * classes involved. Symbolic types are made of {@link ClassName}s (in place of {@link Class}es) and
+ * {@link TypeVariableName}s (in place of {@link java.lang.reflect.TypeVariable}s) combined with the regular
+ * {@link ParameterizedType}, {@link GenericArrayType} and {@link WildcardType} implementations. Arrays are always
+ * represented as {@link GenericArrayType}s.
+ * <p>
+ * The class hierarchy is obtained from a {@link ClassMetadataProvider}. This class mirrors {@link Types}: it offers
+ * {@link #resolveTypeArguments(Type, String)}, {@link #isAssignable(Type, Type)}, {@link #expand(Type, String)} and
+ * {@link #raw(Type)} (which returns a name).
+ *
+ * @author Xavier DURY
+ */
+public final class SymbolicTypes {
+
+    private static final Type[] OBJECT_BOUNDS = {ClassName.OBJECT};
+    static final Set<String> ARRAY_SUPERTYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("java.lang.Object", "java.lang.Cloneable", "java.io.Serializable")));
+    private static final Map<String, Character> PRIMITIVES;
+
+    private final ClassMetadataProvider provider;
+    private final Cache<String, Optional<ClassDescriptor>> descriptors = Caches.newCache("symbolicDescriptors");
+    private final Cache<String, Set<String>> supertypes = Caches.newCache("symbolicSupertypes");
+
+    public SymbolicTypes(ClassMetadataProvider provider) {
+        this.provider = Objects.requireNonNull(provider);
+    }
+
+    public static ClassName className(String name) {
+        return new ClassName(name);
+    }
+
+    public static TypeVariableName typeVariable(String name, String declaringClassName) {
+        return new TypeVariableName(name, declaringClassName, null);
+    }
+
+    /**
+     * Create a symbolic type variable declared by a method or a constructor.
+     *
+     * @param name                The name of the type variable.
+     * @param declaringClassName  The binary name of the class declaring the method.
+     * @param declaringMethodName The name and descriptor of the method (<code>get(I)Ljava/lang/Object;</code>).
+     * @return The type variable.
+     */
+    public static TypeVariableName typeVariable(String name, String declaringClassName, String declaringMethodName) {
+        return new TypeVariableName(name, declaringClassName, declaringMethodName);
+    }
+
+    /**
+     * Create a symbolic wildcard type. Contrary to {@link Types#newWildcardType(Type[], Type[])}, missing upper bounds
+     * default to {@link ClassName#OBJECT}.
+     *
+     * @param lowerBounds The lower bounds.
+     * @param upperBounds The upper bounds.
+     * @return The wildcard type.
+     */
+    public static WildcardType newWildcardType(Type[] lowerBounds, Type[] upperBounds) {
+        return Types.newWildcardType(lowerBounds, upperBounds.length == 0 ? new Type[]{ClassName.OBJECT} : upperBounds);
+    }
+
+    /**
+     * Convert a reflective type to a symbolic one.
+     *
+     * @param type The reflective type.
+     * @return The symbolic type.
+     */
+    public static Type symbolic(Type type) {
+        return TypeVisitor.accept(SymbolicTypeConverter.INSTANCE, type);
+    }
+
+    /**
+     * Describe a loaded class symbolically.
+     *
+     * @param klass The class.
+     * @return The descriptor.
+     */
+    public static ClassDescriptor describe(Class<?> klass) {
+        ClassMetadata metadata = ClassMetadata.of(klass);
+        TypeVariableName[] typeParameters = new TypeVariableName[metadata.getTypeParameters().length];
+        Type[][] bounds = new Type[typeParameters.length][];
+        for (int i = 0; i < typeParameters.length; i++) {
+            typeParameters[i] = (TypeVariableName) symbolic(metadata.getTypeParameters()[i]);
+            bounds[i] = TypeVisitor.accept(SymbolicTypeConverter.INSTANCE, Type[]::new, ClassMetadata.bounds(metadata.getTypeParameters()[i]));
+        }
+        return new ClassDescriptor(
+                klass.getName(),
+                klass.isInterface(),
+                typeParameters,
+                bounds,
+                symbolic(metadata.getGenericSuperclass()),
+                TypeVisitor.accept(SymbolicTypeConverter.INSTANCE, Type[]::new, metadata.getGenericInterfaces())
+        );
+    }
+
+    /**
+     * Get the (cached) descriptor of a class.
+     *
+     * @param className The binary class name.
+     * @return The descriptor or <code>null</code> if the class is unknown to the provider.
+     */
+    public ClassDescriptor describe(String className) {
+        return descriptors.get(className, name -> Optional.ofNullable(provider.describe(name))).orElse(null);
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#resolveTypeArguments(Type, Class)}.
+     *
+     * @param type      The symbolic type.
+     * @param reference The binary name of the reference class.
+     * @return The type arguments of the reference class.
+     */
+    public Type[] resolveTypeArguments(Type type, String reference) {
+        return SymbolicTypeVisitor.accept(new SymbolicArgumentTypesResolver(this, reference), type);
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#findParameterizedType(Type, Class)}.
+     *
+     * @param type      The symbolic type.
+     * @param reference The binary name of the reference class.
+     * @return The parameterized reference class.
+     */
+    public ParameterizedType findParameterizedType(Type type, String reference) {
+        return Types.newParameterizedType(className(reference), null, resolveTypeArguments(type, reference));
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#isAssignable(Type, Type)}.
+     *
+     * @param left  The left symbolic type.
+     * @param right The right symbolic type.
+     * @return True if right is assignable to left.
+     */
+    public boolean isAssignable(Type left, Type right) {
+        Map<TypeVariableName, Type> captures = new HashMap<>();
+        return isAssignable(left, right, captures) && captures.isEmpty();
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#isAssignable(Type, Type, Map)}.
+     *
+     * @param left     The left symbolic type.
+     * @param right    The right symbolic type.
+     * @param captures A map which already contains captures or into which new captures will be added.
+     * @return True if right is assignable to left.
+     */
+    public boolean isAssignable(Type left, Type right, Map<TypeVariableName, Type> captures) {
+        return Boolean.TRUE.equals(SymbolicTypeVisitor.accept(new SymbolicAssignabilityTypeVisitor(this, right, captures), left));
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#expand(Type, Class)}.
+     *
+     * @param type      The symbolic type.
+     * @param reference The binary name of the reference class.
+     * @return The expanded type.
+     */
+    public Type expand(Type type, String reference) {
+        return SymbolicTypeVisitor.accept(new SymbolicTypeVariableExpander(this, reference), type);
+    }
+
+    /**
+     * Symbolic counterpart of {@link Types#raw(Type)}.
+     *
+     * @param type The symbolic type.
+     * @return The binary name of the raw class (as {@link Class#getName()} would return it).
+     */
+    public String raw(Type type) {
+        return SymbolicTypeVisitor.accept(new SymbolicRawNameResolver(this), type);
+    }
+
+    /**
+     * Check if the class named right is assignable to the class named left (as {@link Class#isAssignableFrom(Class)}
+     * does).
+     *
+     * @param left  The binary name of the left class.
+     * @param right The binary name of the right class.
+     * @return True if right is assignable to left.
+     */
+    public boolean isRawAssignable(String left, String right) {
+        if (left.equals(right)) {
+            return true;
+        }
+        if (PRIMITIVES.containsKey(left) || PRIMITIVES.containsKey(right)) {
+            return false;
+        }
+        if (right.startsWith("[")) {
+            if (ARRAY_SUPERTYPES.contains(left)) {
+                return true;
+            }
+            if (!left.startsWith("[")) {
+                return false;
+            }
+            String leftComponent = left.substring(1);
+            String rightComponent = right.substring(1);
+            return leftComponent.startsWith("L") && rightComponent.startsWith("L")
+                    ? isRawAssignable(leftComponent.substring(1, leftComponent.length() - 1), rightComponent.substring(1, rightComponent.length() - 1))
+                    : leftComponent.startsWith("[") && rightComponent.startsWith("[") && isRawAssignable(leftComponent, rightComponent);
+        }
+        return left.equals("java.lang.Object") || supertypes(right).contains(left);
+    }
+
+    static String arrayName(String componentName) {
+        if (componentName.startsWith("[")) {
+            return "[".concat(componentName);
+        }
+        Character code = PRIMITIVES.get(componentName);
+        return code != null ? "[" + code : "[L" + componentName + ";";
+    }
+
+    /**
+     * The names of all the superclasses and interfaces of a class, each visited once even if reachable through several
+     * paths (which would be exponential on diamond-shaped interface hierarchies).
+     */
+    private Set<String> supertypes(String className) {
+        return supertypes.get(className, name -> {
+            Set<String> visited = new HashSet<>();
+            List<String> queue = new ArrayList<>();
+            visited.add(name);
+            queue.add(name);
+            for (int i = 0; i < queue.size(); i++) {
+                ClassDescriptor descriptor = describe(queue.get(i));
+                if (descriptor != null) {
+                    if (descriptor.getSuperclass() != null) {
+                        String superclass = raw(descriptor.getSuperclass());
+                        if (visited.add(superclass)) {
+                            queue.add(superclass);
+                        }
+                    }
+                    for (Type type : descriptor.interfaces()) {
+                        String anInterface = raw(type);
+                        if (visited.add(anInterface)) {
+                            queue.add(anInterface);
+                        }
+                    }
+                }
+            }
+            visited.remove(name);
+            return Collections.unmodifiableSet(visited);
+        });
+    }
+
+    ClassDescriptor descriptor(String className) {
+        ClassDescriptor descriptor = describe(className);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Unknown class " + className);
+        }
+        return descriptor;
+    }
+
+    Type[] bounds(TypeVariableName typeVariableName) {
+        ClassDescriptor descriptor = typeVariableName.getDeclaringClassName() == null || typeVariableName.getDeclaringMethodName() != null ? null : describe(typeVariableName.getDeclaringClassName());
+        return descriptor == null ? OBJECT_BOUNDS : descriptor.bounds(typeVariableName.getName());
+    }
+
+    static {
+        Map<String, Character> primitives = new HashMap<>();
+        primitives.put("boolean", 'Z');
+        primitives.put("char", 'C');
+        primitives.put("byte", 'B');
+        primitives.put("short", 'S');
+        primitives.put("int", 'I');
+        primitives.put("long", 'J');
+        primitives.put("float", 'F');
+        primitives.put("double", 'D');
+        primitives.put("void", 'V');
+        PRIMITIVES = Collections.unmodifiableMap(primitives);
+    }
+}
@@ -0,0 +1,289 @@
+package org.codegeny.reflexio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Formats {@link Type}s (reflective or {@link SymbolicTypes symbolic}) directly into an {@link Appendable}, without
+ * building intermediate strings.
+ *
+ * <pre>
+ * StringBuilder builder = new StringBuilder("Cannot convert to ");
+ * TypeFormatter.SIMPLE.format(type, builder); // Cannot convert to Map&lt;String, List&lt;? extends Number&gt;&gt;
+ * </pre>
+ *
+ * @author Xavier DURY
+ */
+public enum TypeFormatter {
+
+    /**
+     * Binary class names with type arguments (<code>java.util.Map$Entry&lt;java.lang.String, int[]&gt;</code>). For
+     * types without type variables, the result can be parsed back with {@link Types#parseType(String)} (the type
+     * arguments of owner types, which the parser cannot read, are not written).
+     */
+    QUALIFIED,
+
+    /**
+     * Simple class names with type arguments (<code>Map.Entry&lt;String, int[]&gt;</code>), for humans.
+     */
+    SIMPLE,
+
+    /**
+     * Binary names of the erasures (<code>java.util.Map$Entry</code>), type variables being replaced by the erasure
+     * of their first bound.
+     */
+    ERASED,
+
+    /**
+     * JVM signatures (<code>Ljava/util/Map$Entry&lt;Ljava/lang/String;[I&gt;;</code>), see {@link Signatures}.
+     */
+    SIGNATURE;
+
+    /**
+     * Format a type.
+     *
+     * @param type The type.
+     * @return The formatted type.
+     */
+    public String format(Type type) {
+        return format(type, new StringBuilder()).toString();
+    }
+
+    /**
+     * Format a type into a string builder.
+     *
+     * @param type    The type.
+     * @param builder The builder.
+     * @return The builder.
+     */
+    public StringBuilder format(Type type, StringBuilder builder) {
+        new Writer(this, builder).type(type);
+        return builder;
+    }
+
+    /**
+     * Format a type into an appendable (a {@link java.io.Writer}, a {@link java.nio.CharBuffer}...).
+     *
+     * @param type       The type.
+     * @param appendable The appendable.
+     * @param <A>        The appendable type.
+     * @return The appendable.
+     * @throws IOException If the appendable throws one.
+     */
+    public <A extends Appendable> A formatTo(Type type, A appendable) throws IOException {
+        try {
+            new Writer(this, appendable).type(type);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return appendable;
+    }
+
+    private static final class Writer implements TypeVisitor<Void> {
+
+        private final TypeFormatter style;
+        private final Appendable appendable;
+
+        Writer(TypeFormatter style, Appendable appendable) {
+            this.style = style;
+            this.appendable = appendable;
+        }
+
+        void type(Type type) {
+            if (type instanceof ClassName) {
+                className(((ClassName) type).getName());
+            } else if (type instanceof TypeVariableName) {
+                variable(((TypeVariableName) type).getName(), ClassName.OBJECT);
+            } else {
+                TypeVisitor.accept(this, type);
+            }
+        }
+
+        @Override
+        public <T> Void visitClass(Class<T> klass) {
+            if (klass.isArray()) {
+                if (style == SIGNATURE) {
+                    append('[');
+                    type(klass.getComponentType());
+                } else {
+                    type(klass.getComponentType());
+                    append("[]");
+                }
+            } else if (style == SIGNATURE && klass.isPrimitive()) {
+                append(klass == long.class ? 'J' : klass == boolean.class ? 'Z' : Character.toUpperCase(klass.getName().charAt(0)));
+            } else if (style == SIMPLE && !klass.isPrimitive()) {
+                simpleName(klass);
+            } else {
+                className(klass.getName());
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitParameterizedType(ParameterizedType parameterizedType) {
+            if (style == ERASED) {
+                type(parameterizedType.getRawType());
+            } else {
+                parameterizedType(parameterizedType, true);
+            }
+            return null;
+        }
+
+        /**
+         * In signatures, parameterized owners are written without their trailing semicolon
+         * (<code>Lpackage/Outer&lt;...&gt;.Inner&lt;...&gt;;</code>).
+         */
+        private void parameterizedType(ParameterizedType parameterizedType, boolean semicolon) {
+            Type rawType = parameterizedType.getRawType();
+            Type ownerType = parameterizedType.getOwnerType();
+            if (style == SIGNATURE && ownerType instanceof ParameterizedType && rawType instanceof Class<?>) {
+                parameterizedType((ParameterizedType) ownerType, false);
+                String name = ((Class<?>) rawType).getName();
+                append('.').append(name, Types.raw(ownerType).getName().length() + 1, name.length());
+            } else if (style == SIGNATURE) {
+                append('L').append(rawName(rawType).replace('.', '/'));
+            } else {
+                type(rawType);
+            }
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (arguments.length > 0) {
+                append('<');
+                for (int i = 0; i < arguments.length; i++) {
+                    if (i > 0 && style != SIGNATURE) {
+                        append(", ");
+                    }
+                    type(arguments[i]);
+                }
+                append('>');
+            }
+            if (semicolon && style == SIGNATURE) {
+                append(';');
+            }
+        }
+
+        @Override
+        public Void visitGenericArrayType(GenericArrayType genericArrayType) {
+            if (style == SIGNATURE) {
+                append('[');
+                type(genericArrayType.getGenericComponentType());
+            } else {
+                type(genericArrayType.getGenericComponentType());
+                append("[]");
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitWildcardType(WildcardType wildcardType) {
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            boolean unbounded = upperBounds.length == 0 || upperBounds[0] == Object.class || ClassName.OBJECT.equals(upperBounds[0]);
+            if (style == ERASED) {
+                type(unbounded ? Object.class : upperBounds[0]);
+            } else if (style == SIGNATURE) {
+                if (lowerBounds.length > 0) {
+                    append('-');
+                    type(lowerBounds[0]);
+                } else if (unbounded) {
+                    append('*');
+                } else {
+                    append('+');
+                    type(upperBounds[0]);
+                }
+            } else {
+                append('?');
+                if (lowerBounds.length > 0) {
+                    bounds(" super ", lowerBounds);
+                } else if (!unbounded) {
+                    bounds(" extends ", upperBounds);
+                }
+            }
+            return null;
+        }
+
+        private void bounds(String keyword, Type[] bounds) {
+            append(keyword);
+            for (int i = 0; i < bounds.length; i++) {
+                if (i > 0) {
+                    append(", ");
+                }
+                type(bounds[i]);
+            }
+        }
+
+        @Override
+        public <D extends GenericDeclaration> Void visitTypeVariable(TypeVariable<D> typeVariable) {
+            variable(typeVariable.getName(), style == ERASED ? ClassMetadata.bounds(typeVariable)[0] : null);
+            return null;
+        }
+
+        private void variable(String name, Type erasure) {
+            if (style == ERASED) {
+                type(erasure);
+            } else if (style == SIGNATURE) {
+                append('T').append(name).append(';');
+            } else {
+                append(name);
+            }
+        }
+
+        private void className(String name) {
+            if (style == SIGNATURE) {
+                append('L').append(name.replace('.', '/')).append(';');
+            } else if (style == SIMPLE) {
+                // symbolic names: drop the package, nested classes become Outer.Inner
+                append(name.substring(name.lastIndexOf('.') + 1).replace('$', '.'));
+            } else {
+                append(name);
+            }
+        }
+
+        /**
+         * Outer.Inner for member classes, the binary name for anonymous and local classes.
+         */
+        private void simpleName(Class<?> klass) {
+            if (klass.isAnonymousClass() || klass.isLocalClass()) {
+                append(klass.getName());
+                return;
+            }
+            Class<?> enclosingClass = klass.getEnclosingClass();
+            if (enclosingClass != null) {
+                simpleName(enclosingClass);
+                append('.');
+            }
+            append(klass.getSimpleName());
+        }
+
+        private static String rawName(Type rawType) {
+            return rawType instanceof ClassName ? ((ClassName) rawType).getName() : ((Class<?>) rawType).getName();
+        }
+
+        private Writer append(CharSequence sequence) {
+            return append(sequence, 0, sequence.length());
+        }
+
+        private Writer append(CharSequence sequence, int start, int end) {
+            try {
+                appendable.append(sequence, start, end);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        private Writer append(char c) {
+            try {
+                appendable.append(c);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+    }
+}
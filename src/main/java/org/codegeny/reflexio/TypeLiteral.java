@@ -1,25 +1,102 @@
 package org.codegeny.reflexio;
 
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Class used to <em>capture</em>capture a type literal. To capture a type literal, this class should be extended and
  * parameterized with the correct type.
+ * <p>
+ * The captured type is resolved once per subclass (and shared by all its instances) so that a literal can be
+ * instantiated on hot paths and used as a key in maps and registries: two literals are equal if they capture equal
+ * types.
  *
  * @param <T> The type to capture.
  * @author Xavier DURY
  */
 public abstract class TypeLiteral<T> {
 
-    private final Type type;
+    private static final ClassValue<Literal> LITERALS = new ClassValue<Literal>() {
+
+        @Override
+        protected Literal computeValue(Class<?> type) {
+            return new Literal(Objects.requireNonNull(Types.resolveTypeArguments(type, TypeLiteral.class)[0]));
+        }
+    };
+
+    /**
+     * What is shared by all the instances of a subclass.
+     */
+    private static final class Literal {
+
+        final Type type;
+        final Class<?> rawType;
+        final int hash;
+        final Predicate<Type> assignability;
+
+        Literal(Type type) {
+            this.type = type;
+            this.rawType = Types.raw(type);
+            this.hash = type.hashCode();
+            this.assignability = assignability(type, rawType);
+        }
+
+        /**
+         * Classes and parameterized types reject incompatible raw types before any generic check (like
+         * {@link Types#isAssignable(Type, Type)} does), classes don't need any generic check at all.
+         */
+        private static Predicate<Type> assignability(Type type, Class<?> rawType) {
+            if (type instanceof Class<?>) {
+                return right -> right instanceof Class<?> || right instanceof ParameterizedType
+                        ? rawType.isAssignableFrom(Types.raw(right))
+                        : Types.isAssignable(type, right);
+            }
+            if (type instanceof ParameterizedType) {
+                return right -> type.equals(right)
+                        || (!(right instanceof Class<?>) && !(right instanceof ParameterizedType) || rawType.isAssignableFrom(Types.raw(right)))
+                        && Types.isAssignable(type, right);
+            }
+            return right -> Types.isAssignable(type, right);
+        }
+    }
+
+    /**
+     * Drop the captured type of the given subclass (after it has been redefined). Existing instances keep the previous
+     * one.
+     *
+     * @param klass The class.
+     */
+    static void invalidate(Class<?> klass) {
+        LITERALS.remove(klass);
+    }
+
+    private final Literal literal;
 
     protected TypeLiteral() {
-        type = Objects.requireNonNull(Types.resolveTypeArguments(getClass(), TypeLiteral.class)[0]);
+        literal = LITERALS.get(getClass());
     }
 
     public final Type getType() {
-        return type;
+        return literal.type;
+    }
+
+    /**
+     * @return The raw class of the captured type (see {@link Types#raw(Type)}).
+     */
+    public final Class<?> getRawType() {
+        return literal.rawType;
+    }
+
+    /**
+     * Check if a type is assignable to the captured type (as per {@link Types#isAssignable(Type, Type)}).
+     *
+     * @param type The type.
+     * @return True if the type is assignable to the captured type.
+     */
+    public final boolean isAssignableFrom(Type type) {
+        return literal.assignability.test(type);
     }
 
     @SuppressWarnings("unchecked")
@@ -27,8 +104,18 @@ public abstract class TypeLiteral<T> {
         return (T) object;
     }
 
+    @Override
+    public final boolean equals(Object object) {
+        return this == object || object instanceof TypeLiteral<?> && literal.type.equals(((TypeLiteral<?>) object).literal.type);
+    }
+
+    @Override
+    public final int hashCode() {
+        return literal.hash;
+    }
+
     @Override
     public final String toString() {
-        return type.toString();
+        return literal.type.toString();
     }
 }
@@ -0,0 +1,345 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact, hash-consed encoding of type trees for registries holding a large number of types. Each distinct type is
+ * stored once as a node in a shared <code>int[]</code> (whose children are the ids of other nodes) and identified by
+ * an <code>int</code> id, so that equality is id equality and a type costs a few ints instead of a graph of objects.
+ *
+ * <pre>
+ * TypeTable table = new TypeTable();
+ * int id = table.intern(type);               // same id for equal types
+ * table.raw(id);                             // without building any Type
+ * table.isAssignable(table.intern(Number.class), id);
+ * Type view = table.toType(id);              // built on demand
+ * </pre>
+ * <p>
+ * Node layout: <code>header, hash, payload...</code> where the header holds the kind and a flag telling if the type
+ * contains type variables, and the payload is:
+ * <ul>
+ * <li>class: class index</li>
+ * <li>parameterized type: raw class index, owner id (or -1), argument count, argument ids...</li>
+ * <li>generic array: component id</li>
+ * <li>wildcard: lower bound count, upper bound count, bound ids...</li>
+ * <li>type variable: variable index</li>
+ * </ul>
+ * <p>
+ * Interning is synchronized, reads are lock-free (ids must be obtained from {@link #intern(Type)} before being
+ * read). Only reflective types are supported (not {@link SymbolicTypes symbolic} ones).
+ *
+ * @author Xavier DURY
+ */
+public final class TypeTable {
+
+    private static final int CLASS = 0;
+    private static final int PARAMETERIZED_TYPE = 1;
+    private static final int GENERIC_ARRAY_TYPE = 2;
+    private static final int WILDCARD_TYPE = 3;
+    private static final int TYPE_VARIABLE = 4;
+    private static final int KIND_MASK = 0xFF;
+    private static final int HAS_VARIABLES = 0x100;
+
+    private final Map<Class<?>, Integer> classIndexes = new HashMap<>();
+    private final Map<TypeVariable<?>, Integer> variableIndexes = new HashMap<>();
+    private volatile Class<?>[] classes = new Class<?>[64];
+    private volatile TypeVariable<?>[] variables = new TypeVariable<?>[16];
+    private volatile int[] data = new int[1024];
+    private int length;
+    private int count;
+
+    /**
+     * Open addressing table of <code>id + 1</code> (0 being an empty slot).
+     */
+    private int[] slots = new int[1024];
+
+    /**
+     * Intern a type.
+     *
+     * @param type The type (a class, parameterized type, generic array, wildcard or type variable).
+     * @return The id of the type, the same for all equal types.
+     * @throws IllegalArgumentException If the type is not a reflective type.
+     */
+    public synchronized int intern(Type type) {
+        int id = add(type);
+        data = data; // publish the new nodes
+        return id;
+    }
+
+    private int add(Type type) {
+        if (type instanceof Class<?>) {
+            Class<?> klass = (Class<?>) type;
+            return node(CLASS, classIndex(klass));
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            int[] payload = new int[3 + arguments.length];
+            payload[0] = classIndex(Types.raw(parameterizedType.getRawType()));
+            payload[1] = parameterizedType.getOwnerType() == null ? -1 : add(parameterizedType.getOwnerType());
+            payload[2] = arguments.length;
+            for (int i = 0; i < arguments.length; i++) {
+                payload[3 + i] = add(arguments[i]);
+            }
+            return node(PARAMETERIZED_TYPE | flags(payload, 3, payload.length) | (payload[1] < 0 ? 0 : flags(payload, 1, 2)), payload);
+        }
+        if (type instanceof GenericArrayType) {
+            int component = add(((GenericArrayType) type).getGenericComponentType());
+            return node(GENERIC_ARRAY_TYPE | (header(component) & HAS_VARIABLES), component);
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            int[] payload = new int[2 + lowerBounds.length + upperBounds.length];
+            payload[0] = lowerBounds.length;
+            payload[1] = upperBounds.length;
+            for (int i = 0; i < lowerBounds.length; i++) {
+                payload[2 + i] = add(lowerBounds[i]);
+            }
+            for (int i = 0; i < upperBounds.length; i++) {
+                payload[2 + lowerBounds.length + i] = add(upperBounds[i]);
+            }
+            return node(WILDCARD_TYPE | flags(payload, 2, payload.length), payload);
+        }
+        if (type instanceof TypeVariable<?>) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            Integer index = variableIndexes.get(typeVariable);
+            if (index == null) {
+                variableIndexes.put(typeVariable, index = variableIndexes.size());
+                variables = append(variables, index, typeVariable);
+            }
+            return node(TYPE_VARIABLE | HAS_VARIABLES, index);
+        }
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    private int flags(int[] ids, int from, int to) {
+        int flags = 0;
+        for (int i = from; i < to; i++) {
+            flags |= header(ids[i]) & HAS_VARIABLES;
+        }
+        return flags;
+    }
+
+    private int classIndex(Class<?> klass) {
+        Integer index = classIndexes.get(klass);
+        if (index == null) {
+            classIndexes.put(klass, index = classIndexes.size());
+            classes = append(classes, index, klass);
+        }
+        return index;
+    }
+
+    private static <T> T[] append(T[] array, int index, T element) {
+        T[] result = index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+        result[index] = element;
+        return result;
+    }
+
+    private int node(int header, int... payload) {
+        int hash = header;
+        for (int value : payload) {
+            hash = 31 * hash + value;
+        }
+        hash ^= hash >>> 16;
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int candidate = slots[slot] - 1;
+            if (candidate < 0) {
+                break;
+            }
+            if (data[candidate + 1] == hash && data[candidate] == header && matches(candidate + 2, payload)) {
+                return candidate;
+            }
+        }
+        int id = length;
+        ensureCapacity(length + 2 + payload.length);
+        int[] current = data;
+        current[length++] = header;
+        current[length++] = hash;
+        for (int value : payload) {
+            current[length++] = value;
+        }
+        if (++count * 2 > slots.length) {
+            rehash();
+        }
+        insert(slots, id, hash);
+        return id;
+    }
+
+    private boolean matches(int offset, int[] payload) {
+        int[] current = data;
+        for (int i = 0; i < payload.length; i++) {
+            if (current[offset + i] != payload[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[slots.length * 2];
+        for (int slot : slots) {
+            if (slot != 0) {
+                insert(rehashed, slot - 1, data[slot]);
+            }
+        }
+        slots = rehashed;
+    }
+
+    private static void insert(int[] slots, int id, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+    }
+
+    private int header(int id) {
+        return data[id];
+    }
+
+    /**
+     * @return The number of distinct types in this table.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Hash of a type, consistent with id equality (but not with {@link Type#hashCode()}).
+     *
+     * @param id The id of the type.
+     * @return The hash.
+     */
+    public int hash(int id) {
+        return data[id + 1];
+    }
+
+    /**
+     * Check if a type contains type variables.
+     *
+     * @param id The id of the type.
+     * @return True if it contains type variables.
+     */
+    public boolean hasTypeVariables(int id) {
+        return (data[id] & HAS_VARIABLES) != 0;
+    }
+
+    /**
+     * Determine the raw class of a type (see {@link Types#raw(Type)}), without building it.
+     *
+     * @param id The id of the type.
+     * @return The raw class.
+     */
+    public Class<?> raw(int id) {
+        int[] current = data;
+        switch (current[id] & KIND_MASK) {
+            case CLASS:
+            case PARAMETERIZED_TYPE:
+                return classes[current[id + 2]];
+            case TYPE_VARIABLE:
+                return Types.raw(variables[current[id + 2]]);
+            default:
+                return Types.raw(toType(id));
+        }
+    }
+
+    /**
+     * Check if the right type is assignable to the left type, with the same result as
+     * {@link Types#isAssignable(Type, Type)}. Classes and parameterized types without type variables are compared
+     * directly on ids, other cases are delegated to {@link Types#isAssignable(Type, Type)}.
+     *
+     * @param left  The id of the left type.
+     * @param right The id of the right type.
+     * @return True if the right type is assignable to the left type.
+     */
+    public boolean isAssignable(int left, int right) {
+        if (left == right) {
+            return true;
+        }
+        int[] current = data;
+        int leftKind = current[left] & KIND_MASK;
+        int rightKind = current[right] & KIND_MASK;
+        if (leftKind == CLASS && (rightKind == CLASS || rightKind == PARAMETERIZED_TYPE)) {
+            return raw(left).isAssignableFrom(raw(right));
+        }
+        if (leftKind == PARAMETERIZED_TYPE && (rightKind == CLASS || rightKind == PARAMETERIZED_TYPE)) {
+            if (!raw(left).isAssignableFrom(raw(right))) {
+                return false;
+            }
+            if (rightKind == PARAMETERIZED_TYPE && current[left + 2] == current[right + 2] && !hasTypeVariables(left) && !hasTypeVariables(right)) {
+                int arguments = current[left + 4];
+                if (current[right + 4] != arguments) {
+                    return Types.isAssignable(toType(left), toType(right));
+                }
+                for (int i = 0; i < arguments; i++) {
+                    if (!isAssignable(current[left + 5 + i], current[right + 5 + i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return Types.isAssignable(toType(left), toType(right));
+    }
+
+    /**
+     * Build a {@link Type} view of a type (a new one on each call, classes and type variables excepted).
+     *
+     * @param id The id of the type.
+     * @return The type.
+     */
+    public Type toType(int id) {
+        int[] current = data;
+        switch (current[id] & KIND_MASK) {
+            case CLASS:
+                return classes[current[id + 2]];
+            case PARAMETERIZED_TYPE: {
+                Type[] arguments = new Type[current[id + 4]];
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = toType(current[id + 5 + i]);
+                }
+                int owner = current[id + 3];
+                return Types.newParameterizedType(classes[current[id + 2]], owner < 0 ? null : toType(owner), arguments);
+            }
+            case GENERIC_ARRAY_TYPE:
+                return Types.newGenericArrayType(toType(current[id + 2]));
+            case WILDCARD_TYPE: {
+                Type[] lowerBounds = new Type[current[id + 2]];
+                Type[] upperBounds = new Type[current[id + 3]];
+                for (int i = 0; i < lowerBounds.length; i++) {
+                    lowerBounds[i] = toType(current[id + 4 + i]);
+                }
+                for (int i = 0; i < upperBounds.length; i++) {
+                    upperBounds[i] = toType(current[id + 4 + lowerBounds.length + i]);
+                }
+                return Types.newWildcardType(lowerBounds, upperBounds);
+            }
+            case TYPE_VARIABLE:
+                return variables[current[id + 2]];
+            default:
+                throw new IllegalArgumentException("Invalid id " + id);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TypeTable[" + count + " types, " + classIndexes.size() + " classes, " + length + " ints]";
+    }
+}
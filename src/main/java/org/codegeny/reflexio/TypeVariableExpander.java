@@ -1,11 +1,15 @@
 package org.codegeny.reflexio;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.Map;
 
 final class TypeVariableExpander implements TypeVisitor<Type> {
 
@@ -15,12 +19,35 @@ final class TypeVariableExpander implements TypeVisitor<Type> {
         public <T> Type[] visitClass(Class<T> klass) {
             return new ArgumentTypesResolver(klass).visitClass(reference);
         }
+
+        /**
+         * Method and constructor type variables are left as is (unless they were inferred).
+         */
+        @Override
+        public <T> Type[] visitConstructor(Constructor<T> constructor) {
+            return ClassMetadata.of(constructor).getTypeParameters();
+        }
+
+        @Override
+        public Type[] visitMethod(Method method) {
+            return ClassMetadata.of(method).getTypeParameters();
+        }
     };
 
     private final Class<?> reference;
+    private final Map<TypeVariable<?>, Type> inferred;
 
     TypeVariableExpander(Class<?> reference) {
+        this(reference, Collections.emptyMap());
+    }
+
+    /**
+     * @param reference The class against which class type variables are resolved.
+     * @param inferred  Types inferred for some type variables (typically the ones of a method or constructor).
+     */
+    TypeVariableExpander(Class<?> reference, Map<TypeVariable<?>, Type> inferred) {
         this.reference = reference;
+        this.inferred = inferred;
     }
 
     @Override
@@ -52,13 +79,15 @@ final class TypeVariableExpander implements TypeVisitor<Type> {
 
     @Override
     public <D extends GenericDeclaration> Type visitTypeVariable(TypeVariable<D> typeVariable) {
+        Type type = inferred.get(typeVariable);
+        if (type != null) {
+            return TypeVisitor.accept(this, type);
+        }
         Type[] args = GenericDeclarationVisitor.accept(argsVisitor, typeVariable.getGenericDeclaration());
-        TypeVariable<?>[] variables = typeVariable.getGenericDeclaration().getTypeParameters();
-        for (int i = 0; i < variables.length; i++) {
-            if (variables[i].getName().equals(typeVariable.getName())) {
-                return args[i].equals(typeVariable) ? args[i] : TypeVisitor.accept(this, args[i]);
-            }
+        int index = ClassMetadata.of(typeVariable.getGenericDeclaration()).indexOf(typeVariable.getName());
+        if (index < 0) {
+            return typeVariable;
         }
-        return typeVariable;
+        return args[index].equals(typeVariable) ? args[index] : TypeVisitor.accept(this, args[index]);
     }
 }
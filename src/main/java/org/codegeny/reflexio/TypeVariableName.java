@@ -0,0 +1,65 @@
+package org.codegeny.reflexio;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+/**
+ * Symbolic (not loaded) type variable, identified by its name and the binary name of the class declaring it. Type
+ * variables declared by methods or constructors are also identified by the name and descriptor of their declaring
+ * method (<code>get(I)Ljava/lang/Object;</code>, <code>&lt;init&gt;()V</code>...) and are always bounded by
+ * <code>java.lang.Object</code>, as are type variables whose declaring class is unknown (<code>null</code>).
+ *
+ * @author Xavier DURY
+ * @see SymbolicTypes
+ */
+public final class TypeVariableName implements Type {
+
+    private final String name;
+    private final String declaringClassName;
+    private final String declaringMethodName;
+
+    TypeVariableName(String name, String declaringClassName, String declaringMethodName) {
+        this.name = Objects.requireNonNull(name);
+        this.declaringClassName = declaringClassName;
+        this.declaringMethodName = declaringMethodName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDeclaringClassName() {
+        return declaringClassName;
+    }
+
+    /**
+     * @return The name and descriptor of the declaring method or <code>null</code> if declared by a class.
+     */
+    public String getDeclaringMethodName() {
+        return declaringMethodName;
+    }
+
+    @Override
+    public String getTypeName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return super.equals(that) || that instanceof TypeVariableName && equals((TypeVariableName) that);
+    }
+
+    private boolean equals(TypeVariableName that) {
+        return name.equals(that.name) && Objects.equals(declaringClassName, that.declaringClassName) && Objects.equals(declaringMethodName, that.declaringMethodName);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode() ^ Objects.hashCode(declaringClassName) ^ Objects.hashCode(declaringMethodName);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
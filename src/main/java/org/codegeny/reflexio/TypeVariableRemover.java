@@ -48,7 +48,7 @@ public class TypeVariableRemover implements TypeVisitor<Type> {
     @Override
     public <D extends GenericDeclaration> Type visitTypeVariable(TypeVariable<D> typeVariable) {
         return visited.add(typeVariable)
-                ? Types.newWildcardType(new Type[0], TypeVisitor.accept(this, Type[]::new, typeVariable.getBounds()))
+                ? Types.newWildcardType(new Type[0], TypeVisitor.accept(this, Type[]::new, ClassMetadata.bounds(typeVariable)))
                 : Types.WILDCARD; // recursive :-(
     }
 }
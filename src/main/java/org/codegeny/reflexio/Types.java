@@ -2,6 +2,7 @@ package org.codegeny.reflexio;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Member;
@@ -9,16 +10,19 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Collection of static utility methods for java Types.
@@ -32,6 +36,14 @@ public final class Types {
      */
     private static final Map<Class<?>, Class<?>> PRIMITIVE_TO_WRAPPER;
 
+    private static final Cache<CacheKeys.Pair<Type, Class<?>>, Type[]> RESOLVED_TYPE_ARGUMENTS = Caches.newCache("resolveTypeArguments");
+    private static final Cache<CacheKeys.Pair<Type, Type>, Boolean> ASSIGNABILITY = Caches.newCache("isAssignable");
+    private static final Cache<CacheKeys.Pair<Type, Class<?>>, Type> EXPANSIONS = Caches.newCache("expand");
+    private static final Cache<List<Object>, Type> INFERRED_EXPANSIONS = Caches.newCache("expandExecutable");
+    private static final Cache<CacheKeys.Pair<AnnotatedElement, Class<? extends Annotation>>, Set<? extends Annotation>> ANNOTATIONS = Caches.newCache("collect");
+    private static final Cache<CacheKeys.Pair<AnnotatedElement, Class<? extends Annotation>>, Set<? extends Annotation>> MERGED_ANNOTATIONS = Caches.newCache("collectMerged");
+    private static final Cache<Type, Map<String, Property>> PROPERTIES = Caches.newCache("properties");
+
     /**
      * Convert a primitive to its wrapper if needed.
      *
@@ -68,11 +80,51 @@ public final class Types {
     }
 
     public static Type[] resolveTypeArguments(Type type, Class<?> reference) {
-        return TypeVisitor.accept(new ArgumentTypesResolver(reference), type);
+        return RESOLVED_TYPE_ARGUMENTS.get(CacheKeys.pair(type, reference), key -> TypeVisitor.accept(new ArgumentTypesResolver(key.second), key.first)).clone();
     }
 
+    /**
+     * Collect all the annotations of the given type which are present on the given element, its declaring class,
+     * interfaces, superclass, package...
+     *
+     * @param element        The annotated element.
+     * @param annotationType The annotation type.
+     * @param <A>            The annotation type.
+     * @return An unmodifiable set of annotations.
+     */
+    @SuppressWarnings("unchecked")
     public static <A extends Annotation> Set<A> collect(AnnotatedElement element, Class<A> annotationType) {
-        return AnnotatedElementVisitor.accept(new CollectAnnotationsElementVisitor<>(annotationType), element);
+        return (Set<A>) ANNOTATIONS.get(CacheKeys.pair(element, annotationType), key -> Collections.unmodifiableSet(AnnotatedElementVisitor.accept(new CollectAnnotationsElementVisitor<>(key.second), key.first)));
+    }
+
+    /**
+     * Lazy alternative to {@link #collect(AnnotatedElement, Class)}: annotations are streamed in the same order but the
+     * declaring class, interfaces, superclass, package... are only inspected as the stream is consumed, so
+     * short-circuiting operations (<code>findFirst()</code>, <code>anyMatch()</code>...) only touch the nearest elements.
+     *
+     * @param element        The annotated element.
+     * @param annotationType The annotation type.
+     * @param <A>            The annotation type.
+     * @return A sequential stream of distinct annotations.
+     */
+    public static <A extends Annotation> Stream<A> stream(AnnotatedElement element, Class<A> annotationType) {
+        return StreamSupport.stream(new AnnotationSpliterator<>(element, annotationType), false).distinct();
+    }
+
+    /**
+     * Same as {@link #collect(AnnotatedElement, Class)} but annotations present on the annotations of the visited
+     * elements (<em>meta-annotations</em>, recursively and including repeatable containers) are collected as well.
+     * For example, if a method is annotated with a stereotype <code>@Service</code> which is itself annotated with
+     * <code>@Transactional</code>, the <code>@Transactional</code> annotation will be found.
+     *
+     * @param element        The annotated element.
+     * @param annotationType The annotation type.
+     * @param <A>            The annotation type.
+     * @return An unmodifiable set of annotations.
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation> Set<A> collectMerged(AnnotatedElement element, Class<A> annotationType) {
+        return (Set<A>) MERGED_ANNOTATIONS.get(CacheKeys.pair(element, annotationType), key -> Collections.unmodifiableSet(AnnotatedElementVisitor.accept(new CollectAnnotationsElementVisitor<>(key.second, true), key.first)));
     }
 
     /**
@@ -84,8 +136,13 @@ public final class Types {
      * @return True if the right is assignable to left.
      */
     public static boolean isAssignable(Type left, Type right) {
-        Map<TypeVariable<?>, Type> captures = new HashMap<>();
-        return isAssignable(left, right, captures) && captures.isEmpty();
+        if (SupertypeFilter.rejects(left, right)) {
+            return false;
+        }
+        return ASSIGNABILITY.get(CacheKeys.pair(left, right), key -> {
+            Map<TypeVariable<?>, Type> captures = new HashMap<>();
+            return isAssignable(key.first, key.second, captures) && captures.isEmpty();
+        });
     }
 
     /**
@@ -104,6 +161,30 @@ public final class Types {
         return Boolean.TRUE.equals(TypeVisitor.accept(new AssignabilityTypeVisitor(right, captures), left));
     }
 
+    /**
+     * Check if a value is an instance of a type, including the elements of its collections, maps and arrays (all of
+     * them, see {@link InstanceCheck} for bounded checks).
+     *
+     * @param value The value.
+     * @param type  The type (for example <code>Map&lt;String, List&lt;Integer&gt;&gt;</code>).
+     * @return True if the value is an instance of the type.
+     */
+    public static boolean isInstance(Object value, Type type) {
+        return InstanceCheck.full().check(value, type).isInstance();
+    }
+
+    /**
+     * Check if a value is an instance of a type with the given strategy.
+     *
+     * @param value    The value.
+     * @param type     The type.
+     * @param strategy The strategy ({@link InstanceCheck#firstN(int)}, {@link InstanceCheck#sampling(int)}...).
+     * @return True if the value is (or, for partial strategies, seems to be) an instance of the type.
+     */
+    public static boolean isInstance(Object value, Type type, InstanceCheck strategy) {
+        return strategy.check(value, type).isInstance();
+    }
+
     /**
      * Determine the raw Class from a Type.
      *
@@ -115,13 +196,85 @@ public final class Types {
     }
 
     public static Type expand(Type type, Class<?> reference) {
-        return TypeVisitor.accept(new TypeVariableExpander(reference), type);
+        return EXPANSIONS.get(CacheKeys.pair(type, reference), key -> TypeVisitor.accept(new TypeVariableExpander(key.second), key.first));
     }
 
     public static Type expand(Member member, Class<?> reference) {
         return expand(MemberVisitor.accept(MemberTypeExtractor.INSTANCE, member), reference);
     }
 
+    /**
+     * Expand the type of a method (its return type) or constructor for a call with the given argument types. Class
+     * type variables are resolved against the reference class and the type variables of the method or constructor
+     * are inferred by capturing them from the argument types (see {@link #isAssignable(Type, Type, Map)}).
+     * <pre>
+     * &lt;T&gt; List&lt;T&gt; find(Class&lt;T&gt; type);
+     *
+     * Types.expand(find, Repository.class, Types.newParameterizedType(Class.class, null, Customer.class)); // List&lt;Customer&gt;
+     * </pre>
+     * Type variables which cannot be inferred are left as is. Results are cached per executable, reference and
+     * argument types.
+     *
+     * @param executable    The method or constructor.
+     * @param reference     The class against which class type variables are resolved.
+     * @param argumentTypes The types of the arguments (primitives are boxed when needed, variable arity methods can
+     *                      be called with the individual types of the variable arguments).
+     * @return The expanded type.
+     * @throws IllegalArgumentException If the method or constructor is not applicable to the argument types (or a type
+     *                                  variable would be captured as two different types).
+     */
+    public static Type expand(Executable executable, Class<?> reference, Type... argumentTypes) {
+        return INFERRED_EXPANSIONS.get(Arrays.asList(executable, reference, Arrays.asList(argumentTypes.clone())), key -> {
+            Type[] parameterTypes = executable.getGenericParameterTypes();
+            boolean varArgs = executable.isVarArgs() && (argumentTypes.length != parameterTypes.length
+                    || argumentTypes.length > 0 && !raw(argumentTypes[argumentTypes.length - 1]).isArray());
+            if (varArgs ? argumentTypes.length < parameterTypes.length - 1 : argumentTypes.length != parameterTypes.length) {
+                throw new IllegalArgumentException(executable + " cannot be called with " + argumentTypes.length + " argument(s)");
+            }
+            Map<TypeVariable<?>, Type> captures = new HashMap<>();
+            for (int i = 0; i < argumentTypes.length; i++) {
+                Type parameterType = expand(varArgs && i >= parameterTypes.length - 1 ? componentType(parameterTypes[parameterTypes.length - 1]) : parameterTypes[i], reference);
+                Type argumentType = parameterType instanceof Class<?> && ((Class<?>) parameterType).isPrimitive() || !(argumentTypes[i] instanceof Class<?>) ? argumentTypes[i] : primitiveToWrapper((Class<?>) argumentTypes[i]);
+                if (!isAssignable(parameterType, argumentType, captures)) {
+                    throw new IllegalArgumentException(executable + " is not applicable to " + argumentType.getTypeName() + " for parameter " + i);
+                }
+            }
+            // only keep the variables of the executable (class variables may have been captured while checking bounds)
+            Map<TypeVariable<?>, Type> inferred = new HashMap<>();
+            for (TypeVariable<?> typeVariable : ClassMetadata.of(executable).getTypeParameters()) {
+                if (captures.containsKey(typeVariable)) {
+                    inferred.put(typeVariable, captures.get(typeVariable));
+                }
+            }
+            TypeVariableExpander expander = new TypeVariableExpander(reference, inferred);
+            for (Map.Entry<TypeVariable<?>, Type> entry : inferred.entrySet()) {
+                for (Type bound : ClassMetadata.bounds(entry.getKey())) {
+                    // bounds may refer to class type variables which are only resolved through the reference
+                    if (!isAssignable(TypeVisitor.accept(expander, bound), entry.getValue(), new HashMap<>())) {
+                        throw new IllegalArgumentException(executable + " is not applicable to " + entry.getValue().getTypeName() + " for " + entry.getKey());
+                    }
+                }
+            }
+            return TypeVisitor.accept(expander, MemberVisitor.accept(MemberTypeExtractor.INSTANCE, executable));
+        });
+    }
+
+    private static Type componentType(Type arrayType) {
+        return arrayType instanceof GenericArrayType ? ((GenericArrayType) arrayType).getGenericComponentType() : ((Class<?>) arrayType).getComponentType();
+    }
+
+    /**
+     * Introspect the bean properties of a type, resolving their generic types against it (for example, the
+     * <code>content</code> property of <code>Page&lt;Customer&gt;</code> is a <code>List&lt;Customer&gt;</code>).
+     * Results are cached per type.
+     *
+     * @param type The type (a class or a parameterized type).
+     * @return The properties by name (sorted by name).
+     */
+    public static Map<String, Property> properties(Type type) {
+        return PROPERTIES.get(type, PropertyIntrospector::introspect);
+    }
+
     public static ParameterizedType newParameterizedType(Type rawType, Type ownerType, Type... arguments) {
         return new ParameterizedTypeImpl(rawType, ownerType, arguments);
     }
@@ -147,10 +300,12 @@ public final class Types {
     }
 
     private static TypeVariable<?> findTypeVariable(String name, GenericDeclaration declaration) {
-        return Stream.of(declaration.getTypeParameters())
-                .filter(p -> p.getName().equals(name))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Cant find TypeVariable named '" + name + "' on " + declaration));
+        ClassMetadata.TypeVariableMetadata metadata = ClassMetadata.of(declaration);
+        int index = metadata.indexOf(name);
+        if (index < 0) {
+            throw new NoSuchElementException("Cant find TypeVariable named '" + name + "' on " + declaration);
+        }
+        return metadata.getTypeParameters()[index];
     }
 
     public static GenericArrayType newGenericArrayType(Type component) {
@@ -161,6 +316,15 @@ public final class Types {
         return loadClass(name, Thread.currentThread().getContextClassLoader());
     }
 
+    /**
+     * Load a class (or get a primitive type) by name. Results are cached per class loader, including classes which
+     * could not be found (see {@link Caches#setClassNotFoundTimeToLive(long, java.util.concurrent.TimeUnit)}).
+     *
+     * @param name        The class name.
+     * @param classLoader The class loader (<code>null</code> for the bootstrap class loader).
+     * @return The class.
+     * @throws ClassNotFoundException If the class cannot be found.
+     */
     public static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
         switch (name) {
             case "boolean":
@@ -182,7 +346,7 @@ public final class Types {
             case "void":
                 return void.class;
             default:
-                return classLoader.loadClass(name);
+                return ClassNameCache.loadClass(name, classLoader);
         }
     }
 
@@ -250,8 +414,16 @@ public final class Types {
     }
 
     public static Type parseType(String typeName, ClassLoader classLoader) throws ClassNotFoundException {
-        try (Scanner scanner = new Scanner(typeName)) {
-            return parseType(scanner, classLoader);
+        try {
+            return ClassNameCache.parseType(typeName, classLoader, (name, loader) -> {
+                try (Scanner scanner = new Scanner(name)) {
+                    return parseType(scanner, loader);
+                } catch (ClassNotFoundException e) {
+                    throw new UncheckedClassNotFoundException(e);
+                }
+            });
+        } catch (UncheckedClassNotFoundException e) {
+            throw e.getCause();
         }
     }
 
@@ -286,7 +458,8 @@ public final class Types {
         if (!Token.RIGHT_ANGLE_BRACKET.matches(scanner)) {
             throw new IllegalArgumentException("Expected '>' in " + scanner);
         }
-        return newParameterizedType(type, null, types.toArray(EMPTY_TYPE_ARRAY));
+        // like reflection, member classes get their declaring class as owner type
+        return newParameterizedType(type, ((Class<?>) type).getDeclaringClass(), types.toArray(EMPTY_TYPE_ARRAY));
     }
 
     private static Type parseArrayType(Type type, Scanner scanner) {
@@ -297,6 +470,23 @@ public final class Types {
         return arrayType(type, rank);
     }
 
+    /**
+     * Used to propagate a {@link ClassNotFoundException} through a cache computing function.
+     */
+    static final class UncheckedClassNotFoundException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UncheckedClassNotFoundException(ClassNotFoundException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ClassNotFoundException getCause() {
+            return (ClassNotFoundException) super.getCause();
+        }
+    }
+
     private enum Token {
 
         TYPE_NAME("([._$a-zA-Z0-9]+)"),
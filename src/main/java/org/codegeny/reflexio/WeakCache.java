@@ -0,0 +1,104 @@
+package org.codegeny.reflexio;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Cache whose entries are grouped by the {@link CacheKeys#anchor(Object) anchor} of their key. Anchors are weakly
+ * referenced (and looked up without locking) and their entries are only softly referenced (as entries usually
+ * strongly reference their anchor, a strong reference would prevent the anchor from ever being collected).
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Xavier DURY
+ */
+final class WeakCache<K, V> implements Cache<K, V> {
+
+    private final WeakIdentityMap<Object, SoftReference<ConcurrentMap<K, V>>> values = new WeakIdentityMap<>();
+    // keys without anchor are grouped in a map of their own (NONE is never collected anyway)
+    private volatile SoftReference<ConcurrentMap<K, V>> none = newReference(CacheKeys.NONE);
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> function) {
+        return get(key, CacheKeys.anchor(key), function);
+    }
+
+    /**
+     * Same as {@link #get(Object, Function)} for callers which already know the anchor of the key.
+     */
+    V get(K key, Object anchor, Function<? super K, ? extends V> function) {
+        if (anchor == null) {
+            return function.apply(key);
+        }
+        ConcurrentMap<K, V> map = map(anchor);
+        V value = map.get(key);
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) {
+                V previous = map.putIfAbsent(key, value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+        }
+        return value;
+    }
+
+    private ConcurrentMap<K, V> map(Object anchor) {
+        if (anchor == CacheKeys.NONE) {
+            ConcurrentMap<K, V> map = none.get();
+            if (map == null) {
+                // cleared under memory pressure, a concurrent replacement only loses a few entries
+                SoftReference<ConcurrentMap<K, V>> replacement = newReference(anchor);
+                map = replacement.get();
+                none = replacement;
+            }
+            return map;
+        }
+        SoftReference<ConcurrentMap<K, V>> reference = values.computeIfAbsent(anchor, WeakCache::newReference);
+        ConcurrentMap<K, V> map = reference.get();
+        while (map == null) {
+            // cleared under memory pressure, replace it unless another thread did (or the anchor was invalidated)
+            SoftReference<ConcurrentMap<K, V>> replacement = newReference(anchor);
+            map = replacement.get();
+            if (!values.replace(anchor, reference, replacement)) {
+                reference = values.computeIfAbsent(anchor, WeakCache::newReference);
+                map = reference.get();
+            }
+        }
+        return map;
+    }
+
+    private static <K, V> SoftReference<ConcurrentMap<K, V>> newReference(Object anchor) {
+        return new SoftReference<>(new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public void invalidate(ClassLoader classLoader) {
+        values.removeIf(anchor -> CacheKeys.isAncestor(classLoader, CacheKeys.classLoader(anchor)));
+    }
+
+    @Override
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        invalidateIf(none, predicate);
+        for (SoftReference<ConcurrentMap<K, V>> reference : values.values()) {
+            invalidateIf(reference, predicate);
+        }
+    }
+
+    private void invalidateIf(SoftReference<ConcurrentMap<K, V>> reference, BiPredicate<? super K, ? super V> predicate) {
+        ConcurrentMap<K, V> map = reference.get();
+        if (map != null) {
+            map.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        none = newReference(CacheKeys.NONE);
+        values.clear();
+    }
+}
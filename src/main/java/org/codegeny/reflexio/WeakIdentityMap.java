@@ -0,0 +1,164 @@
+package org.codegeny.reflexio;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map whose keys (class loaders, classes...) are weakly referenced and compared by identity. Unlike a
+ * synchronized {@link java.util.WeakHashMap}, lookups never lock. Entries of collected keys are purged (thanks to a
+ * {@link ReferenceQueue}) whenever an entry is added or removed.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @author Xavier DURY
+ */
+final class WeakIdentityMap<K, V> {
+
+    private final ConcurrentMap<Key, V> values = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * Get the value associated to the given key.
+     *
+     * @param key The key.
+     * @return The value or <code>null</code> if there is none.
+     */
+    V get(K key) {
+        return values.get(new Lookup(key));
+    }
+
+    /**
+     * Get the value associated to the given key or compute (and store) it if there is none.
+     *
+     * @param key      The key.
+     * @param function The function used to compute the value (which must not return <code>null</code>).
+     * @return The value.
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        V value = get(key);
+        if (value == null) {
+            purge();
+            value = values.computeIfAbsent(new WeakKey<>(key, queue), k -> function.apply(key));
+        }
+        return value;
+    }
+
+    /**
+     * Replace the value associated to the given key if it is still the expected one.
+     *
+     * @param key         The key.
+     * @param expected    The expected value.
+     * @param replacement The new value.
+     * @return True if the value was replaced.
+     */
+    boolean replace(K key, V expected, V replacement) {
+        return values.replace(new Lookup(key), expected, replacement);
+    }
+
+    /**
+     * Remove the entries whose key (if not collected yet) matches the given predicate.
+     *
+     * @param predicate The predicate on keys.
+     */
+    @SuppressWarnings("unchecked")
+    void removeIf(Predicate<? super K> predicate) {
+        purge();
+        values.keySet().removeIf(key -> {
+            Object referent = key.referent();
+            return referent != null && predicate.test((K) referent);
+        });
+    }
+
+    /**
+     * Get a (weakly consistent) view of the values.
+     *
+     * @return The values.
+     */
+    Collection<V> values() {
+        return values.values();
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    void clear() {
+        purge();
+        values.clear();
+    }
+
+    private void purge() {
+        for (Reference<? extends K> reference; (reference = queue.poll()) != null; ) {
+            values.remove(reference);
+        }
+    }
+
+    private interface Key {
+
+        Object referent();
+    }
+
+    /**
+     * Key used for lookups (never stored).
+     */
+    private static final class Lookup implements Key {
+
+        private final Object referent;
+
+        Lookup(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override
+        public Object referent() {
+            return referent;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Key && ((Key) object).referent() == referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+    }
+
+    /**
+     * Stored key, only equal to itself once cleared so that it can still be removed.
+     */
+    private static final class WeakKey<K> extends WeakReference<K> implements Key {
+
+        private final int hash;
+
+        WeakKey(K referent, ReferenceQueue<? super K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public Object referent() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            Object referent = get();
+            return referent != null && object instanceof Key && ((Key) object).referent() == referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
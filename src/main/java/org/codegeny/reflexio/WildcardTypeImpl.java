@@ -4,8 +4,6 @@ import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 final class WildcardTypeImpl implements WildcardType {
 
@@ -13,6 +11,10 @@ final class WildcardTypeImpl implements WildcardType {
 
     private final Type[] lowerBounds;
     private final Type[] upperBounds;
+    /**
+     * Formatted lazily (as {@link TypeFormatter#QUALIFIED}) and cached, racy but idempotent.
+     */
+    private String typeName;
 
     WildcardTypeImpl(Type[] lowerBounds, Type[] upperBounds) {
         this.lowerBounds = Objects.requireNonNull(lowerBounds);
@@ -45,13 +47,10 @@ final class WildcardTypeImpl implements WildcardType {
 
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder("?");
-        if (lowerBounds.length > 0) {
-            builder.append(" super ").append(Stream.of(lowerBounds).map(Type::getTypeName).collect(Collectors.joining(", ")));
+        String result = typeName;
+        if (result == null) {
+            typeName = result = TypeFormatter.QUALIFIED.format(this);
         }
-        if (upperBounds.length > 0 && !Arrays.equals(upperBounds, DEFAULT_UPPER_BOUNDS)) {
-            builder.append(" extends ").append(Stream.of(upperBounds).map(Type::getTypeName).collect(Collectors.joining(", ")));
-        }
-        return builder.toString();
+        return result;
     }
 }
@@ -0,0 +1,108 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.codegeny.reflexio.Types.newParameterizedType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessorsTest {
+
+    static class Page<T> {
+
+        static String kind = "page";
+
+        private List<T> content;
+        private int size;
+
+        private Page(List<T> content, int size) {
+            this.content = content;
+            this.size = size;
+        }
+
+        public List<T> getContent() {
+            return content;
+        }
+
+        private int getSize() {
+            return size;
+        }
+
+        public Page<T> setSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        public T failing() throws IOException {
+            throw new IOException("failing");
+        }
+    }
+
+    static class StringPage extends Page<String> {
+
+        StringPage(List<String> content) {
+            super(content, content.size());
+        }
+    }
+
+    @Test
+    public void getters() throws Exception {
+        StringPage page = new StringPage(Arrays.asList("a", "b"));
+
+        Accessor<Function<Object, Object>> content = Accessors.getter(Page.class.getMethod("getContent"), StringPage.class);
+        assertEquals(newParameterizedType(List.class, null, String.class), content.getType());
+        assertEquals(Arrays.asList("a", "b"), content.get().apply(page));
+        assertSame(content, Accessors.getter(Page.class.getMethod("getContent"), StringPage.class));
+        assertTrue(content.get().getClass().getName().startsWith(Page.class.getName() + "$$Lambda"), "bound through LambdaMetafactory");
+
+        Accessor<Function<Object, Object>> field = Accessors.getter(Page.class.getDeclaredField("content"), StringPage.class);
+        assertEquals(newParameterizedType(List.class, null, String.class), field.getType());
+        assertEquals(Arrays.asList("a", "b"), field.get().apply(page));
+
+        assertEquals(2, Accessors.getter(Page.class.getDeclaredMethod("getSize"), StringPage.class).get().apply(page));
+        assertEquals("page", Accessors.getter(Page.class.getDeclaredField("kind"), StringPage.class).get().apply(null));
+        assertEquals(String.class, Accessors.getter(Page.class.getMethod("failing"), StringPage.class).getType());
+        assertThrows(IOException.class, () -> Accessors.getter(Page.class.getMethod("failing"), StringPage.class).get().apply(page));
+        assertThrows(IllegalArgumentException.class, () -> Accessors.getter(Page.class.getMethod("setSize", int.class), StringPage.class));
+    }
+
+    @Test
+    public void setters() throws Exception {
+        StringPage page = new StringPage(Collections.emptyList());
+
+        Accessor<BiConsumer<Object, Object>> size = Accessors.setter(Page.class.getMethod("setSize", int.class), StringPage.class);
+        assertEquals(int.class, size.getType());
+        size.get().accept(page, 42);
+        assertEquals(42, ((Page<?>) page).getSize());
+
+        Accessor<BiConsumer<Object, Object>> content = Accessors.setter(Page.class.getDeclaredField("content"), StringPage.class);
+        assertEquals(newParameterizedType(List.class, null, String.class), content.getType());
+        content.get().accept(page, Collections.singletonList("c"));
+        assertEquals(Collections.singletonList("c"), page.getContent());
+
+        Accessors.setter(Page.class.getDeclaredField("kind"), StringPage.class).get().accept(null, "book");
+        assertEquals("book", Page.kind);
+        Page.kind = "page";
+
+        assertThrows(ClassCastException.class, () -> size.get().accept(page, "not an int"));
+    }
+
+    @Test
+    public void constructors() throws Exception {
+        @SuppressWarnings("rawtypes")
+        Accessor<Function<Object[], Page>> constructor = Accessors.constructor(Page.class.getDeclaredConstructor(List.class, int.class));
+        assertEquals(Page.class, constructor.getType());
+        Page<?> page = constructor.get().apply(new Object[]{Collections.singletonList("x"), 1});
+        assertEquals(Collections.singletonList("x"), page.getContent());
+        assertEquals(1, page.getSize());
+    }
+}
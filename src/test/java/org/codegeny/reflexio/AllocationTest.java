@@ -0,0 +1,105 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Documented;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation regression tests: the bytes allocated per call of the main {@link Types} entry points (measured after
+ * warm-up with <code>com.sun.management.ThreadMXBean</code>) must stay within the budgets checked in
+ * <code>allocation-budgets.properties</code>. Skipped on JVMs which cannot measure thread allocations.
+ */
+public class AllocationTest {
+
+    private static final int WARM_UP = 20_000;
+    private static final int ITERATIONS = 10_000;
+
+    interface Repository<E> extends Supplier<List<E>> {
+    }
+
+    interface StringRepository extends Repository<String>, Serializable {
+    }
+
+    private static Map<String, Callable<?>> operations() throws Exception {
+        Type listOfStrings = Types.newParameterizedType(List.class, null, String.class);
+        Type collectionOfCharSequences = Types.newParameterizedType(Collection.class, null, Types.newWildcardType(new Type[0], new Type[]{CharSequence.class}));
+        Map<String, Callable<?>> operations = new LinkedHashMap<>();
+        operations.put("isAssignable.classes", () -> Types.isAssignable(Number.class, Integer.class));
+        operations.put("isAssignable.parameterized", () -> Types.isAssignable(collectionOfCharSequences, listOfStrings));
+        operations.put("isAssignable.negative", () -> Types.isAssignable(collectionOfCharSequences, Types.class));
+        operations.put("resolveTypeArguments", () -> Types.resolveTypeArguments(StringRepository.class, Supplier.class));
+        operations.put("expand.type", () -> Types.expand(Repository.class.getTypeParameters()[0], StringRepository.class));
+        operations.put("expand.member", () -> Types.expand(Supplier.class.getMethod("get"), StringRepository.class));
+        operations.put("raw", () -> Types.raw(listOfStrings));
+        operations.put("parseType", () -> Types.parseType("java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>"));
+        operations.put("collect", () -> Types.collect(Documented.class, Documented.class));
+        operations.put("typeLiteral", () -> new TypeLiteral<List<String>>() {});
+        AnnotationIndex index = AnnotationIndex.of(Documented.class, FunctionalInterface.class);
+        AnnotationIndex.Mask mask = index.mask(FunctionalInterface.class);
+        Method get = Supplier.class.getMethod("get");
+        operations.put("annotationIndex.isPresent", () -> index.isPresent(Documented.class, Documented.class));
+        operations.put("annotationIndex.anyOf", () -> index.anyOf(get, mask));
+        return operations;
+    }
+
+    private static Properties budgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream input = AllocationTest.class.getResourceAsStream("allocation-budgets.properties")) {
+            assertNotNull(input, "Missing allocation-budgets.properties");
+            budgets.load(input);
+        }
+        return budgets;
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> allocations() throws Exception {
+        Properties budgets = budgets();
+        List<DynamicTest> tests = new ArrayList<>();
+        operations().forEach((name, operation) -> tests.add(DynamicTest.dynamicTest(name, () -> {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            assumeTrue(bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported(), "Thread allocation not measurable");
+            String budget = budgets.getProperty(name);
+            assertNotNull(budget, "No allocation budget for " + name);
+            long allocated = allocatedBytesPerOperation((com.sun.management.ThreadMXBean) bean, operation);
+            assertTrue(allocated <= Long.parseLong(budget.trim()), name + " allocated " + allocated + " bytes per call, budget is " + budget);
+        })));
+        return tests.stream();
+    }
+
+    private static long allocatedBytesPerOperation(com.sun.management.ThreadMXBean bean, Callable<?> operation) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink = operation.call();
+        }
+        long threadId = Thread.currentThread().getId();
+        long baseline = bean.getThreadAllocatedBytes(threadId);
+        long overhead = bean.getThreadAllocatedBytes(threadId) - baseline;
+        long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        long after = bean.getThreadAllocatedBytes(threadId);
+        assertNotNull(sink);
+        return Math.max(0, after - before - overhead) / ITERATIONS;
+    }
+}
@@ -0,0 +1,172 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnotationIndexFileTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Component {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Logged {
+        Component nested() default @Component;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Tags {
+        Tag[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Tags.class)
+    @interface Tag {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Holder {
+        Component[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Bag {
+        Tag[] value();
+    }
+
+    @Component
+    interface Service {
+    }
+
+    static class Base {
+
+        @Logged
+        public String field;
+    }
+
+    @Tag("a")
+    static class Payload {
+    }
+
+    @Holder(@Component)
+    @Bag(@Tag("a"))
+    static class Held {
+    }
+
+    static class MyService extends Base implements Service {
+
+        @Tag("a")
+        @Tag("b")
+        public Payload method(String value, int[] values) {
+            return null;
+        }
+
+        @Logged
+        public MyService() {
+        }
+
+        public void other() {
+        }
+    }
+
+    private static final List<Class<? extends Annotation>> ANNOTATION_TYPES = Arrays.asList(Component.class, Logged.class, Tag.class, Tags.class, Holder.class, Bag.class);
+
+    @Test
+    public void sameAsCollect(@TempDir Path temporary) throws Exception {
+        Path file = temporary.resolve("annotations.idx");
+        AnnotationIndexFile.write(ClassHierarchyIndex.scan(testClasses()), file);
+        AnnotationIndexFile index = AnnotationIndexFile.open(file);
+
+        assertTrue(index.contains(MyService.class.getName()));
+        assertFalse(index.contains(String.class.getName()));
+        assertTrue(index.getClassNames(Component.class.getName()).containsAll(Arrays.asList(Service.class.getName(), MyService.class.getName())));
+        assertFalse(index.getClassNames(Component.class.getName()).contains(Base.class.getName()));
+        assertEquals(0, index.getClassNames("com.acme.Unknown").size());
+
+        List<AnnotatedElement> elements = Arrays.asList(
+                MyService.class,
+                Base.class,
+                Payload.class,
+                Held.class,
+                Service.class,
+                String.class,
+                MyService.class.getMethod("method", String.class, int[].class),
+                MyService.class.getMethod("other"),
+                MyService.class.getConstructor(),
+                MyService.class.getField("field"),
+                MyService.class.getMethod("method", String.class, int[].class).getParameters()[0]
+        );
+        for (AnnotatedElement element : elements) {
+            for (Class<? extends Annotation> annotationType : ANNOTATION_TYPES) {
+                assertEquals(!Types.collect(element, annotationType).isEmpty(), index.isPresent(element, annotationType), element + " / " + annotationType);
+            }
+        }
+    }
+
+    @Test
+    public void onlyRepeatableAnnotationsAreContained(@TempDir Path temporary) throws Exception {
+        Path file = temporary.resolve("annotations.idx");
+        AnnotationIndexFile.write(ClassHierarchyIndex.scan(testClasses()), file);
+        AnnotationIndexFile index = AnnotationIndexFile.open(file);
+
+        assertTrue(index.isPresent(Held.class, Holder.class));
+        assertFalse(index.isPresent(Held.class, Component.class));
+        assertFalse(index.isPresent(Held.class, Tag.class));
+        assertFalse(index.getClassNames(Component.class.getName()).contains(Held.class.getName()));
+        assertTrue(index.getClassNames(Tag.class.getName()).contains(Payload.class.getName()));
+
+        // the annotation types are not indexed, they are loaded to find their container
+        ClassHierarchyIndex classesOnly = ClassHierarchyIndex.of(Arrays.asList(classFile(Held.class), classFile(MyService.class)));
+        assertEquals(Arrays.asList(Holder.class.getName(), Bag.class.getName()), classesOnly.getAnnotationTypeNames(Held.class.getName()));
+        assertEquals(Arrays.asList(Tags.class.getName(), Tag.class.getName()), classesOnly.getMemberAnnotationTypeNames(MyService.class.getName()).get("method(Ljava/lang/String;[I)L" + Payload.class.getName().replace('.', '/') + ";"));
+    }
+
+    @Test
+    public void version(@TempDir Path temporary) throws Exception {
+        Path file = temporary.resolve("annotations.idx");
+        AnnotationIndexFile.write(ClassHierarchyIndex.of(Collections.emptyList()), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = 42;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> AnnotationIndexFile.open(file));
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> AnnotationIndexFile.open(file));
+    }
+
+    private static ByteBuffer classFile(Class<?> klass) throws IOException {
+        try (InputStream input = klass.getResourceAsStream(klass.getName().substring(klass.getName().lastIndexOf('.') + 1) + ".class")) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read; (read = input.read(buffer)) >= 0; ) {
+                output.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(output.toByteArray());
+        }
+    }
+
+    private static Path testClasses() throws Exception {
+        return Paths.get(AnnotationIndexFileTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
@@ -0,0 +1,94 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnotationIndexTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Secured {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Logged {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Tags {
+        Tag[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Tags.class)
+    @interface Tag {
+        String value();
+    }
+
+    @Secured
+    interface Service {
+    }
+
+    static class Base {
+    }
+
+    @Logged
+    static class Payload {
+    }
+
+    static class MyService extends Base implements Service {
+
+        @Tag("a")
+        @Tag("b")
+        public Payload method() {
+            return null;
+        }
+
+        public void other() {
+        }
+    }
+
+    @Test
+    public void presence() throws Exception {
+        AnnotationIndex index = AnnotationIndex.of(Secured.class, Logged.class, Tag.class, Deprecated.class);
+        AnnotationIndex.Mask securedOrLogged = index.mask(Secured.class, Logged.class);
+        AnnotationIndex.Mask securedAndTagged = index.mask(Secured.class, Tag.class);
+
+        assertTrue(index.isPresent(MyService.class, Secured.class));
+        assertFalse(index.isPresent(MyService.class, Logged.class));
+        assertTrue(index.isPresent(MyService.class.getMethod("method"), Logged.class));
+        assertTrue(index.isPresent(MyService.class.getMethod("method"), Tag.class));
+        assertFalse(index.isPresent(MyService.class.getMethod("other"), Tag.class));
+
+        assertFalse(index.anyOf(Base.class, index.mask()));
+        assertFalse(index.anyOf(Base.class, securedOrLogged));
+        assertTrue(index.anyOf(MyService.class, securedOrLogged));
+        assertTrue(index.allOf(MyService.class.getMethod("method"), securedAndTagged));
+        assertFalse(index.allOf(MyService.class.getMethod("other"), securedAndTagged));
+
+        assertThrows(IllegalArgumentException.class, () -> index.isPresent(MyService.class, Retention.class));
+        assertThrows(IllegalArgumentException.class, () -> AnnotationIndex.of(Secured.class).anyOf(Base.class, securedOrLogged));
+    }
+
+    @Test
+    public void sameClosureAsCollect() throws Exception {
+        List<Class<? extends Annotation>> annotationTypes = Arrays.asList(Secured.class, Logged.class, Tag.class);
+        AnnotationIndex index = AnnotationIndex.of(Secured.class, Logged.class, Tag.class);
+        for (AnnotatedElement element : Arrays.<AnnotatedElement>asList(MyService.class, Base.class, Payload.class, MyService.class.getMethod("method"), MyService.class.getMethod("other"))) {
+            for (Class<? extends Annotation> annotationType : annotationTypes) {
+                assertEquals(!Types.collect(element, annotationType).isEmpty(), index.isPresent(element, annotationType), element + " / " + annotationType);
+            }
+        }
+    }
+}
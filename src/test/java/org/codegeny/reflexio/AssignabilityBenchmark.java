@@ -0,0 +1,103 @@
+package org.codegeny.reflexio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Assignability checks of a router-like workload where most checks are negative: the supertype filter rejects them
+ * before the assignability cache is even looked up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignabilityBenchmark {
+
+    private final List<Type> lefts = new ArrayList<>();
+    private final List<Type> rights = new ArrayList<>();
+    private final List<Class<?>> rawLefts = new ArrayList<>();
+    private final List<Class<?>> rawRights = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Class<?>[] handlers = {Supplier.class, Function.class, Callable.class, Runnable.class, Map.class, Set.class};
+        Class<?>[] payloads = {ArrayList.class, HashMap.class, String.class, Integer.class, Thread.class, StringBuilder.class};
+        for (Class<?> handler : handlers) {
+            lefts.add(handler.getTypeParameters().length == 0 ? handler : Types.newParameterizedType(handler, null, wildcards(handler.getTypeParameters().length)));
+            rawLefts.add(handler);
+        }
+        for (Class<?> payload : payloads) {
+            rights.add(payload.getTypeParameters().length == 0 ? payload : Types.newParameterizedType(payload, null, strings(payload.getTypeParameters().length)));
+            rawRights.add(payload);
+        }
+        rights.add(Types.newParameterizedType(List.class, null, String.class));
+        rawRights.add(List.class);
+        rights.add(Types.newParameterizedType(Collection.class, null, Integer.class));
+        rawRights.add(Collection.class);
+    }
+
+    private static Type[] wildcards(int count) {
+        Type[] wildcards = new Type[count];
+        for (int i = 0; i < count; i++) {
+            wildcards[i] = Types.newWildcardType(new Type[0], new Type[]{Object.class});
+        }
+        return wildcards;
+    }
+
+    private static Type[] strings(int count) {
+        Type[] strings = new Type[count];
+        Arrays.fill(strings, String.class);
+        return strings;
+    }
+
+    @Benchmark
+    public void isAssignable(Blackhole blackhole) {
+        for (Type left : lefts) {
+            for (Type right : rights) {
+                blackhole.consume(Types.isAssignable(left, right));
+            }
+        }
+    }
+
+    @Benchmark
+    public void supertypeFilter(Blackhole blackhole) {
+        for (Class<?> left : rawLefts) {
+            for (Class<?> right : rawRights) {
+                blackhole.consume(SupertypeFilter.mayBeAssignable(left, right));
+            }
+        }
+    }
+
+    @Benchmark
+    public void classIsAssignableFrom(Blackhole blackhole) {
+        for (Class<?> left : rawLefts) {
+            for (Class<?> right : rawRights) {
+                blackhole.consume(left.isAssignableFrom(right));
+            }
+        }
+    }
+}
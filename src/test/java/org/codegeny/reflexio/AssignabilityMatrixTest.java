@@ -0,0 +1,112 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AssignabilityMatrixTest {
+
+    interface Repository<E> extends Supplier<List<E>> {
+    }
+
+    static class StringRepository implements Repository<String> {
+
+        @Override
+        public List<String> get() {
+            return null;
+        }
+    }
+
+    static class GenericRepository<E extends Number> implements Repository<E> {
+
+        @Override
+        public List<E> get() {
+            return null;
+        }
+    }
+
+    private static List<Type> types() {
+        List<Class<?>> classes = Arrays.asList(Object.class, Number.class, Integer.class, Long.class, String.class, CharSequence.class, Serializable.class,
+                Comparable.class, Collection.class, List.class, ArrayList.class, AbstractList.class, RandomAccess.class, Map.class, HashMap.class,
+                Supplier.class, Repository.class, StringRepository.class, GenericRepository.class, int.class, int[].class, Number[].class, Integer[].class);
+        List<Type> types = new ArrayList<>(classes);
+        for (Class<?> argument : Arrays.asList(Object.class, Number.class, Integer.class, String.class)) {
+            types.add(Types.newParameterizedType(List.class, null, argument));
+            types.add(Types.newParameterizedType(ArrayList.class, null, argument));
+            types.add(Types.newParameterizedType(Collection.class, null, Types.newWildcardType(new Type[0], new Type[]{argument})));
+            types.add(Types.newParameterizedType(Collection.class, null, Types.newWildcardType(new Type[]{argument}, new Type[]{Object.class})));
+            types.add(Types.newParameterizedType(Map.class, null, String.class, argument));
+            types.add(Types.newParameterizedType(Repository.class, null, argument));
+            types.add(Types.newParameterizedType(Supplier.class, null, Types.newParameterizedType(List.class, null, argument)));
+            types.add(Types.newGenericArrayType(Types.newParameterizedType(List.class, null, argument)));
+        }
+        types.add(GenericRepository.class.getTypeParameters()[0]);
+        types.add(Types.newParameterizedType(GenericRepository.class, null, GenericRepository.class.getTypeParameters()[0]));
+        return types;
+    }
+
+    private static void assertSameAsPairwise(List<Type> lefts, List<Type> rights, AssignabilityMatrix matrix) {
+        assertEquals(lefts.size(), matrix.getRows());
+        assertEquals(rights.size(), matrix.getColumns());
+        for (int i = 0; i < lefts.size(); i++) {
+            List<Type> candidates = new ArrayList<>();
+            for (int j = 0; j < rights.size(); j++) {
+                boolean expected = Types.isAssignable(lefts.get(i), rights.get(j));
+                assertEquals(expected, matrix.isAssignable(i, j), lefts.get(i) + " := " + rights.get(j));
+                if (expected) {
+                    candidates.add(rights.get(j));
+                }
+            }
+            assertEquals(candidates, matrix.getCandidates(i));
+        }
+    }
+
+    @Test
+    public void sameAsPairwise() {
+        List<Type> types = types();
+        assertSameAsPairwise(types, types, AssignabilityMatrix.of(types, types));
+    }
+
+    @Test
+    public void largeMatrix() {
+        // enough pairs (and more than 64 columns) to be split both ways
+        List<Type> lefts = new ArrayList<>();
+        List<Type> rights = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lefts.addAll(types());
+            rights.addAll(types());
+            rights.addAll(types());
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSameAsPairwise(lefts, rights, AssignabilityMatrix.of(lefts, rights, pool));
+            assertSameAsPairwise(lefts.subList(0, 1), rights, AssignabilityMatrix.of(lefts.subList(0, 1), rights, pool));
+            assertSameAsPairwise(lefts, rights.subList(0, 3), AssignabilityMatrix.of(lefts, rights.subList(0, 3), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyAndBounds() {
+        AssignabilityMatrix matrix = AssignabilityMatrix.of(Collections.singletonList(Object.class), Collections.emptyList());
+        assertEquals(Collections.emptyList(), matrix.getCandidates(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.isAssignable(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.getCandidates(1));
+    }
+}
@@ -0,0 +1,216 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachesTest {
+
+    interface Provider extends Supplier<Integer> {
+    }
+
+    static class Base<T> {
+    }
+
+    static class Derived extends Base<String> {
+    }
+
+    static class Unrelated {
+    }
+
+    @AfterEach
+    public void reset() {
+        Caches.configure(Caches.unbounded());
+        Caches.setDependencyTracking(false);
+    }
+
+    @Test
+    public void policies() throws Exception {
+        for (CacheFactory factory : Arrays.asList(Caches.unbounded(), Caches.lru(2), Caches.weak(), Caches.disabled())) {
+            Caches.configure(factory);
+            for (int i = 0; i < 2; i++) {
+                assertArrayEquals(new Type[]{Integer.class}, Types.resolveTypeArguments(Provider.class, Supplier.class));
+                assertTrue(Types.isAssignable(Supplier.class, Provider.class));
+                assertFalse(Types.isAssignable(Provider.class, Supplier.class));
+                assertEquals(Integer.class, Types.expand(Supplier.class.getMethod("get"), Provider.class));
+                assertEquals(1, Types.collect(Supplier.class, FunctionalInterface.class).size());
+                assertEquals(Types.newParameterizedType(Set.class, null, String.class), Types.parseType("java.util.Set<java.lang.String>"));
+            }
+        }
+    }
+
+    @Test
+    public void customFactory() throws Exception {
+        List<String> names = new CopyOnWriteArrayList<>();
+        Caches.configure(new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                names.add(name);
+                return Caches.disabled().newCache(name);
+            }
+        });
+        assertTrue(names.containsAll(Arrays.asList("resolveTypeArguments", "isAssignable", "expand", "collect")));
+        names.clear();
+        ClassNameCacheTest.CountingClassLoader classLoader = new ClassNameCacheTest.CountingClassLoader();
+        Types.parseType("java.util.Set<java.lang.String>", classLoader);
+        assertTrue(names.containsAll(Arrays.asList("loadClass", "parseType")));
+    }
+
+    @Test
+    public void classNamesFollowThePolicy() throws Exception {
+        String typeName = "java.util.Set<java.lang.String>";
+        assertSame(Types.parseType(typeName), Types.parseType(typeName));
+
+        Caches.configure(Caches.disabled());
+        assertNotSame(Types.parseType(typeName), Types.parseType(typeName));
+        ClassNameCacheTest.CountingClassLoader classLoader = new ClassNameCacheTest.CountingClassLoader();
+        Types.loadClass("java.lang.String", classLoader);
+        Types.loadClass("java.lang.String", classLoader);
+        assertEquals(2, classLoader.count("java.lang.String"));
+
+        Caches.configure(Caches.lru(1));
+        Type type = Types.parseType(typeName, classLoader);
+        assertSame(type, Types.parseType(typeName, classLoader));
+        Types.parseType("java.util.List<java.lang.String>", classLoader);
+        assertNotSame(type, Types.parseType(typeName, classLoader));
+    }
+
+    @Test
+    public void lru() {
+        AtomicInteger counter = new AtomicInteger();
+        Cache<String, Integer> cache = new LruCache<>(2);
+        cache.get("a", k -> counter.incrementAndGet());
+        cache.get("b", k -> counter.incrementAndGet());
+        cache.get("a", k -> counter.incrementAndGet());
+        cache.get("c", k -> counter.incrementAndGet());
+        assertEquals(3, counter.get());
+        assertEquals(4, cache.get("b", k -> counter.incrementAndGet()));
+        assertEquals(3, cache.get("c", k -> counter.incrementAndGet()));
+    }
+
+    @Test
+    public void invalidateClassLoader() {
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {};
+        ClassLoader other = new ClassLoader(getClass().getClassLoader()) {};
+        for (Cache<List<Object>, Object> cache : Arrays.<Cache<List<Object>, Object>>asList(new ClassValueCache<>(), new LruCache<>(10), new WeakCache<>())) {
+            List<Object> key = Arrays.asList(classLoader, "java.lang.String");
+            List<Object> classKey = Arrays.asList(CachesTest.class, "java.lang.String");
+            Object value = cache.get(key, k -> new Object());
+            Object classValue = cache.get(classKey, k -> new Object());
+            assertSame(value, cache.get(key, k -> new Object()));
+            cache.invalidate(other);
+            assertSame(value, cache.get(key, k -> new Object()));
+            assertSame(classValue, cache.get(classKey, k -> new Object()));
+            cache.invalidate(classLoader);
+            assertFalse(value == cache.get(key, k -> new Object()));
+            assertSame(classValue, cache.get(classKey, k -> new Object()));
+            cache.invalidate(getClass().getClassLoader());
+            assertFalse(classValue == cache.get(classKey, k -> new Object()));
+        }
+    }
+
+    @Test
+    public void anchors() {
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {};
+        ClassLoader other = new ClassLoader(getClass().getClassLoader()) {};
+        assertSame(CacheKeys.NONE, CacheKeys.anchor(Arrays.asList("a", "b")));
+        assertSame(String.class, CacheKeys.anchor(Arrays.asList(String.class, null)));
+        assertSame(CachesTest.class, CacheKeys.anchor(Arrays.asList(String.class, CachesTest.class)));
+        assertSame(CachesTest.class, CacheKeys.anchor(Arrays.asList(CachesTest.class, String.class)));
+        assertSame(classLoader, CacheKeys.anchor(Arrays.asList(CachesTest.class, classLoader)));
+        assertNull(CacheKeys.anchor(Arrays.asList(classLoader, other)));
+        assertNull(CacheKeys.anchor(CachesTest.class.getPackage()));
+    }
+
+    @Test
+    public void homes() {
+        Type listOfCachesTests = Types.newParameterizedType(List.class, null, CachesTest.class);
+        assertSame(CachesTest.class, CacheKeys.home(CacheKeys.pair(String.class, CachesTest.class)));
+        assertSame(CachesTest.class, CacheKeys.home(CacheKeys.pair(CachesTest[].class, String.class)));
+        assertSame(List.class, CacheKeys.home(CacheKeys.pair(listOfCachesTests, String.class)));
+        assertSame(CachesTest.class, CacheKeys.anchor(CacheKeys.pair(listOfCachesTests, String.class)));
+        assertNull(CacheKeys.home(Arrays.asList("a", "b")));
+        assertEquals(CacheKeys.pair(listOfCachesTests, null), CacheKeys.pair(Types.newParameterizedType(List.class, null, CachesTest.class), null));
+        assertEquals(CacheKeys.pair(listOfCachesTests, null).hashCode(), CacheKeys.pair(Types.newParameterizedType(List.class, null, CachesTest.class), null).hashCode());
+
+        // entries are found again whether they are stored alongside their home class, their anchor or in the shared map
+        Cache<Object, Integer> cache = new ClassValueCache<>();
+        AtomicInteger counter = new AtomicInteger();
+        for (Object key : Arrays.asList(CacheKeys.pair(CachesTest.class, String.class), CacheKeys.pair(listOfCachesTests, String.class), CacheKeys.pair(Integer.class, String.class))) {
+            int value = cache.get(key, k -> counter.incrementAndGet());
+            assertEquals(value, cache.get(key, k -> counter.incrementAndGet()));
+        }
+        assertEquals(3, counter.get());
+        cache.invalidateAll();
+        cache.get(CacheKeys.pair(Integer.class, String.class), k -> counter.incrementAndGet());
+        assertEquals(4, counter.get());
+    }
+
+    @Test
+    public void invalidateClasses() {
+        Caches.setDependencyTracking(true);
+        for (CacheFactory factory : Arrays.asList(Caches.unbounded(), Caches.lru(10), Caches.weak())) {
+            Caches.configure(factory);
+            AtomicInteger counter = new AtomicInteger();
+            Cache<List<Object>, Integer> cache = Caches.newCache("test");
+            Cache<List<Object>, Integer> outer = Caches.newCache("outer");
+            Supplier<Integer> derived = () -> cache.get(Arrays.asList(Derived.class), k -> {
+                Types.resolveTypeArguments(Derived.class, Base.class);
+                return counter.incrementAndGet();
+            });
+            Supplier<Integer> unrelated = () -> cache.get(Arrays.asList(Unrelated.class), k -> counter.incrementAndGet());
+            Supplier<Integer> dependent = () -> outer.get(Arrays.asList("dependent"), k -> derived.get() * 100);
+
+            int derivedValue = derived.get();
+            int unrelatedValue = unrelated.get();
+            int dependentValue = dependent.get(); // derived is a cache hit here, its dependencies must propagate anyway
+            assertEquals(derivedValue, derived.get().intValue());
+            assertEquals(dependentValue, dependent.get().intValue());
+
+            Caches.invalidate(Base.class);
+            assertFalse(derivedValue == derived.get());
+            assertEquals(unrelatedValue, unrelated.get().intValue());
+            assertEquals(derived.get() * 100, dependent.get().intValue());
+
+            Caches.invalidate(Unrelated.class);
+            assertFalse(unrelatedValue == unrelated.get());
+        }
+    }
+
+    @Test
+    public void invalidateClassesWithoutTracking() {
+        AtomicInteger counter = new AtomicInteger();
+        Cache<List<Object>, Integer> cache = Caches.newCache("test");
+        int unrelatedValue = cache.get(Arrays.asList(Unrelated.class), k -> counter.incrementAndGet());
+        assertEquals(unrelatedValue, cache.get(Arrays.asList(Unrelated.class), k -> counter.incrementAndGet()).intValue());
+        Caches.invalidate(Base.class);
+        assertFalse(unrelatedValue == cache.get(Arrays.asList(Unrelated.class), k -> counter.incrementAndGet()));
+    }
+
+    @Test
+    public void invalidateIf() {
+        for (Cache<String, Integer> cache : Arrays.<Cache<String, Integer>>asList(new ClassValueCache<>(), new LruCache<>(10), new WeakCache<>())) {
+            cache.get("a", k -> 1);
+            cache.get("b", k -> 2);
+            cache.invalidateIf((key, value) -> value == 1);
+            assertEquals(3, cache.get("a", k -> 3).intValue());
+            assertEquals(2, cache.get("b", k -> 4).intValue());
+        }
+    }
+}
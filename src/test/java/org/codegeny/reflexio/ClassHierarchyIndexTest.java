@@ -0,0 +1,210 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.codegeny.reflexio.SymbolicTypes.className;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassHierarchyIndexTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Tags {
+        Tag[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Tags.class)
+    @interface Tag {
+        String value();
+    }
+
+    interface Converter<S, T> {
+    }
+
+    static abstract class Base<A extends Comparable<? super A>, B extends Number & Serializable> implements Converter<List<? extends A>, B[]> {
+
+        abstract class Inner implements Converter<A, Map<String, B>> {
+        }
+    }
+
+    @Marker
+    @Tag("a")
+    @Tag("b")
+    static abstract class Impl extends Base<String, Integer> implements Function<int[][], Map.Entry<String, ?>>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Marker
+        String field;
+
+        @Tag("c")
+        abstract void method(String value);
+    }
+
+    static abstract class Entry<K, V> extends AbstractMap.SimpleEntry<K, V> implements Map.Entry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        Entry(K key, V value) {
+            super(key, value);
+        }
+    }
+
+    static <T extends Number> Class<?> numberConverter() {
+        abstract class Local implements Converter<T, String> {
+        }
+        return Local.class;
+    }
+
+    static <T extends CharSequence> Class<?> textConverter() {
+        abstract class Local implements Converter<T, String> {
+        }
+        return Local.class;
+    }
+
+    private static final List<Class<?>> CLASSES = Arrays.asList(Converter.class, Base.class, Base.Inner.class, Impl.class, Entry.class, Marker.class, ClassHierarchyIndexTest.class);
+
+    @Test
+    public void sameAsReflection() throws Exception {
+        ClassHierarchyIndex index = ClassHierarchyIndex.scan(testClasses());
+        for (Class<?> klass : CLASSES) {
+            ClassDescriptor expected = SymbolicTypes.describe(klass);
+            ClassDescriptor actual = index.describe(klass.getName());
+            assertNotNull(actual, klass.getName());
+            assertEquals(expected.isInterface(), actual.isInterface(), klass.getName());
+            assertArrayEquals(expected.getTypeParameters(), actual.getTypeParameters(), klass.getName());
+            for (TypeVariableName typeParameter : expected.getTypeParameters()) {
+                assertArrayEquals(expected.bounds(typeParameter.getName()), actual.bounds(typeParameter.getName()), klass.getName());
+            }
+            assertEquals(expected.getSuperclass(), actual.getSuperclass(), klass.getName());
+            assertArrayEquals(expected.getInterfaces(), actual.getInterfaces(), klass.getName());
+        }
+        assertNull(index.describe("java.lang.String"));
+    }
+
+    @Test
+    public void symbolicQueries(@TempDir Path temporary) throws Exception {
+        Path jar = temporary.resolve("test.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> klass : CLASSES) {
+                String name = klass.getName().replace('.', '/') + ".class";
+                output.putNextEntry(new ZipEntry(name));
+                copy(klass.getClassLoader().getResourceAsStream(name), output);
+            }
+        }
+        ClassHierarchyIndex index = ClassHierarchyIndex.scan(jar);
+        assertEquals(CLASSES.size(), index.size());
+
+        ClassMetadataProvider reflection = ClassMetadataProvider.reflection(getClass().getClassLoader());
+        SymbolicTypes types = new SymbolicTypes(name -> index.getClassNames().contains(name) ? index.describe(name) : reflection.describe(name));
+        assertArrayEquals(
+                TypeVisitor.accept(SymbolicTypeConverter.INSTANCE, Type[]::new, Types.resolveTypeArguments(Impl.class, Converter.class)),
+                types.resolveTypeArguments(className(Impl.class.getName()), Converter.class.getName())
+        );
+        assertArrayEquals(
+                new Type[]{Types.newGenericArrayType(Types.newGenericArrayType(className("int"))), Types.newParameterizedType(className("java.util.Map$Entry"), className("java.util.Map"), className("java.lang.String"), SymbolicTypes.newWildcardType(new Type[0], new Type[0]))},
+                types.resolveTypeArguments(className(Impl.class.getName()), Function.class.getName())
+        );
+        assertEquals(
+                SymbolicTypes.symbolic(Types.expand(Impl.class, Function.class)),
+                types.expand(className(Impl.class.getName()), Function.class.getName())
+        );
+    }
+
+    @Test
+    public void localClasses() throws Exception {
+        ClassHierarchyIndex index = ClassHierarchyIndex.scan(testClasses());
+        Type number = index.describe(numberConverter().getName()).getInterfaces()[0];
+        Type text = index.describe(textConverter().getName()).getInterfaces()[0];
+        assertEquals(SymbolicTypes.symbolic(numberConverter().getGenericInterfaces()[0]), number);
+        assertEquals(SymbolicTypes.symbolic(textConverter().getGenericInterfaces()[0]), text);
+        TypeVariableName variable = (TypeVariableName) ((ParameterizedType) number).getActualTypeArguments()[0];
+        assertEquals(ClassHierarchyIndexTest.class.getName(), variable.getDeclaringClassName());
+        assertEquals("numberConverter()Ljava/lang/Class;", variable.getDeclaringMethodName());
+        assertNotEquals(variable, ((ParameterizedType) text).getActualTypeArguments()[0]);
+    }
+
+    @Test
+    public void annotations() throws Exception {
+        ClassHierarchyIndex index = ClassHierarchyIndex.scan(testClasses());
+        assertEquals(Arrays.asList(Marker.class.getName(), Tags.class.getName(), Tag.class.getName()), index.getAnnotationTypeNames(Impl.class.getName()));
+        assertEquals(Collections.emptyList(), index.getAnnotationTypeNames(Base.class.getName()));
+        assertEquals(Collections.emptyList(), index.getAnnotationTypeNames("unknown"));
+    }
+
+    @Test
+    public void corruptEntries(@TempDir Path temporary) throws Exception {
+        Path jar = temporary.resolve("corrupt.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> klass : CLASSES) {
+                String name = klass.getName().replace('.', '/') + ".class";
+                output.putNextEntry(new ZipEntry(name));
+                copy(klass.getClassLoader().getResourceAsStream(name), output);
+            }
+            output.putNextEntry(new ZipEntry("com/acme/Corrupt.class"));
+            output.write(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0});
+        }
+        Path directory = temporary.resolve("classes");
+        Files.createDirectories(directory.resolve("com/acme"));
+        Files.write(directory.resolve("com/acme/Other.class"), new byte[]{1, 2, 3, 4});
+
+        ClassHierarchyIndex index = ClassHierarchyIndex.scan(jar, directory);
+        assertEquals(CLASSES.size(), index.size());
+        assertEquals(new HashSet<>(Arrays.asList(jar + "!/com/acme/Corrupt.class", directory.resolve("com/acme/Other.class").toString())), index.getFailures().keySet());
+        assertTrue(ClassHierarchyIndex.scan(testClasses()).getFailures().isEmpty());
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> ClassHierarchyIndex.of(Collections.singletonList(java.nio.ByteBuffer.wrap(new byte[]{1, 2, 3, 4}))));
+        assertThrows(IllegalArgumentException.class, () -> ClassHierarchyIndex.of(Collections.singletonList(java.nio.ByteBuffer.wrap(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0}))));
+    }
+
+    private static Path testClasses() throws URISyntaxException {
+        return Paths.get(ClassHierarchyIndexTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        try (InputStream in = input) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.TypeVariable;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ClassMetadataTest {
+
+    public <S extends CharSequence & Serializable> void method(S s) {
+    }
+
+    @Test
+    public void classMetadataIsShared() {
+        ClassMetadata metadata = ClassMetadata.of(Map.class);
+        assertSame(metadata, ClassMetadata.of(Map.class));
+        assertSame(metadata.getTypeParameters(), ClassMetadata.of(Map.class).getTypeParameters());
+        assertArrayEquals(Map.class.getTypeParameters(), metadata.getTypeParameters());
+        assertEquals(0, metadata.indexOfTypeParameter("K"));
+        assertEquals(1, metadata.indexOfTypeParameter("V"));
+        assertEquals(-1, metadata.indexOfTypeParameter("X"));
+    }
+
+    @Test
+    public void methodTypeVariableBounds() throws Exception {
+        TypeVariable<?> s = Types.methodTypeVariable("S", ClassMetadataTest.class, "method", CharSequence.class);
+        assertSame(ClassMetadata.bounds(s), ClassMetadata.bounds(s));
+        assertArrayEquals(s.getBounds(), ClassMetadata.bounds(s));
+    }
+}
@@ -0,0 +1,112 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClassNameCacheTest {
+
+    static final class CountingClassLoader extends ClassLoader {
+
+        final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+        CountingClassLoader() {
+            super(CountingClassLoader.class.getClassLoader());
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException {
+            counters.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+            return super.loadClass(name);
+        }
+
+        int count(String name) {
+            return counters.getOrDefault(name, new AtomicInteger()).get();
+        }
+    }
+
+    @AfterEach
+    public void reset() {
+        Caches.setClassNotFoundTimeToLive(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void hits() throws Exception {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        assertSame(String.class, Types.loadClass("java.lang.String", classLoader));
+        assertSame(String.class, Types.loadClass("java.lang.String", classLoader));
+        assertEquals(1, classLoader.count("java.lang.String"));
+        assertSame(int.class, Types.loadClass("int", classLoader));
+        assertSame(String.class, Types.loadClass("java.lang.String", null));
+
+        Caches.invalidate(classLoader);
+        assertSame(String.class, Types.loadClass("java.lang.String", classLoader));
+        assertEquals(2, classLoader.count("java.lang.String"));
+    }
+
+    @Test
+    public void misses() {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist", classLoader));
+        assertThrows(ClassNotFoundException.class, () -> Types.parseType("java.util.List<does.not.Exist>", classLoader));
+        assertEquals(1, classLoader.count("does.not.Exist"));
+
+        Caches.setClassNotFoundTimeToLive(0, TimeUnit.SECONDS);
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist", classLoader));
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist", classLoader));
+        assertEquals(3, classLoader.count("does.not.Exist"));
+    }
+
+    @Test
+    public void missesAreBounded() {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        for (int i = 0; i <= ClassNameCache.MAXIMUM_MISSES; i++) {
+            String name = "does.not.Exist" + i;
+            assertThrows(ClassNotFoundException.class, () -> Types.loadClass(name, classLoader));
+        }
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist0", classLoader));
+        assertEquals(2, classLoader.count("does.not.Exist0"));
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist" + ClassNameCache.MAXIMUM_MISSES, classLoader));
+        assertEquals(1, classLoader.count("does.not.Exist" + ClassNameCache.MAXIMUM_MISSES));
+    }
+
+    @Test
+    public void retainedTypesAreReleased() throws Exception {
+        SyntheticHierarchy classLoader = new SyntheticHierarchy(1, 1, 1, 0);
+        WeakReference<Type> type = new WeakReference<>(Types.parseType("java.util.List<synthetic.Leaf>", classLoader));
+        Caches.invalidateAll();
+        assertCollected(type);
+        assertSame(classLoader.getLeaf(), Types.loadClass("synthetic.Leaf", classLoader));
+    }
+
+    @Test
+    public void classLoadersAreNotPinned() throws Exception {
+        assertCollected(loadThroughDiscardedClassLoader());
+    }
+
+    private static WeakReference<ClassLoader> loadThroughDiscardedClassLoader() throws Exception {
+        SyntheticHierarchy classLoader = new SyntheticHierarchy(1, 1, 1, 0);
+        assertSame(classLoader.getLeaf(), Types.loadClass("synthetic.Leaf", classLoader));
+        assertThrows(ClassNotFoundException.class, () -> Types.loadClass("does.not.Exist", classLoader));
+        return new WeakReference<>(classLoader);
+    }
+
+    static void assertCollected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+}
@@ -0,0 +1,93 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CollectAnnotationsTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Transactional {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Transactional("service")
+    @interface Service {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Service
+    @interface Facade {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Roles {
+        Role[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Roles.class)
+    @Transactional("role")
+    @interface Role {
+        String value();
+    }
+
+    @Facade
+    static class MyFacade {
+
+        @Role("a")
+        @Role("b")
+        public void method() {
+        }
+
+        @Transactional("direct")
+        public void direct() {
+        }
+    }
+
+    @Test
+    public void collect() throws Exception {
+        assertEquals(0, Types.collect(MyFacade.class, Transactional.class).size());
+        assertEquals(setOf("direct"), values(Types.collect(MyFacade.class.getMethod("direct"), Transactional.class)));
+        assertEquals(2, Types.collect(MyFacade.class.getMethod("method"), Role.class).size());
+    }
+
+    @Test
+    public void collectMerged() throws Exception {
+        assertEquals(setOf("service"), values(Types.collectMerged(MyFacade.class, Transactional.class)));
+        assertEquals(setOf("role", "service"), values(Types.collectMerged(MyFacade.class.getMethod("method"), Transactional.class)));
+        assertEquals(setOf("direct", "service"), values(Types.collectMerged(MyFacade.class.getMethod("direct"), Transactional.class)));
+        assertSame(Types.collectMerged(MyFacade.class, Transactional.class), Types.collectMerged(MyFacade.class, Transactional.class));
+    }
+
+    @Test
+    public void stream() throws Exception {
+        for (AnnotatedElement element : Arrays.<AnnotatedElement>asList(MyFacade.class, MyFacade.class.getMethod("method"), MyFacade.class.getMethod("direct"))) {
+            for (Class<? extends Annotation> annotationType : Arrays.asList(Transactional.class, Role.class, Facade.class, Retention.class)) {
+                assertEquals(new ArrayList<>(Types.collect(element, annotationType)), Types.stream(element, annotationType).collect(Collectors.toList()));
+            }
+        }
+        assertEquals("direct", Types.stream(MyFacade.class.getMethod("direct"), Transactional.class).findFirst().map(Transactional::value).orElse(null));
+    }
+
+    private static Set<String> values(Set<Transactional> annotations) {
+        return annotations.stream().map(Transactional::value).collect(Collectors.toSet());
+    }
+
+    private static Set<String> setOf(String... values) {
+        return Stream.of(values).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,214 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InstanceCheckTest {
+
+    static class Holder<N extends Number> {
+
+        List<? extends N>[] lists;
+    }
+
+    /**
+     * Huge (virtual) collection counting the elements its iterators step over.
+     */
+    static final class CountingCollection extends AbstractCollection<Integer> {
+
+        final AtomicInteger steps = new AtomicInteger();
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size();
+                }
+
+                @Override
+                public Integer next() {
+                    steps.incrementAndGet();
+                    return index++;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return 10_000_000;
+        }
+    }
+
+    private static final Type MAP_OF_LISTS = new TypeLiteral<Map<String, List<Integer>>>() {}.getType();
+
+    private static Map<String, List<Integer>> mapOfLists() {
+        Map<String, List<Integer>> map = new LinkedHashMap<>();
+        map.put("a", Arrays.asList(1, 2, 3));
+        map.put("b", new LinkedList<>(Arrays.asList(4, 5)));
+        map.put("c", null);
+        return map;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void full() {
+        Map<String, List<Integer>> map = mapOfLists();
+        assertTrue(Types.isInstance(map, MAP_OF_LISTS));
+        assertTrue(Types.isInstance(null, MAP_OF_LISTS));
+        assertFalse(Types.isInstance(null, int.class));
+        assertTrue(Types.isInstance(1, int.class));
+        assertFalse(Types.isInstance(Collections.singletonList(1), MAP_OF_LISTS));
+
+        ((List) map.get("b")).add("six");
+        InstanceCheck.Result result = InstanceCheck.full().check(map, MAP_OF_LISTS);
+        assertFalse(result.isInstance());
+        assertEquals("$[b][2]", result.getPath());
+        assertEquals(Integer.class, result.getExpectedType());
+        assertEquals("six", result.getValue());
+
+        ((Map) map).put(1, Collections.emptyList());
+        map.get("b").remove(2);
+        result = InstanceCheck.full().check(map, MAP_OF_LISTS);
+        assertEquals("${1}", result.getPath());
+    }
+
+    @Test
+    public void wildcardsTypeVariablesAndArrays() throws Exception {
+        Type type = Holder.class.getDeclaredField("lists").getGenericType();
+        assertTrue(Types.isInstance(new List<?>[]{Arrays.asList(1, 2L), null}, type));
+        InstanceCheck.Result result = InstanceCheck.full().check(new List<?>[]{Arrays.asList(1, 2L), Arrays.asList(1.0, "x")}, type);
+        assertEquals("$[1][1]", result.getPath());
+        assertFalse(Types.isInstance(new Object[0], type));
+
+        assertTrue(Types.isInstance(Arrays.asList(1, 2), new TypeLiteral<List<? super Integer>>() {}.getType()));
+        assertTrue(Types.isInstance((Supplier<String>) () -> "unchecked", new TypeLiteral<Supplier<Integer>>() {}.getType()));
+        assertTrue(Types.isInstance(new HashSet<>(Arrays.asList("a", "b")), new TypeLiteral<Set<? extends CharSequence>>() {}.getType()));
+    }
+
+    @Test
+    public void partialStrategies() {
+        List<Object> list = new ArrayList<>(Collections.nCopies(10_000, 1));
+        list.set(9_999, "not an integer");
+        Type type = new TypeLiteral<List<Integer>>() {}.getType();
+
+        InstanceCheck.Result firstN = InstanceCheck.firstN(100).check(list, type);
+        assertTrue(firstN.isInstance());
+        assertFalse(firstN.isComplete());
+        assertEquals(101, firstN.getCheckedValues());
+
+        InstanceCheck.Result sampled = InstanceCheck.sampling(100, 42).check(new LinkedList<>(list), type);
+        assertFalse(sampled.isComplete());
+        assertTrue(sampled.getCheckedValues() <= 101);
+
+        InstanceCheck.Result randomAccess = InstanceCheck.sampling(100, 42).check(list, type);
+        assertTrue(randomAccess.getCheckedValues() <= 101);
+
+        assertFalse(InstanceCheck.full().check(list, type).isInstance());
+        assertTrue(InstanceCheck.full().check(list, type).isComplete());
+        assertFalse(InstanceCheck.sampling(10_000).check(list, type).isInstance());
+    }
+
+    @Test
+    public void budget() {
+        List<List<Integer>> lists = new ArrayList<>(Collections.nCopies(1_000, Collections.nCopies(1_000, 1)));
+        InstanceCheck.Result result = InstanceCheck.full().withBudget(500).check(lists, new TypeLiteral<List<List<Integer>>>() {}.getType());
+        assertTrue(result.isInstance());
+        assertFalse(result.isComplete());
+        assertEquals(500, result.getCheckedValues());
+        assertThrows(IllegalArgumentException.class, () -> InstanceCheck.firstN(0));
+    }
+
+    @Test
+    public void boundedIteration() {
+        Type type = new TypeLiteral<Collection<Integer>>() {}.getType();
+
+        CountingCollection budgeted = new CountingCollection();
+        InstanceCheck.Result result = InstanceCheck.full().withBudget(100).check(budgeted, type);
+        assertTrue(result.isInstance());
+        assertFalse(result.isComplete());
+        assertEquals(100, result.getCheckedValues());
+        assertTrue(budgeted.steps.get() <= 100, budgeted.steps + " steps");
+
+        CountingCollection sampled = new CountingCollection();
+        result = InstanceCheck.sampling(10, 42).check(sampled, type);
+        assertTrue(result.isInstance());
+        assertFalse(result.isComplete());
+        assertEquals(11, result.getCheckedValues());
+        assertTrue(sampled.steps.get() <= 10 * InstanceCheck.MAX_STRIDE, sampled.steps + " steps");
+
+        CountingCollection keys = new CountingCollection();
+        Map<Integer, Integer> map = new AbstractMap<Integer, Integer>() {
+
+            @Override
+            public Set<Entry<Integer, Integer>> entrySet() {
+                return new AbstractSet<Entry<Integer, Integer>>() {
+
+                    @Override
+                    public Iterator<Entry<Integer, Integer>> iterator() {
+                        Iterator<Integer> iterator = keys.iterator();
+                        return new Iterator<Entry<Integer, Integer>>() {
+
+                            @Override
+                            public boolean hasNext() {
+                                return iterator.hasNext();
+                            }
+
+                            @Override
+                            public Entry<Integer, Integer> next() {
+                                Integer key = iterator.next();
+                                return new SimpleEntry<>(key, key);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return keys.size();
+                    }
+                };
+            }
+        };
+        result = InstanceCheck.sampling(10, 42).check(map, new TypeLiteral<Map<Integer, Integer>>() {}.getType());
+        assertTrue(result.isInstance());
+        assertFalse(result.isComplete());
+        assertTrue(keys.steps.get() <= 10 * InstanceCheck.MAX_STRIDE, keys.steps + " steps");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void selfReference() {
+        List list = new ArrayList<>();
+        list.add(list);
+        assertTrue(Types.isInstance(list, new TypeLiteral<List<List<?>>>() {}.getType()));
+        InstanceCheck.Result result = InstanceCheck.full().check(Collections.emptyList(), List.class);
+        assertTrue(result.isInstance());
+        assertNull(result.getPath());
+        assertNull(result.getExpectedType());
+    }
+}
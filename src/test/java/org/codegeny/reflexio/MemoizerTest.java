@@ -0,0 +1,126 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MemoizerTest {
+
+    /**
+     * Pure visitor rendering a type as a string, recursing through the given visitor and counting its own visits.
+     */
+    static final class Renderer implements TypeVisitor<String> {
+
+        final TypeVisitor<String> self;
+        final AtomicInteger visits = new AtomicInteger();
+
+        Renderer(TypeVisitor<String> self) {
+            this.self = self;
+        }
+
+        @Override
+        public <T> String visitClass(Class<T> klass) {
+            visits.incrementAndGet();
+            return klass.getSimpleName();
+        }
+
+        @Override
+        public String visitParameterizedType(ParameterizedType parameterizedType) {
+            visits.incrementAndGet();
+            return TypeVisitor.accept(self, parameterizedType.getRawType()) + Stream.of(parameterizedType.getActualTypeArguments())
+                    .map(argument -> TypeVisitor.accept(self, argument))
+                    .collect(Collectors.joining(",", "<", ">"));
+        }
+
+        @Override
+        public <D extends GenericDeclaration> String visitTypeVariable(TypeVariable<D> typeVariable) {
+            visits.incrementAndGet();
+            return typeVariable.getName() + " extends " + TypeVisitor.accept(self, typeVariable.getBounds()[0]);
+        }
+    }
+
+    interface Node<T extends Comparable<T>> {
+    }
+
+    @Test
+    public void sharedSubtypes() {
+        Renderer[] renderer = new Renderer[1];
+        TypeVisitor<String> visitor = new Memoizer().types(self -> renderer[0] = new Renderer(self), null);
+        Type listOfStrings = Types.newParameterizedType(List.class, null, String.class);
+        Type map = Types.newParameterizedType(Map.class, null, listOfStrings, listOfStrings);
+        assertEquals("Map<List<String>,List<String>>", TypeVisitor.accept(visitor, map));
+        assertEquals(5, renderer[0].visits.get()); // Map<...>, Map, List<String> (once), List, String
+        assertEquals("List<String>", TypeVisitor.accept(visitor, Types.newParameterizedType(List.class, null, String.class)));
+        assertEquals(5, renderer[0].visits.get());
+    }
+
+    @Test
+    public void identityKeys() {
+        Renderer[] renderer = new Renderer[1];
+        TypeVisitor<String> visitor = new Memoizer().identity().types(self -> renderer[0] = new Renderer(self), null);
+        TypeVisitor.accept(visitor, Types.newParameterizedType(List.class, null, String.class));
+        int visits = renderer[0].visits.get();
+        TypeVisitor.accept(visitor, Types.newParameterizedType(List.class, null, String.class));
+        assertEquals(visits + 1, renderer[0].visits.get()); // only the new (equal but not identical) parameterized type
+    }
+
+    @Test
+    public void cycles() {
+        Type variable = Node.class.getTypeParameters()[0];
+        assertThrows(IllegalStateException.class, () -> TypeVisitor.accept(new Memoizer().types(Renderer::new, null), variable));
+        TypeVisitor<String> visitor = new Memoizer().policy(Caches.lru(16)).types(Renderer::new, type -> type.getTypeName());
+        assertEquals("T extends Comparable<T>", TypeVisitor.accept(visitor, variable));
+    }
+
+    @Test
+    public void concurrentVisits() {
+        TypeVisitor<String> visitor = new Memoizer().policy(Caches.weak()).types(Renderer::new, null);
+        List<String> results = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> TypeVisitor.accept(visitor, Types.newParameterizedType(Map.class, null, Integer.class, Types.newParameterizedType(List.class, null, i % 2 == 0 ? String.class : Long.class))))
+                .collect(Collectors.toList());
+        IntStream.range(0, 1000).forEach(i -> assertEquals(i % 2 == 0 ? "Map<Integer,List<String>>" : "Map<Integer,List<Long>>", results.get(i)));
+    }
+
+    @Test
+    public void otherVisitors() throws NoSuchMethodException {
+        AtomicInteger visits = new AtomicInteger();
+        MemberVisitor<String> members = new Memoizer().members(self -> new MemberVisitor<String>() {
+
+            @Override
+            public String visitMethod(Method method) {
+                visits.incrementAndGet();
+                return method.getName();
+            }
+        }, null);
+        Method method = Object.class.getMethod("toString");
+        assertEquals("toString", MemberVisitor.accept(members, method));
+        assertEquals("toString", MemberVisitor.accept(members, Object.class.getMethod("toString")));
+        assertEquals(1, visits.get());
+
+        AnnotatedElementVisitor<Integer> elements = new Memoizer().elements(self -> new AnnotatedElementVisitor<Integer>() {
+
+            @Override
+            public <T> Integer visit(Class<T> klass) {
+                visits.incrementAndGet();
+                return klass.getSuperclass() == null ? 0 : 1 + AnnotatedElementVisitor.accept(self, klass.getSuperclass());
+            }
+        }, null);
+        assertEquals(2, AnnotatedElementVisitor.<Integer>accept(elements, (AnnotatedElement) Integer.class));
+        assertEquals(1, AnnotatedElementVisitor.<Integer>accept(elements, (AnnotatedElement) Number.class));
+        assertEquals(4, visits.get());
+    }
+}
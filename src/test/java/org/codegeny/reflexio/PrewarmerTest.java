@@ -0,0 +1,134 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrewarmerTest {
+
+    @Target
+    interface Converter<S, T> {
+
+        T convert(S source);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Target {
+    }
+
+    static class StringConverter implements Converter<String, List<Integer>> {
+
+        @Target
+        private String name;
+
+        @Override
+        public List<Integer> convert(String source) {
+            return Collections.singletonList(source.length());
+        }
+    }
+
+    @AfterEach
+    public void reset() {
+        Caches.configure(Caches.unbounded());
+    }
+
+    @Test
+    public void prewarmClasses() throws Exception {
+        // records the keys whose values are computed (and not just looked up)
+        Set<Object> computed = ConcurrentHashMap.newKeySet();
+        Caches.configure(new CacheFactory() {
+
+            @Override
+            public <K, V> Cache<K, V> newCache(String name) {
+                Cache<K, V> delegate = Caches.unbounded().newCache(name);
+                return new Cache<K, V>() {
+
+                    @Override
+                    public V get(K key, Function<? super K, ? extends V> function) {
+                        return delegate.get(key, k -> {
+                            V value = function.apply(k);
+                            if (value != null) {
+                                computed.add(Arrays.asList(name, k));
+                            }
+                            return value;
+                        });
+                    }
+
+                    @Override
+                    public void invalidate(ClassLoader classLoader) {
+                        delegate.invalidate(classLoader);
+                    }
+
+                    @Override
+                    public void invalidateAll() {
+                        delegate.invalidateAll();
+                    }
+                };
+            }
+        });
+        AtomicInteger executed = new AtomicInteger();
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        Prewarmer.Prewarming prewarming = new Prewarmer()
+                .classes(Arrays.asList(StringConverter.class, Converter.class, StringConverter.class))
+                .annotations(Target.class)
+                .executor(task -> {
+                    executed.incrementAndGet();
+                    new Thread(task).start();
+                })
+                .listener((completed, total) -> progress.add(completed))
+                .start();
+        prewarming.future().get(10, TimeUnit.SECONDS);
+        assertTrue(prewarming.isDone());
+        assertEquals(2, prewarming.getTotal());
+        assertEquals(2, prewarming.getCompleted());
+        assertTrue(prewarming.getFailures().isEmpty());
+        assertEquals(3, executed.get());
+        assertEquals(2, progress.size());
+
+        Field field = StringConverter.class.getDeclaredField("name");
+        Method convert = StringConverter.class.getMethod("convert", String.class);
+        assertTrue(computed.contains(Arrays.asList("resolveTypeArguments", CacheKeys.pair(StringConverter.class, Converter.class))));
+        assertTrue(computed.contains(Arrays.asList("expand", CacheKeys.pair(convert.getGenericReturnType(), StringConverter.class))));
+        assertTrue(computed.contains(Arrays.asList("collect", CacheKeys.pair(field, Target.class))));
+        int before = computed.size();
+        assertEquals(1, Types.collect(field, Target.class).size());
+        assertEquals(1, Types.collect(Converter.class, Target.class).size());
+        assertArrayEquals(new Type[]{String.class, Types.newParameterizedType(List.class, null, Integer.class)}, Types.resolveTypeArguments(StringConverter.class, Converter.class));
+        assertEquals(Types.newParameterizedType(List.class, null, Integer.class), Types.expand(convert, StringConverter.class));
+        assertEquals(before, computed.size(), "Prewarmed entries should be cache hits");
+    }
+
+    @Test
+    public void prewarmPackage() throws Exception {
+        Prewarmer.Prewarming prewarming = new Prewarmer().packages(getClass().getClassLoader(), "org.codegeny.reflexio").start();
+        prewarming.future().get(30, TimeUnit.SECONDS);
+        assertTrue(prewarming.getTotal() > 10);
+        assertEquals(prewarming.getTotal(), prewarming.getCompleted());
+    }
+
+    @Test
+    public void listPackage() {
+        Set<String> classNames = Prewarmer.listPackage(getClass().getClassLoader(), "org.codegeny.reflexio");
+        assertTrue(classNames.contains(Types.class.getName()));
+        assertTrue(classNames.contains(StringConverter.class.getName()));
+        assertTrue(classNames.stream().noneMatch(name -> name.endsWith("package-info")));
+    }
+}
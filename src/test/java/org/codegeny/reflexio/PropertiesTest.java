@@ -0,0 +1,93 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.codegeny.reflexio.Types.newParameterizedType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PropertiesTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface NotNull {
+    }
+
+    static class Base<X> {
+
+        @NotNull
+        private X value;
+
+        public X getValue() {
+            return value;
+        }
+
+        public void setValue(X value) {
+            this.value = value;
+        }
+    }
+
+    static class Page<T> extends Base<List<T>> {
+
+        private T first;
+        private boolean last;
+        private String URL;
+
+        public T getFirst() {
+            return first;
+        }
+
+        public boolean isLast() {
+            return last;
+        }
+
+        public void setLast(boolean last) {
+            this.last = last;
+        }
+
+        public void setURL(String URL) {
+            this.URL = URL;
+        }
+    }
+
+    static class Customer {
+    }
+
+    static class CustomerPage extends Page<Customer> {
+    }
+
+    @Test
+    public void properties() throws Exception {
+        Type customerPage = newParameterizedType(Page.class, null, Customer.class);
+        Map<String, Property> properties = Types.properties(customerPage);
+        assertEquals(Arrays.asList("URL", "first", "last", "value"), Arrays.asList(properties.keySet().toArray()));
+
+        Property value = properties.get("value");
+        assertEquals(newParameterizedType(List.class, null, Customer.class), value.getType());
+        assertEquals(List.class, value.getRawType());
+        assertEquals(Base.class.getMethod("getValue"), value.getGetter());
+        assertEquals(Base.class.getMethod("setValue", Object.class), value.getSetter());
+        assertEquals(Base.class.getDeclaredField("value"), value.getField());
+        assertEquals(1, value.getAnnotations().size());
+        assertEquals(1, value.collect(NotNull.class).size());
+
+        assertEquals(Customer.class, properties.get("first").getType());
+        assertNull(properties.get("first").getSetter());
+        assertEquals(boolean.class, properties.get("last").getType());
+        assertNull(properties.get("URL").getGetter());
+        assertEquals(String.class, properties.get("URL").getType());
+
+        assertEquals(Customer.class, Types.properties(CustomerPage.class).get("first").getType());
+        assertEquals(newParameterizedType(List.class, null, Customer.class), Types.properties(CustomerPage.class).get("value").getType());
+        assertEquals(Object.class, Types.properties(Page.class).get("first").getRawType());
+
+        assertSame(properties, Types.properties(customerPage));
+    }
+}
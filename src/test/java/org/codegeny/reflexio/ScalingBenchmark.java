@@ -0,0 +1,93 @@
+package org.codegeny.reflexio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the main operations on {@link SyntheticHierarchy synthetic hierarchies} of growing depth, fan-out, type
+ * parameter count and nesting. Caches are disabled so that each call measures the actual walk: plotting the score
+ * against one parameter (the others being fixed) should show a line, a curve means super-linear behavior.
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main ScalingBenchmark -p fanOut=1 -p typeParameters=1 -p nesting=0 -rf csv
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    @Param({"1", "2", "4"})
+    public int fanOut;
+
+    @Param({"1", "3"})
+    public int typeParameters;
+
+    @Param({"0", "2"})
+    public int nesting;
+
+    private Class<?> root;
+    private Class<?> leaf;
+    private Method value;
+    private Type resolved;
+    private Type unrelated;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Caches.configure(Caches.disabled());
+        SyntheticHierarchy hierarchy = new SyntheticHierarchy(depth, fanOut, typeParameters, nesting);
+        root = hierarchy.getRoot();
+        leaf = hierarchy.getLeaf();
+        value = root.getMethod("value");
+        resolved = Types.newParameterizedType(root, null, Types.resolveTypeArguments(leaf, root));
+        Type[] arguments = new Type[typeParameters];
+        for (int i = 0; i < typeParameters; i++) {
+            arguments[i] = Integer.class;
+        }
+        unrelated = Types.newParameterizedType(root, null, arguments);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Caches.configure(Caches.unbounded());
+    }
+
+    @Benchmark
+    public Type[] resolveTypeArguments() {
+        return Types.resolveTypeArguments(leaf, root);
+    }
+
+    @Benchmark
+    public boolean isAssignable() {
+        return Types.isAssignable(resolved, leaf);
+    }
+
+    @Benchmark
+    public boolean isAssignableNegative() {
+        return Types.isAssignable(unrelated, leaf);
+    }
+
+    @Benchmark
+    public Type expand() {
+        return Types.expand(value, leaf);
+    }
+}
@@ -0,0 +1,92 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SignaturesTest {
+
+    static abstract class Outer<T> {
+
+        abstract class Inner<U> implements Supplier<Map.Entry<T, U>> {
+        }
+
+        Inner<String> inner;
+    }
+
+    static abstract class Sample<A extends Comparable<? super A>, B extends Number & Serializable> extends Outer<A> implements Collection<List<? extends B>> {
+
+        Map<? super A, B[]>[] map;
+        int[][] matrix;
+        Outer<A>.Inner<B> nested;
+
+        <X extends Exception, Y> Sample(Y y) throws X {
+        }
+
+        abstract <X extends Exception> List<? extends A> method(B b, int i, Map.Entry<A, ?> e) throws X, IOException;
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        for (Field field : Sample.class.getDeclaredFields()) {
+            String signature = Signatures.toTypeSignature(field.getGenericType());
+            assertEquals(field.getGenericType(), Signatures.parseTypeSignature(signature, Sample.class), signature);
+        }
+        for (Field field : Outer.class.getDeclaredFields()) {
+            String signature = Signatures.toTypeSignature(field.getGenericType());
+            assertEquals(field.getGenericType(), Signatures.parseTypeSignature(signature, Outer.class), signature);
+        }
+
+        for (Class<?> klass : new Class<?>[]{Sample.class, Outer.class, Outer.Inner.class, SignaturesTest.class}) {
+            Signatures.ClassSignature signature = Signatures.parseClassSignature(Signatures.toClassSignature(klass), klass);
+            assertArrayEquals(klass.getTypeParameters(), signature.getTypeParameters());
+            assertEquals(klass.getGenericSuperclass(), signature.getSuperclass());
+            assertArrayEquals(klass.getGenericInterfaces(), signature.getInterfaces());
+        }
+
+        Method method = Sample.class.getDeclaredMethod("method", Number.class, int.class, Map.Entry.class);
+        Signatures.MethodSignature methodSignature = Signatures.parseMethodSignature(Signatures.toMethodSignature(method), method);
+        assertArrayEquals(method.getTypeParameters(), methodSignature.getTypeParameters());
+        assertArrayEquals(method.getGenericParameterTypes(), methodSignature.getParameterTypes());
+        assertEquals(method.getGenericReturnType(), methodSignature.getReturnType());
+        assertArrayEquals(method.getGenericExceptionTypes(), methodSignature.getExceptionTypes());
+
+        Constructor<?> constructor = Sample.class.getDeclaredConstructor(Object.class);
+        Signatures.MethodSignature constructorSignature = Signatures.parseMethodSignature(Signatures.toMethodSignature(constructor), constructor);
+        assertEquals(void.class, constructorSignature.getReturnType());
+        assertArrayEquals(constructor.getGenericParameterTypes(), constructorSignature.getParameterTypes());
+    }
+
+    @Test
+    public void format() throws Exception {
+        assertEquals("<A::Ljava/lang/Comparable<-TA;>;B:Ljava/lang/Number;:Ljava/io/Serializable;>Lorg/codegeny/reflexio/SignaturesTest$Outer<TA;>;Ljava/util/Collection<Ljava/util/List<+TB;>;>;", Signatures.toClassSignature(Sample.class));
+        assertEquals("Lorg/codegeny/reflexio/SignaturesTest$Outer<TA;>.Inner<TB;>;", Signatures.toTypeSignature(Sample.class.getDeclaredField("nested").getGenericType()));
+        assertEquals("[[I", Signatures.toTypeSignature(int[][].class));
+        assertEquals("Ljava/util/List<*>;", Signatures.toTypeSignature(Types.newParameterizedType(List.class, null, Types.WILDCARD)));
+    }
+
+    @Test
+    public void parse() throws Exception {
+        Type type = Signatures.parseTypeSignature("Ljava/util/Map<TA;+Ljava/lang/Number;>;", Sample.class);
+        assertEquals("java.util.Map<A, ? extends java.lang.Number>", type.getTypeName());
+        assertEquals(Types.classTypeVariable("A", Sample.class), ((ParameterizedType) type).getActualTypeArguments()[0]);
+        assertEquals(Types.classTypeVariable("T", Outer.class), Signatures.parseTypeSignature("TT;", Outer.Inner.class));
+        assertThrows(IllegalArgumentException.class, () -> Signatures.parseTypeSignature("TZ;", Sample.class));
+        assertThrows(IllegalArgumentException.class, () -> Signatures.parseTypeSignature("Ljava/util/List<", Sample.class));
+        assertThrows(ClassNotFoundException.class, () -> Signatures.parseTypeSignature("Lcom/acme/Unknown;", Sample.class));
+    }
+}
@@ -0,0 +1,113 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SubtypeIndexTest {
+
+    interface Converter<S, T> {
+    }
+
+    interface StringConverter<S> extends Converter<S, String> {
+    }
+
+    static abstract class AbstractStringConverter<S> implements StringConverter<S> {
+    }
+
+    static class UUIDStringConverter extends AbstractStringConverter<UUID> {
+    }
+
+    static class IntegerStringConverter implements StringConverter<Integer> {
+    }
+
+    static class LongIntegerConverter implements Converter<Long, Integer> {
+    }
+
+    static class ListConverter implements Converter<List<String>, Object> {
+    }
+
+    interface Event {
+    }
+
+    interface OrderEvent extends Event {
+    }
+
+    interface Handler<E extends Event> {
+    }
+
+    static class EventHandler implements Handler<Event> {
+    }
+
+    static class OrderEventHandler implements Handler<OrderEvent> {
+    }
+
+    private final SubtypeIndex index = SubtypeIndex.of(Arrays.asList(
+            AbstractStringConverter.class, UUIDStringConverter.class, IntegerStringConverter.class, LongIntegerConverter.class,
+            ListConverter.class, EventHandler.class, OrderEventHandler.class, UUIDStringConverter.class
+    ));
+
+    private static Set<Class<?>> setOf(Class<?>... classes) {
+        return new LinkedHashSet<>(Arrays.asList(classes));
+    }
+
+    @Test
+    public void rawQueries() {
+        assertEquals(7, index.size());
+        assertEquals(setOf(AbstractStringConverter.class, UUIDStringConverter.class, IntegerStringConverter.class), index.findImplementations(StringConverter.class));
+        assertEquals(setOf(UUIDStringConverter.class), index.getSubtypes(UUIDStringConverter.class));
+        assertEquals(Collections.emptySet(), index.getSubtypes(Runnable.class));
+    }
+
+    @Test
+    public void exactArguments() {
+        assertEquals(setOf(UUIDStringConverter.class), index.findImplementations(new TypeLiteral<Converter<UUID, String>>() {}.getType()));
+        assertEquals(setOf(LongIntegerConverter.class), index.findImplementations(new TypeLiteral<Converter<Long, Integer>>() {}.getType()));
+        assertEquals(setOf(ListConverter.class), index.findImplementations(new TypeLiteral<Converter<List<String>, Object>>() {}.getType()));
+        assertEquals(Collections.emptySet(), index.findImplementations(new TypeLiteral<Converter<List<Integer>, Object>>() {}.getType()));
+    }
+
+    @Test
+    public void wildcardArguments() {
+        assertEquals(setOf(AbstractStringConverter.class, UUIDStringConverter.class, IntegerStringConverter.class), index.findImplementations(new TypeLiteral<Converter<?, String>>() {}.getType()));
+        // unresolved S is matched through its bounds, like Types.isAssignable() does
+        assertEquals(setOf(AbstractStringConverter.class, IntegerStringConverter.class, LongIntegerConverter.class), index.findImplementations(new TypeLiteral<Converter<? extends Number, ?>>() {}.getType()));
+        assertEquals(setOf(EventHandler.class, OrderEventHandler.class), index.findImplementations(new TypeLiteral<Handler<? extends Event>>() {}.getType()));
+        assertEquals(setOf(EventHandler.class, OrderEventHandler.class), index.findImplementations(new TypeLiteral<Handler<? super OrderEvent>>() {}.getType()));
+        assertEquals(setOf(OrderEventHandler.class), index.findImplementations(new TypeLiteral<Handler<OrderEvent>>() {}.getType()));
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        List<Class<?>> candidates = Arrays.asList(UUIDStringConverter.class, IntegerStringConverter.class, LongIntegerConverter.class, ListConverter.class, EventHandler.class, OrderEventHandler.class);
+        SubtypeIndex concrete = SubtypeIndex.of(candidates);
+        for (Type query : Arrays.asList(
+                new TypeLiteral<Converter<?, String>>() {}.getType(),
+                new TypeLiteral<Converter<? extends Number, ? super Integer>>() {}.getType(),
+                new TypeLiteral<Handler<? super OrderEvent>>() {}.getType(),
+                new TypeLiteral<Handler<Event>>() {}.getType(),
+                StringConverter.class)) {
+            Set<Class<?>> expected = new LinkedHashSet<>();
+            for (Class<?> candidate : candidates) {
+                if (Types.isAssignable(query, candidate)) {
+                    expected.add(candidate);
+                }
+            }
+            assertEquals(expected, concrete.findImplementations(query), query.getTypeName());
+        }
+    }
+
+    @Test
+    public void unsupportedQuery() {
+        assertThrows(IllegalArgumentException.class, () -> index.findImplementations(Types.WILDCARD));
+    }
+}
@@ -0,0 +1,149 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SupertypeFilterTest {
+
+    private static final List<Class<?>> CLASSES = Arrays.asList(Object.class, Number.class, Integer.class, Long.class, String.class, StringBuilder.class,
+            CharSequence.class, Comparable.class, Serializable.class, Cloneable.class, Iterable.class, Collection.class, List.class, ArrayList.class,
+            LinkedList.class, AbstractList.class, RandomAccess.class, Map.class, HashMap.class, TreeMap.class, ConcurrentHashMap.class, Supplier.class,
+            Runnable.class, Thread.class, Exception.class, RuntimeException.class, IllegalArgumentException.class, Types.class, Cache.class,
+            ClassValueCache.class, int.class, long.class, int[].class, Object[].class, String[].class, Number[].class);
+
+    // a chain of diamonds: 2^8 paths from Diamond8 to Diamond0
+    interface Diamond0 {
+    }
+
+    interface Left1 extends Diamond0 {
+    }
+
+    interface Right1 extends Diamond0 {
+    }
+
+    interface Diamond1 extends Left1, Right1 {
+    }
+
+    interface Left2 extends Diamond1 {
+    }
+
+    interface Right2 extends Diamond1 {
+    }
+
+    interface Diamond2 extends Left2, Right2 {
+    }
+
+    interface Left3 extends Diamond2 {
+    }
+
+    interface Right3 extends Diamond2 {
+    }
+
+    interface Diamond3 extends Left3, Right3 {
+    }
+
+    interface Left4 extends Diamond3 {
+    }
+
+    interface Right4 extends Diamond3 {
+    }
+
+    interface Diamond4 extends Left4, Right4 {
+    }
+
+    interface Left5 extends Diamond4 {
+    }
+
+    interface Right5 extends Diamond4 {
+    }
+
+    interface Diamond5 extends Left5, Right5 {
+    }
+
+    interface Left6 extends Diamond5 {
+    }
+
+    interface Right6 extends Diamond5 {
+    }
+
+    interface Diamond6 extends Left6, Right6 {
+    }
+
+    interface Left7 extends Diamond6 {
+    }
+
+    interface Right7 extends Diamond6 {
+    }
+
+    interface Diamond7 extends Left7, Right7 {
+    }
+
+    interface Left8 extends Diamond7 {
+    }
+
+    interface Right8 extends Diamond7 {
+    }
+
+    interface Diamond8 extends Left8, Right8 {
+    }
+
+    @Test
+    public void noFalseNegatives() {
+        int rejected = 0;
+        int negatives = 0;
+        for (Class<?> left : CLASSES) {
+            for (Class<?> right : CLASSES) {
+                boolean assignable = left.isAssignableFrom(right);
+                boolean mayBeAssignable = SupertypeFilter.mayBeAssignable(left, right);
+                assertTrue(!assignable || mayBeAssignable, left + " := " + right);
+                if (!assignable) {
+                    negatives++;
+                    rejected += mayBeAssignable ? 0 : 1;
+                }
+            }
+        }
+        // arrays and primitives are never rejected, most of the other negatives should be
+        assertTrue(rejected > negatives * 2 / 3, rejected + " rejected out of " + negatives);
+    }
+
+    @Test
+    public void rejects() {
+        Type listOfStrings = Types.newParameterizedType(List.class, null, String.class);
+        assertFalse(SupertypeFilter.rejects(Collection.class, listOfStrings));
+        assertFalse(SupertypeFilter.rejects(Types.newParameterizedType(Collection.class, null, Integer.class), ArrayList.class));
+        assertFalse(SupertypeFilter.rejects(Supplier.class.getTypeParameters()[0], String.class));
+        assertFalse(SupertypeFilter.rejects(Types.newGenericArrayType(listOfStrings), String.class));
+        assertFalse(Types.isAssignable(Map.class, listOfStrings));
+        assertTrue(Types.isAssignable(Collection.class, listOfStrings));
+    }
+
+    @Test
+    public void diamonds() {
+        // each supertype is visited once, not once per path
+        List<Class<?>> supertypes = SupertypeFilter.supertypes(Diamond8.class);
+        assertEquals(3 * 8 + 1, supertypes.size());
+        assertEquals(supertypes.size(), new HashSet<>(supertypes).size());
+        assertTrue(SupertypeFilter.mayBeAssignable(Diamond0.class, Diamond8.class));
+        assertTrue(SupertypeFilter.mayBeAssignable(Left1.class, Diamond8.class));
+        assertTrue(Types.isAssignable(Right8.class, Diamond8.class));
+    }
+}
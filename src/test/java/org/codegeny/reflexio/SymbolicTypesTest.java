@@ -0,0 +1,148 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.codegeny.reflexio.SymbolicTypes.className;
+import static org.codegeny.reflexio.SymbolicTypes.symbolic;
+import static org.codegeny.reflexio.Types.newGenericArrayType;
+import static org.codegeny.reflexio.Types.newParameterizedType;
+import static org.codegeny.reflexio.Types.newWildcardType;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymbolicTypesTest {
+
+    interface Converter<S, T> {
+    }
+
+    interface StringConverter<T extends Number> extends Converter<String, T> {
+    }
+
+    static abstract class Holder<E extends Comparable<E>> implements StringConverter<Integer>, Comparable<Holder<E>> {
+    }
+
+    static abstract class StringHolder extends Holder<String> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private final SymbolicTypes types = new SymbolicTypes(ClassMetadataProvider.reflection(getClass().getClassLoader()));
+
+    @Test
+    public void resolveTypeArguments() {
+        assertArrayEquals(
+                new Type[]{className("java.lang.String"), className("java.lang.Integer")},
+                types.resolveTypeArguments(className(StringHolder.class.getName()), Converter.class.getName())
+        );
+        assertArrayEquals(
+                new Type[]{className("java.lang.Integer")},
+                types.resolveTypeArguments(newParameterizedType(className(Holder.class.getName()), null, className("java.lang.String")), StringConverter.class.getName())
+        );
+        for (Class<?> klass : Arrays.asList(StringHolder.class, Holder.class, StringConverter.class, ArrayList.class)) {
+            for (Class<?> reference : Arrays.asList(Converter.class, Comparable.class, Collection.class, Iterable.class)) {
+                if (reference.isAssignableFrom(klass)) {
+                    assertArrayEquals(
+                            TypeVisitor.accept(SymbolicTypeConverter.INSTANCE, Type[]::new, Types.resolveTypeArguments(klass, reference)),
+                            types.resolveTypeArguments(className(klass.getName()), reference.getName()),
+                            klass + " / " + reference
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void isAssignable() {
+        List<Type> samples = Arrays.asList(
+                Object.class,
+                String.class,
+                Integer.class,
+                int.class,
+                int[].class,
+                Object[].class,
+                String[].class,
+                Serializable.class,
+                Holder.class,
+                StringHolder.class,
+                Holder.class.getTypeParameters()[0],
+                newParameterizedType(Holder.class, null, String.class),
+                newParameterizedType(Comparable.class, null, newParameterizedType(Holder.class, null, String.class)),
+                newParameterizedType(Converter.class, null, String.class, Integer.class),
+                newParameterizedType(Converter.class, null, String.class, newWildcardType(new Type[0], new Type[]{Number.class})),
+                newParameterizedType(Converter.class, null, newWildcardType(new Type[]{String.class}, new Type[0]), Long.class),
+                newParameterizedType(List.class, null, String.class),
+                newParameterizedType(Collection.class, null, newWildcardType(new Type[0], new Type[]{CharSequence.class})),
+                ArrayList.class
+        );
+        for (Type left : samples) {
+            for (Type right : samples) {
+                assertEquals(Types.isAssignable(left, right), types.isAssignable(symbolic(left), symbolic(right)), left + " <- " + right);
+            }
+        }
+    }
+
+    @Test
+    public void expandAndRaw() {
+        for (Class<?> klass : Arrays.asList(StringHolder.class, Holder.class, ArrayList.class, Map.class)) {
+            for (Class<?> reference : Arrays.asList(Converter.class, Comparable.class, Collection.class, Map.class)) {
+                if (reference.isAssignableFrom(klass)) {
+                    assertEquals(symbolic(Types.expand(klass, reference)), types.expand(className(klass.getName()), reference.getName()), klass + " / " + reference);
+                }
+            }
+        }
+        assertEquals("[Ljava.lang.String;", types.raw(symbolic(String[].class)));
+        assertEquals("[[I", types.raw(symbolic(int[][].class)));
+        assertEquals("java.lang.Comparable", types.raw(symbolic(Holder.class.getTypeParameters()[0])));
+        assertEquals("java.util.List", types.raw(symbolic(newParameterizedType(List.class, null, String.class))));
+    }
+
+    @Test
+    public void unknownClasses() {
+        SymbolicTypes empty = new SymbolicTypes(name -> name.equals("a.B") ? new ClassDescriptor("a.B", false, className("a.A"), className("a.I")) : null);
+        assertNull(empty.describe("a.Unknown"));
+        assertTrue(empty.isRawAssignable("a.A", "a.B"));
+        assertTrue(empty.isRawAssignable("a.I", "a.B"));
+        assertFalse(empty.isRawAssignable("a.B", "a.A"));
+        assertTrue(empty.isAssignable(className("a.I"), className("a.B")));
+        assertTrue(empty.isAssignable(ClassName.OBJECT, newGenericArrayType(className("a.B"))));
+        assertTrue(empty.isAssignable(newGenericArrayType(className("a.A")), newGenericArrayType(className("a.B"))));
+        assertFalse(empty.isAssignable(className("a.B"), newGenericArrayType(className("a.B"))));
+    }
+
+    @Test
+    public void diamondHierarchies() {
+        // I(n) extends A(n) and B(n) which both extend I(n - 1): 2^n paths from I(n) to I0 but only 3n + 1 classes
+        int depth = 16;
+        AtomicInteger described = new AtomicInteger();
+        ClassMetadataProvider provider = name -> {
+            described.incrementAndGet();
+            int level = Integer.parseInt(name.substring(3));
+            if (level == 0) {
+                return new ClassDescriptor(name, true, null);
+            }
+            return name.startsWith("d.I")
+                    ? new ClassDescriptor(name, true, null, className("d.A" + level), className("d.B" + level))
+                    : new ClassDescriptor(name, true, null, className("d.I" + (level - 1)));
+        };
+        Caches.configure(Caches.disabled());
+        try {
+            SymbolicTypes diamonds = new SymbolicTypes(provider);
+            assertTrue(diamonds.isRawAssignable("d.I0", "d.I" + depth));
+            assertEquals(3 * depth + 1, described.get());
+        } finally {
+            Caches.configure(Caches.unbounded());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package org.codegeny.reflexio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class loader defining a synthetic hierarchy of generic interfaces (written as class files on the fly) to stress
+ * resolution, assignability and expansion on shapes much larger than hand-written test hierarchies.
+ * <p>
+ * Level 0 is a single root interface <code>L0_0&lt;T0..Tn&gt;</code> declaring <code>T0 value()</code>. Each of the
+ * <code>fanOut</code> interfaces of level <code>d</code> extends all the interfaces of level <code>d - 1</code>,
+ * passing its own type parameters (rotated by one) each wrapped <code>nesting</code> times in
+ * <code>java.util.List&lt;...&gt;</code>. The <code>Leaf</code> interface extends all the interfaces of the last level
+ * with <code>String</code> arguments so that, from the leaf, all the root arguments should resolve to
+ * <code>List&lt;...List&lt;String&gt;...&gt;</code> nested <code>depth * nesting</code> times.
+ */
+final class SyntheticHierarchy extends ClassLoader {
+
+    private static final String PACKAGE = "synthetic/";
+
+    private final Map<String, byte[]> classFiles = new HashMap<>();
+    private final int depth;
+    private final int fanOut;
+    private final int typeParameters;
+    private final int nesting;
+
+    SyntheticHierarchy(int depth, int fanOut, int typeParameters, int nesting) {
+        super(SyntheticHierarchy.class.getClassLoader());
+        if (depth < 0 || fanOut < 1 || typeParameters < 1 || nesting < 0) {
+            throw new IllegalArgumentException("Invalid shape");
+        }
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.typeParameters = typeParameters;
+        this.nesting = nesting;
+        StringBuilder parameters = new StringBuilder("<");
+        for (int i = 0; i < typeParameters; i++) {
+            parameters.append('T').append(i).append(":Ljava/lang/Object;");
+        }
+        parameters.append('>');
+        add(name(0, 0), parameters + "Ljava/lang/Object;", new String[0], true);
+        for (int level = 1; level <= depth; level++) {
+            for (int index = 0; index < width(level); index++) {
+                add(name(level, index), parameters + supertypes(level - 1, true), parents(level - 1), false);
+            }
+        }
+        add(PACKAGE + "Leaf", supertypes(depth, false), parents(depth), false);
+    }
+
+    private int width(int level) {
+        return level == 0 ? 1 : fanOut;
+    }
+
+    private static String name(int level, int index) {
+        return PACKAGE + "L" + level + "_" + index;
+    }
+
+    private String[] parents(int level) {
+        String[] parents = new String[width(level)];
+        for (int index = 0; index < parents.length; index++) {
+            parents[index] = name(level, index);
+        }
+        return parents;
+    }
+
+    private String supertypes(int level, boolean generic) {
+        StringBuilder signature = new StringBuilder("Ljava/lang/Object;");
+        for (String parent : parents(level)) {
+            signature.append('L').append(parent).append('<');
+            for (int i = 0; i < typeParameters; i++) {
+                if (generic) {
+                    signature.append(repeat("Ljava/util/List<", nesting)).append("TT").append((i + 1) % typeParameters).append(';').append(repeat(">;", nesting));
+                } else {
+                    signature.append("Ljava/lang/String;");
+                }
+            }
+            signature.append(">;");
+        }
+        return signature.toString();
+    }
+
+    private static String repeat(String string, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(string);
+        }
+        return builder.toString();
+    }
+
+    private void add(String name, String signature, String[] interfaces, boolean root) {
+        classFiles.put(name.replace('/', '.'), new ClassFileWriter().write(name, signature, interfaces, root));
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classFiles.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    private Class<?> load(String name) {
+        try {
+            return loadClass(name.replace('/', '.'));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Class<?> getRoot() {
+        return load(name(0, 0));
+    }
+
+    Class<?> getLeaf() {
+        return load(PACKAGE + "Leaf");
+    }
+
+    List<Class<?>> getLevel(int level) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (String parent : parents(level)) {
+            classes.add(load(parent));
+        }
+        return classes;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int getNesting() {
+        return nesting;
+    }
+
+    int size() {
+        return classFiles.size();
+    }
+
+    /**
+     * Minimal class file writer for abstract interfaces (no code), the root one declaring <code>T0 value()</code>.
+     */
+    static final class ClassFileWriter {
+
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_INTERFACE = 0x0200;
+        private static final int ACC_ABSTRACT = 0x0400;
+
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOutput = new DataOutputStream(pool);
+        private final Map<String, Integer> constants = new HashMap<>();
+        private int count = 1;
+
+        byte[] write(String name, String signature, String[] interfaces, boolean root) {
+            try {
+                int thisClass = classConstant(name);
+                int superClass = classConstant("java/lang/Object");
+                int[] interfaceIndexes = new int[interfaces.length];
+                for (int i = 0; i < interfaces.length; i++) {
+                    interfaceIndexes[i] = classConstant(interfaces[i]);
+                }
+                int signatureName = utf8("Signature");
+                int signatureValue = utf8(signature);
+                int methodName = root ? utf8("value") : 0;
+                int methodDescriptor = root ? utf8("()Ljava/lang/Object;") : 0;
+                int methodSignature = root ? utf8("()TT0;") : 0;
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream output = new DataOutputStream(bytes);
+                output.writeInt(0xCAFEBABE);
+                output.writeShort(0);
+                output.writeShort(52);
+                output.writeShort(count);
+                poolOutput.flush();
+                pool.writeTo(output);
+                output.writeShort(ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT);
+                output.writeShort(thisClass);
+                output.writeShort(superClass);
+                output.writeShort(interfaceIndexes.length);
+                for (int index : interfaceIndexes) {
+                    output.writeShort(index);
+                }
+                output.writeShort(0); // fields
+                output.writeShort(root ? 1 : 0);
+                if (root) {
+                    output.writeShort(ACC_PUBLIC | ACC_ABSTRACT);
+                    output.writeShort(methodName);
+                    output.writeShort(methodDescriptor);
+                    output.writeShort(1);
+                    signatureAttribute(output, signatureName, methodSignature);
+                }
+                output.writeShort(1);
+                signatureAttribute(output, signatureName, signatureValue);
+                output.flush();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static void signatureAttribute(DataOutputStream output, int name, int value) throws IOException {
+            output.writeShort(name);
+            output.writeInt(2);
+            output.writeShort(value);
+        }
+
+        private int utf8(String value) throws IOException {
+            Integer index = constants.get("U" + value);
+            if (index == null) {
+                poolOutput.writeByte(1);
+                poolOutput.writeUTF(value);
+                constants.put("U" + value, index = count++);
+            }
+            return index;
+        }
+
+        private int classConstant(String name) throws IOException {
+            Integer index = constants.get("C" + name);
+            if (index == null) {
+                int nameIndex = utf8(name);
+                poolOutput.writeByte(7);
+                poolOutput.writeShort(nameIndex);
+                constants.put("C" + name, index = count++);
+            }
+            return index;
+        }
+    }
+}
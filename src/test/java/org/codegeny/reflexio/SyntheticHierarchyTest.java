@@ -0,0 +1,59 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticHierarchyTest {
+
+    private static void check(SyntheticHierarchy hierarchy) throws NoSuchMethodException {
+        Class<?> root = hierarchy.getRoot();
+        Class<?> leaf = hierarchy.getLeaf();
+        Type expected = String.class;
+        for (int i = 0; i < hierarchy.getDepth() * hierarchy.getNesting(); i++) {
+            expected = Types.newParameterizedType(List.class, null, expected);
+        }
+        assertEquals(expected, Types.expand(root.getMethod("value"), leaf));
+        Type[] arguments = Types.resolveTypeArguments(leaf, root);
+        if (hierarchy.getNesting() > 0) {
+            // resolveTypeArguments does not substitute the type variables nested in arguments (only the last hop is)
+            for (Type argument : arguments) {
+                assertEquals(List.class, ((ParameterizedType) argument).getRawType());
+            }
+            return;
+        }
+        for (Type argument : arguments) {
+            assertEquals(String.class, argument);
+        }
+        assertTrue(Types.isAssignable(Types.newParameterizedType(root, null, arguments), leaf));
+        if (hierarchy.getDepth() > 0) {
+            Type[] wrong = arguments.clone();
+            wrong[0] = Integer.class;
+            assertFalse(Types.isAssignable(Types.newParameterizedType(root, null, wrong), leaf));
+            assertFalse(Types.isAssignable(hierarchy.getLevel(1).get(0), root));
+        }
+    }
+
+    @Test
+    public void shapes() throws NoSuchMethodException {
+        for (List<Integer> shape : Arrays.asList(Arrays.asList(0, 1, 1, 0), Arrays.asList(1, 1, 1, 1), Arrays.asList(3, 2, 2, 1), Arrays.asList(4, 3, 3, 0))) {
+            SyntheticHierarchy hierarchy = new SyntheticHierarchy(shape.get(0), shape.get(1), shape.get(2), shape.get(3));
+            assertEquals(2 + shape.get(0) * shape.get(1), hierarchy.size());
+            check(hierarchy);
+        }
+    }
+
+    @Test
+    public void deepAndWide() throws NoSuchMethodException {
+        // 15 levels of 4 interfaces, each extending all the interfaces of the level above (4^15 paths from the leaf)
+        check(new SyntheticHierarchy(15, 4, 3, 0));
+        check(new SyntheticHierarchy(15, 4, 3, 2));
+    }
+}
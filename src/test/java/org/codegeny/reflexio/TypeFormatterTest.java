@@ -0,0 +1,130 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TypeFormatterTest {
+
+    static class Holder<E extends Number> {
+
+        Map.Entry<String, List<? extends E>>[] entries;
+
+        class Inner<I> {
+        }
+    }
+
+    static class Reflective {
+
+        Map.Entry<String, Integer> entry;
+        List<Map.Entry<String, Long[]>> entries;
+        Map<String, Map.Entry<? extends Number, int[]>[]> arrays;
+    }
+
+    private final Type entries = Types.expand(Holder.class.getDeclaredFields()[0], Holder.class);
+
+    @Test
+    public void styles() throws Exception {
+        Type type = Types.parseType("java.util.Map$Entry<java.lang.String, java.util.List<? super java.lang.Integer>[]>[]");
+        assertEquals("java.util.Map$Entry<java.lang.String, java.util.List<? super java.lang.Integer>[]>[]", TypeFormatter.QUALIFIED.format(type));
+        assertEquals("Map.Entry<String, List<? super Integer>[]>[]", TypeFormatter.SIMPLE.format(type));
+        assertEquals("java.util.Map$Entry[]", TypeFormatter.ERASED.format(type));
+        assertEquals("[Ljava/util/Map$Entry<Ljava/lang/String;[Ljava/util/List<-Ljava/lang/Integer;>;>;", TypeFormatter.SIGNATURE.format(type));
+    }
+
+    @Test
+    public void typeVariables() {
+        assertEquals("java.util.Map$Entry<java.lang.String, java.util.List<? extends E>>[]", TypeFormatter.QUALIFIED.format(entries));
+        assertEquals("Map.Entry<String, List<? extends E>>[]", TypeFormatter.SIMPLE.format(entries));
+        assertEquals("java.util.Map$Entry[]", TypeFormatter.ERASED.format(entries));
+        assertEquals("java.lang.Number", TypeFormatter.ERASED.format(Holder.class.getTypeParameters()[0]));
+        assertEquals("[Ljava/util/Map$Entry<Ljava/lang/String;Ljava/util/List<+TE;>;>;", TypeFormatter.SIGNATURE.format(entries));
+    }
+
+    @Test
+    public void nestedClasses() {
+        Type inner = Types.newParameterizedType(Holder.Inner.class, Types.newParameterizedType(Holder.class, null, Integer.class), String.class);
+        assertEquals(TypeFormatterTest.class.getName() + "$Holder$Inner<java.lang.String>", TypeFormatter.QUALIFIED.format(inner));
+        assertEquals("TypeFormatterTest.Holder.Inner<String>", TypeFormatter.SIMPLE.format(inner));
+        assertEquals("L" + TypeFormatterTest.class.getName().replace('.', '/') + "$Holder<Ljava/lang/Integer;>.Inner<Ljava/lang/String;>;", TypeFormatter.SIGNATURE.format(inner));
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        for (String typeName : Arrays.asList(
+                "int[][]",
+                "java.lang.Object",
+                "java.util.Set<?>",
+                "java.util.Map$Entry<java.lang.String, java.lang.Long[][]>",
+                "java.util.Map<java.util.Set<? extends java.lang.Integer[]>[], java.util.List<? super java.lang.Number>>[]")) {
+            Type type = Types.parseType(typeName);
+            assertEquals(typeName, TypeFormatter.QUALIFIED.format(type));
+            assertEquals(type, Types.parseType(TypeFormatter.QUALIFIED.format(type)));
+            assertEquals(typeName, TypeFormatter.QUALIFIED.format(Signatures.parseTypeSignature(TypeFormatter.SIGNATURE.format(type), Object.class)));
+        }
+    }
+
+    @Test
+    public void roundTripReflectiveTypes() throws Exception {
+        for (Field field : Reflective.class.getDeclaredFields()) {
+            Type type = field.getGenericType();
+            assertEquals(type, Types.parseType(TypeFormatter.QUALIFIED.format(type)));
+            assertEquals(Types.parseType(TypeFormatter.QUALIFIED.format(type)), type);
+        }
+    }
+
+    @Test
+    public void symbolicTypes() {
+        Type type = Types.newParameterizedType(SymbolicTypes.className("com.acme.Converter$Default"), null, SymbolicTypes.typeVariable("T", "com.acme.Foo"), SymbolicTypes.newWildcardType(new Type[0], new Type[]{SymbolicTypes.className("java.lang.Number")}));
+        assertEquals("com.acme.Converter$Default<T, ? extends java.lang.Number>", TypeFormatter.QUALIFIED.format(type));
+        assertEquals("Converter.Default<T, ? extends Number>", TypeFormatter.SIMPLE.format(type));
+        assertEquals("com.acme.Converter$Default", TypeFormatter.ERASED.format(type));
+        assertEquals("Lcom/acme/Converter$Default<TT;+Ljava/lang/Number;>;", TypeFormatter.SIGNATURE.format(type));
+    }
+
+    @Test
+    public void appendables() throws Exception {
+        StringWriter writer = new StringWriter().append("type: ");
+        assertSame(writer, TypeFormatter.SIMPLE.formatTo(entries, writer));
+        assertEquals("type: Map.Entry<String, List<? extends E>>[]", writer.toString());
+
+        StringBuilder builder = new StringBuilder("erased: ");
+        assertSame(builder, TypeFormatter.ERASED.format(entries, builder));
+        assertEquals("erased: java.util.Map$Entry[]", builder.toString());
+
+        Writer failing = new Writer() {
+
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("closed");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IOException.class, () -> TypeFormatter.QUALIFIED.formatTo(entries, failing));
+    }
+
+    @Test
+    public void cachedToString() {
+        Type type = Types.newParameterizedType(List.class, null, Types.newWildcardType(new Type[0], new Type[]{Number.class}));
+        assertEquals("java.util.List<? extends java.lang.Number>", type.toString());
+        assertSame(type.toString(), type.getTypeName());
+    }
+}
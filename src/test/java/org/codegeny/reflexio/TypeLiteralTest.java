@@ -4,6 +4,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,4 +22,46 @@ public class TypeLiteralTest {
         Assertions.assertEquals(left, right);
         Assertions.assertEquals(right.hashCode(), left.hashCode());
     }
+
+    private static TypeLiteral<List<String>> listOfStrings() {
+        return new TypeLiteral<List<String>>() {};
+    }
+
+    @Test
+    public void resolvedOncePerClass() {
+        TypeLiteral<List<String>> first = listOfStrings();
+        TypeLiteral<List<String>> second = listOfStrings();
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.getType(), second.getType());
+        Assertions.assertEquals(List.class, first.getRawType());
+    }
+
+    @Test
+    public void equality() {
+        Map<TypeLiteral<?>, String> registry = new HashMap<>();
+        registry.put(listOfStrings(), "strings");
+        Assertions.assertEquals("strings", registry.get(new TypeLiteral<List<String>>() {}));
+        Assertions.assertNull(registry.get(new TypeLiteral<List<Integer>>() {}));
+        Assertions.assertEquals(listOfStrings().getType().hashCode(), listOfStrings().hashCode());
+    }
+
+    @Test
+    public void assignability() {
+        List<TypeLiteral<?>> literals = Arrays.asList(
+                new TypeLiteral<Object>() {},
+                new TypeLiteral<Number>() {},
+                new TypeLiteral<Collection<? extends Number>>() {},
+                new TypeLiteral<List<Integer>>() {},
+                new TypeLiteral<Map<String, ? super Integer>>() {},
+                new TypeLiteral<List<? extends Number>[]>() {}
+        );
+        List<Type> types = new ArrayList<>();
+        literals.forEach(literal -> types.add(literal.getType()));
+        types.addAll(Arrays.asList(Integer.class, String.class, ArrayList.class, int.class, Number[].class));
+        for (TypeLiteral<?> literal : literals) {
+            for (Type type : types) {
+                Assertions.assertEquals(Types.isAssignable(literal.getType(), type), literal.isAssignableFrom(type), literal + " := " + type);
+            }
+        }
+    }
 }
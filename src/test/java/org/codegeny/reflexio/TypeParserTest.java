@@ -2,6 +2,15 @@ package org.codegeny.reflexio;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 public class TypeParserTest {
 
@@ -27,6 +36,25 @@ public class TypeParserTest {
         parse("java.util.Map  <   java.util.Set  <  java.lang.Integer []  >  []  ,  long  []  []  >   []");
     }
 
+    @Test
+    public void classLoadersAreNotPinned(@TempDir Path temporary) throws Exception {
+        Path classFile = temporary.resolve("plug/Plug.class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, new SyntheticHierarchy.ClassFileWriter().write("plug/Plug", "Ljava/lang/Object;", new String[0], false));
+        ClassNameCacheTest.assertCollected(parseThroughDiscardedClassLoader(temporary.toUri().toURL()));
+    }
+
+    private static WeakReference<ClassLoader> parseThroughDiscardedClassLoader(URL url) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{url}, TypeParserTest.class.getClassLoader());
+        Class<?> plug = classLoader.loadClass("plug.Plug");
+        Assertions.assertSame(plug, Types.parseType("plug.Plug", classLoader));
+        Type list = Types.parseType("java.util.List<plug.Plug>", classLoader);
+        Assertions.assertSame(list, Types.parseType("java.util.List<plug.Plug>", classLoader));
+        Assertions.assertEquals(Types.newParameterizedType(List.class, null, plug), list);
+        classLoader.close();
+        return new WeakReference<>(classLoader);
+    }
+
     private void parse(String string) throws ClassNotFoundException {
         Assertions.assertEquals(
                 string.replaceAll("\\s+", ""),
@@ -0,0 +1,124 @@
+package org.codegeny.reflexio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TypeTableTest {
+
+    static class Holder<E extends Number> {
+
+        List<? extends E> elements;
+        E[] array;
+    }
+
+    private static List<Type> samples() throws Exception {
+        return Arrays.asList(
+                Object.class,
+                Number.class,
+                Integer.class,
+                int[].class,
+                Serializable.class,
+                Types.parseType("java.util.List<java.lang.Integer>"),
+                Types.parseType("java.util.List<java.lang.Number>"),
+                Types.parseType("java.util.ArrayList<java.lang.Integer>"),
+                Types.parseType("java.util.Collection<? extends java.lang.Number>"),
+                Types.parseType("java.util.Collection<? super java.lang.Integer>"),
+                Types.parseType("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>"),
+                Types.parseType("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>[]>"),
+                Holder.class.getDeclaredField("elements").getGenericType(),
+                Holder.class.getDeclaredField("array").getGenericType(),
+                Holder.class.getTypeParameters()[0],
+                Types.WILDCARD
+        );
+    }
+
+    @Test
+    public void interning() throws Exception {
+        TypeTable table = new TypeTable();
+        for (Type type : samples()) {
+            int id = table.intern(type);
+            assertEquals(id, table.intern(type));
+            assertEquals(type, table.toType(id));
+            assertEquals(Types.raw(type), table.raw(id));
+        }
+        int size = table.size();
+        for (Type type : samples()) {
+            table.intern(type);
+        }
+        assertEquals(size, table.size());
+        assertEquals(table.intern(Types.parseType("java.util.List<java.lang.Integer>")), table.intern(Types.newParameterizedType(List.class, null, Integer.class)));
+        assertNotEquals(table.intern(Types.parseType("java.util.List<java.lang.Integer>")), table.intern(Types.parseType("java.util.List<java.lang.Long>")));
+        assertSame(String.class, table.toType(table.intern(String.class)));
+    }
+
+    @Test
+    public void typeVariables() throws Exception {
+        TypeTable table = new TypeTable();
+        assertTrue(table.hasTypeVariables(table.intern(Holder.class.getDeclaredField("elements").getGenericType())));
+        assertFalse(table.hasTypeVariables(table.intern(Types.parseType("java.util.List<? extends java.lang.Integer>"))));
+        assertEquals(Number.class, table.raw(table.intern(Holder.class.getTypeParameters()[0])));
+    }
+
+    @Test
+    public void assignability() throws Exception {
+        TypeTable table = new TypeTable();
+        for (Type left : samples()) {
+            for (Type right : samples()) {
+                boolean expected;
+                try {
+                    expected = Types.isAssignable(left, right);
+                } catch (UnsupportedOperationException e) {
+                    assertThrows(UnsupportedOperationException.class, () -> table.isAssignable(table.intern(left), table.intern(right)));
+                    continue;
+                }
+                assertEquals(expected, table.isAssignable(table.intern(left), table.intern(right)), left + " := " + right);
+            }
+        }
+    }
+
+    @Test
+    public void growth() {
+        TypeTable table = new TypeTable();
+        List<Integer> ids = new ArrayList<>();
+        Type type = null;
+        for (int i = 0; i < 1 << 12; i++) {
+            // all the combinations of List / Collection nested 12 times
+            type = String.class;
+            for (int bit = 0; bit < 12; bit++) {
+                type = Types.newParameterizedType((i & 1 << bit) == 0 ? List.class : Collection.class, null, type);
+            }
+            ids.add(table.intern(type));
+        }
+        assertEquals(1 << 12, ids.stream().distinct().count());
+        assertEquals(type, table.toType(ids.get(ids.size() - 1)));
+        assertEquals(ids.get(10), Integer.valueOf(table.intern(table.toType(ids.get(10)))));
+        assertEquals(table.hash(ids.get(10)), table.hash(table.intern(table.toType(ids.get(10)))));
+    }
+
+    @Test
+    public void symbolicTypesAreNotSupported() {
+        assertThrows(IllegalArgumentException.class, () -> new TypeTable().intern(SymbolicTypes.className("com.acme.Foo")));
+    }
+
+    @Test
+    public void mapOfLists() throws Exception {
+        TypeTable table = new TypeTable();
+        int map = table.intern(Types.parseType("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>"));
+        assertEquals(Map.class, table.raw(map));
+        assertEquals(4, table.size()); // String, Integer, List<Integer>, Map<...>
+    }
+}
@@ -2,10 +2,15 @@ package org.codegeny.reflexio;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.codegeny.reflexio.TypeAssertions.isTypeVariable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TypeVariableExpanderTest {
@@ -19,6 +24,31 @@ public class TypeVariableExpanderTest {
     interface Provider2 extends SupplierOfSupplier<Long> {
     }
 
+    static class Customer {
+    }
+
+    static class VipCustomer extends Customer {
+    }
+
+    interface Repository<E> {
+
+        <T extends E> List<T> findAll(Class<T> type);
+
+        <K, V> Map<K, V> index(K key, V value);
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> of(T... elements);
+    }
+
+    interface CustomerRepository extends Repository<Customer> {
+    }
+
+    static class Box<T> {
+
+        <U extends T> Box(U value, Supplier<U> source) {
+        }
+    }
+
     @Test
     public void test() throws Exception {
         assertEquals(Integer.class, Types.expand(Provider.class.getMethod("get"), Provider.class));
@@ -26,4 +56,27 @@ public class TypeVariableExpanderTest {
         assertTrue(isTypeVariable(Types.expand(Supplier.class.getMethod("get"), Supplier.class), "T"));
         assertEquals(Types.newParameterizedType(Supplier.class, null, Long.class), Types.expand(Provider2.class.getMethod("get"), Provider2.class));
     }
+
+    @Test
+    public void inferMethodTypeVariables() throws Exception {
+        Type findAll = Types.expand(Repository.class.getMethod("findAll", Class.class), CustomerRepository.class, Types.newParameterizedType(Class.class, null, VipCustomer.class));
+        assertEquals(Types.newParameterizedType(List.class, null, VipCustomer.class), findAll);
+        assertThrows(IllegalArgumentException.class, () -> Types.expand(Repository.class.getMethod("findAll", Class.class), CustomerRepository.class, Types.newParameterizedType(Class.class, null, String.class)));
+        assertEquals(Types.newParameterizedType(Map.class, null, Integer.class, String.class), Types.expand(Repository.class.getMethod("index", Object.class, Object.class), CustomerRepository.class, int.class, String.class));
+    }
+
+    @Test
+    public void inferVariableArity() throws Exception {
+        assertEquals(Types.newParameterizedType(List.class, null, Long.class), Types.expand(Repository.class.getMethod("of", Object[].class), Repository.class, Long.class, Long.class));
+        assertEquals(Types.newParameterizedType(List.class, null, Long.class), Types.expand(Repository.class.getMethod("of", Object[].class), Repository.class, Long[].class));
+        assertTrue(isTypeVariable(((ParameterizedType) Types.expand(Repository.class.getMethod("of", Object[].class), Repository.class)).getActualTypeArguments()[0], "T"));
+        assertThrows(IllegalArgumentException.class, () -> Types.expand(Repository.class.getMethod("of", Object[].class), Repository.class, Integer.class, Long.class));
+    }
+
+    @Test
+    public void inferConstructorTypeVariables() throws Exception {
+        Type box = Types.expand(Box.class.getDeclaredConstructor(Object.class, Supplier.class), Box.class, Integer.class, Types.newParameterizedType(Supplier.class, null, Integer.class));
+        assertEquals(Box.class, box);
+        assertThrows(IllegalArgumentException.class, () -> Types.expand(Box.class.getDeclaredConstructor(Object.class, Supplier.class), Box.class, Integer.class, Types.newParameterizedType(Supplier.class, null, String.class)));
+    }
 }